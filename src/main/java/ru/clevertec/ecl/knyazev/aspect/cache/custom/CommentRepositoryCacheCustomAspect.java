@@ -17,6 +17,8 @@ import ru.clevertec.ecl.knyazev.entity.News;
 @Aspect
 public class CommentRepositoryCacheCustomAspect {
 	
+	private static final String BOUND_NEWS_ID_QUERY = "SELECT c.news.id FROM Comment c WHERE c.id = :commentId";
+	
 	@PersistenceContext
 	Session session;
 	
@@ -41,17 +43,9 @@ public class CommentRepositoryCacheCustomAspect {
 		
 		Long commentId = (Long) proceedingJoinPoint.getArgs()[0];
 		
-		Optional<Comment> comment = Optional.ofNullable(customCacheManager.getComment(commentId));
-		
-		if (comment.isEmpty()) {
-			comment = (Optional<Comment>) proceedingJoinPoint.proceed();
-			
-			if (comment.isPresent()) {
-				customCacheManager.addComment(comment.get());
-			}
-		}
+		Comment comment = customCacheManager.getComment(commentId, id -> ((Optional<Comment>) proceedingJoinPoint.proceed()).orElse(null));
 		
-		return comment;
+		return Optional.ofNullable(comment);
 	}
 	
 	@Around(value = "saveMethod()")
@@ -78,9 +72,9 @@ public class CommentRepositoryCacheCustomAspect {
 		
 		Long deletingId = ((Comment) proceedingJoinPoint.getArgs()[0]).getId();
 		
-		Comment deletingCommentDB = session.get(Comment.class, deletingId);
-		
-		Long boundNewsId = deletingCommentDB.getNews().getId();
+		Long boundNewsId = session.createQuery(BOUND_NEWS_ID_QUERY, Long.class)
+				                  .setParameter("commentId", deletingId)
+				                  .getSingleResult();
 		
 		proceedingJoinPoint.proceed();
 		
@@ -0,0 +1,56 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.custom;
+
+import org.hibernate.Hibernate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import ru.clevertec.ecl.knyazev.entity.Comment;
+import ru.clevertec.ecl.knyazev.entity.News;
+
+/**
+ * 
+ * Loader of News and Comment entities for custom cache outside of request
+ * transactions (for example when cached entities are refreshed in background).
+ * Every loading uses its own short-living entity manager and bypasses
+ * repository cache aspects.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@AllArgsConstructor
+public class CustomCacheLoader {
+
+	private EntityManagerFactory entityManagerFactory;
+
+	public News loadNews(Long newsId) {
+
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		try {
+			return entityManager.find(News.class, newsId);
+		} finally {
+			entityManager.close();
+		}
+
+	}
+
+	public Comment loadComment(Long commentId) {
+
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+		try {
+			Comment comment = entityManager.find(Comment.class, commentId);
+
+			if (comment != null) {
+				Hibernate.initialize(comment.getNews());
+			}
+
+			return comment;
+		} finally {
+			entityManager.close();
+		}
+
+	}
+
+}
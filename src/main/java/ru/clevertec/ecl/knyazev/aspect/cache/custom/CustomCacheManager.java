@@ -1,10 +1,13 @@
 package ru.clevertec.ecl.knyazev.aspect.cache.custom;
 
+import java.time.Duration;
 import java.util.List;
 
-import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import ru.clevertec.ecl.knyazev.cache.Cache;
+import ru.clevertec.ecl.knyazev.cache.CacheStats;
+import ru.clevertec.ecl.knyazev.cache.SingleFlightLoader;
+import ru.clevertec.ecl.knyazev.cache.SingleFlightLoader.Loader;
 import ru.clevertec.ecl.knyazev.entity.Comment;
 import ru.clevertec.ecl.knyazev.entity.News;
 
@@ -15,17 +18,35 @@ import ru.clevertec.ecl.knyazev.entity.News;
  * remove from cache. 
  * Class was simplified for caching bound News and Comment entities.
  * 
+ * Absent entities are loaded in single flight: only one thread loads entity
+ * on the same id, other threads wait for its result during load wait timeout.
+ * 
  * @author Vitya Knyazev
  *
  */
 @NoArgsConstructor
-@AllArgsConstructor
 public class CustomCacheManager {
 
 	private Cache<Long, Comment> commentCache;
 
 	private Cache<Long, News> newsCache;
 	
+	private SingleFlightLoader<Long, Comment> commentLoader;
+	
+	private SingleFlightLoader<Long, News> newsLoader;
+	
+	public CustomCacheManager(Cache<Long, Comment> commentCache, Cache<Long, News> newsCache) {
+		this(commentCache, newsCache, null);
+	}
+	
+	public CustomCacheManager(Cache<Long, Comment> commentCache, Cache<Long, News> newsCache, Duration loadWaitTimeout) {
+		this.commentCache = commentCache;
+		this.newsCache = newsCache;
+		
+		commentLoader = new SingleFlightLoader<>(loadWaitTimeout);
+		newsLoader = new SingleFlightLoader<>(loadWaitTimeout);
+	}
+	
 	public void addComment(Comment comment) {
 		commentCache.put(comment.getId(), comment);
 	}
@@ -35,25 +56,109 @@ public class CustomCacheManager {
 	}
 	
 	public Comment getComment(Long commentId) {
+		return commentCache.get(commentId);
+	}
+	
+	public News getNews(Long newsId) {
+		return newsCache.get(newsId);
+	}
+		
+	/**
+	 * 
+	 * Get comment from cache or load it in single flight and add to cache
+	 * 
+	 * @param commentId id of comment
+	 * @param loader loads comment on id, null result means that comment is absent
+	 * @return comment or null if comment is absent
+	 * @throws Throwable if loading failed
+	 */
+	public Comment getComment(Long commentId, Loader<Long, Comment> loader) throws Throwable {
+		
+		Comment cachedComment = commentCache.get(commentId);
+		
+		return (cachedComment != null) ? cachedComment 
+				                       : commentLoader.load(commentId, id -> load(DestinationClass.COMMENT, id, loader));
+	}
+	
+	/**
+	 * 
+	 * Get news from cache or load it in single flight and add to cache
+	 * 
+	 * @param newsId id of news
+	 * @param loader loads news on id, null result means that news is absent
+	 * @return news or null if news is absent
+	 * @throws Throwable if loading failed
+	 */
+	public News getNews(Long newsId, Loader<Long, News> loader) throws Throwable {
+		
+		News cachedNews = newsCache.get(newsId);
+		
+		return (cachedNews != null) ? cachedNews 
+				                    : newsLoader.load(newsId, id -> load(DestinationClass.NEWS, id, loader));
+	}
+		
+	/**
+	 * 
+	 * Get cache of entities
+	 * 
+	 * @param destinationClass class which entities are cached
+	 * @return cache of entities on their id's
+	 */
+	public Cache<Long, ?> getCache(DestinationClass destinationClass) {
+		return destinationClass.equals(DestinationClass.COMMENT) ? commentCache : newsCache;
+	}
+		
+	/**
+	 * 
+	 * Load entity that was absent in cache, add found entity to cache
+	 * and record loading time
+	 * 
+	 * @param <T> cached entity
+	 * @param destinationClass class which entity is loading
+	 * @param id id of loading entity
+	 * @param loader loads entity on id
+	 * @return loaded entity or null
+	 * @throws Throwable if loading failed
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T load(DestinationClass destinationClass, Long id, Loader<Long, T> loader) throws Throwable {
 		
-		Comment cachedComment = null;
+		long loadStartTime = System.nanoTime();
+		boolean isLoaded = false;
 		
-		if (commentCache.contains(commentId)) {
-			cachedComment = commentCache.get(commentId);
+		try {
+			T entity = loader.load(id);
+			isLoaded = entity != null;
+			
+			if (isLoaded) {
+				((Cache<Long, T>) getCache(destinationClass)).put(id, entity);
+			}
+			
+			return entity;
+		} finally {
+			recordLoad(destinationClass, isLoaded, System.nanoTime() - loadStartTime);
 		}
 		
-		return cachedComment;
 	}
 	
-	public News getNews(Long newsId) {
+	/**
+	 * 
+	 * Record loading of entity that was absent in cache
+	 * 
+	 * @param destinationClass class which entity was loaded
+	 * @param isLoaded true if entity was found
+	 * @param loadTime loading time in nanoseconds
+	 */
+	private void recordLoad(DestinationClass destinationClass, boolean isLoaded, long loadTime) {
 		
-		News cachedNews = null;
+		CacheStats cacheStats = getCache(destinationClass).stats();
 		
-		if (newsCache.contains(newsId)) {
-			cachedNews = newsCache.get(newsId);
+		if (isLoaded) {
+			cacheStats.recordLoadSuccess(loadTime);
+		} else {
+			cacheStats.recordLoadFailure(loadTime);
 		}
 		
-		return cachedNews;
 	}
 	
 	/**
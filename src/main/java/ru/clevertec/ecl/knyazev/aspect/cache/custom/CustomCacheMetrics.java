@@ -0,0 +1,95 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.custom;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import ru.clevertec.ecl.knyazev.aspect.cache.custom.CustomCacheManager.DestinationClass;
+import ru.clevertec.ecl.knyazev.cache.Cache;
+import ru.clevertec.ecl.knyazev.cache.CacheStats;
+
+/**
+ * 
+ * Publishes statistics of custom caches to Micrometer meter registry
+ * (available on /actuator/metrics). Every cache is tagged by its name (news,
+ * comment). Meters read cache statistics only when registry is polled, so
+ * cache operations are not slowed down by publishing.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@AllArgsConstructor
+public class CustomCacheMetrics implements MeterBinder {
+
+	private CustomCacheManager customCacheManager;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+
+		for (DestinationClass destinationClass : DestinationClass.values()) {
+			bindCache(registry, destinationClass.name().toLowerCase(Locale.ROOT),
+					  customCacheManager.getCache(destinationClass));
+		}
+
+	}
+
+	private void bindCache(MeterRegistry registry, String cacheName, Cache<Long, ?> cache) {
+
+		CacheStats cacheStats = cache.stats();
+		Tags tags = Tags.of("cache", cacheName);
+
+		Gauge.builder("cache.size", cache, c -> c.size())
+		     .tags(tags)
+		     .description("The number of entries in cache")
+		     .register(registry);
+
+		Gauge.builder("cache.weight", cache, c -> c.weight())
+		     .tags(tags)
+		     .description("The sum of weights of entries in cache")
+		     .register(registry);
+
+		FunctionCounter.builder("cache.gets", cacheStats, CacheStats::hitCount)
+		               .tags(tags).tag("result", "hit")
+		               .description("The number of times cache lookup methods have returned a cached value")
+		               .register(registry);
+
+		FunctionCounter.builder("cache.gets", cacheStats, CacheStats::missCount)
+		               .tags(tags).tag("result", "miss")
+		               .description("The number of times cache lookup methods have not returned a value")
+		               .register(registry);
+
+		FunctionCounter.builder("cache.evictions", cacheStats, CacheStats::evictionCount)
+		               .tags(tags)
+		               .description("The number of times cache was evicted")
+		               .register(registry);
+
+		FunctionCounter.builder("cache.expirations", cacheStats, CacheStats::expirationCount)
+		               .tags(tags)
+		               .description("The number of times expired value was removed from cache")
+		               .register(registry);
+
+		FunctionTimer.builder("cache.load.duration", cacheStats, CacheStats::loadCount,
+				              CacheStats::totalLoadTime, TimeUnit.NANOSECONDS)
+		             .tags(tags)
+		             .description("The time spent loading absent values")
+		             .register(registry);
+
+		FunctionCounter.builder("cache.load", cacheStats, CacheStats::loadSuccessCount)
+		               .tags(tags).tag("result", "success")
+		               .description("The number of times absent value was loaded")
+		               .register(registry);
+
+		FunctionCounter.builder("cache.load", cacheStats, CacheStats::loadFailureCount)
+		               .tags(tags).tag("result", "failure")
+		               .description("The number of times absent value was not found or failed to load")
+		               .register(registry);
+
+	}
+
+}
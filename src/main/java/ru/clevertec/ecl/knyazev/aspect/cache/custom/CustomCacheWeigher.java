@@ -0,0 +1,36 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.custom;
+
+import ru.clevertec.ecl.knyazev.entity.Comment;
+import ru.clevertec.ecl.knyazev.entity.News;
+
+/**
+ * 
+ * Weighers of cached News and Comment entities. Weight is estimated size
+ * of entity in bytes: fixed entity overhead (object headers, id, time and
+ * references) plus UTF-16 length of its string fields. So custom cache can be
+ * bounded by memory instead of quantity of entities.
+ * 
+ * @author Vitya Knyazev
+ *
+ */
+public final class CustomCacheWeigher {
+	
+	private static final int ENTITY_OVERHEAD = 128;
+	private static final int STRING_OVERHEAD = 40;
+	
+	private CustomCacheWeigher() {}
+	
+	public static int weighNews(Long newsId, News news) {
+		return ENTITY_OVERHEAD + weighString(news.getTitle()) + weighString(news.getText()) 
+		                       + weighString(news.getAuthorName());
+	}
+	
+	public static int weighComment(Long commentId, Comment comment) {
+		return ENTITY_OVERHEAD + weighString(comment.getText()) + weighString(comment.getUserName());
+	}
+	
+	private static int weighString(String value) {
+		return (value == null) ? 0 : STRING_OVERHEAD + 2 * value.length();
+	}
+	
+}
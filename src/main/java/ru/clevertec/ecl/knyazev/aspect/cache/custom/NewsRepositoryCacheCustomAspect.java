@@ -16,6 +16,8 @@ import ru.clevertec.ecl.knyazev.entity.News;
 @Aspect
 public class NewsRepositoryCacheCustomAspect {
 	
+	private static final String BOUND_COMMENT_IDS_QUERY = "SELECT c.id FROM Comment c WHERE c.news.id = :newsId";
+	
 	@PersistenceContext
 	Session session;
 	
@@ -40,17 +42,9 @@ public class NewsRepositoryCacheCustomAspect {
 		
 		Long newsId = (Long) proceedingJoinPoint.getArgs()[0];
 		
-		Optional<News> news = Optional.ofNullable(customCacheManager.getNews(newsId));
-		
-		if (news.isEmpty()) {
-			news = (Optional<News>) proceedingJoinPoint.proceed();
-			
-			if (news.isPresent()) {
-				customCacheManager.addNews(news.get());
-			}
-		}
+		News news = customCacheManager.getNews(newsId, id -> ((Optional<News>) proceedingJoinPoint.proceed()).orElse(null));
 		
-		return news;
+		return Optional.ofNullable(news);
 	}
 	
 	@Around(value = "saveMethod()")
@@ -68,11 +62,9 @@ public class NewsRepositoryCacheCustomAspect {
 		
 		Long deletingId = ((News) proceedingJoinPoint.getArgs()[0]).getId();
 		
-		News deletingNewsDB = session.get(News.class, deletingId);
-		
-		List<Long> boundCommentsId = deletingNewsDB.getComments().stream()
-				                                                 .map(comment -> comment.getId())
-				                                                 .toList();
+		List<Long> boundCommentsId = session.createQuery(BOUND_COMMENT_IDS_QUERY, Long.class)
+				                            .setParameter("newsId", deletingId)
+				                            .getResultList();
 		
 		proceedingJoinPoint.proceed();
 		
@@ -0,0 +1,411 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import ru.clevertec.ecl.knyazev.cache.codec.BinaryInput;
+import ru.clevertec.ecl.knyazev.cache.codec.BinaryOutput;
+import ru.clevertec.ecl.knyazev.cache.codec.CommentCodec;
+import ru.clevertec.ecl.knyazev.cache.codec.NewsCodec;
+import ru.clevertec.ecl.knyazev.entity.Comment;
+import ru.clevertec.ecl.knyazev.entity.News;
+
+/**
+ * 
+ * Compact binary redis serializer of values that are stored by redis aspects:
+ * Long and Integer hash keys, String caching keys, News and Comment entities and
+ * List, Page or Slice of entities. Serialized value is a type tag and a body: entities are encoded as in
+ * {@link NewsCodec} and {@link CommentCodec}, lists, pages and slices keep size and
+ * elements with their tags, pages also keep pageable and total elements, slices keep
+ * pageable and existence of next slice.
+ * 
+ * Body that is not less than compression threshold is compressed by deflate
+ * with the fastest level (texts of news and comments). Compressed body is kept
+ * only if it is smaller than original body.
+ * 
+ * Other values are serialized by JDK serialization. JDK serialized values start
+ * with stream magic byte that is never used as tag, so values that were cached by
+ * JDK serializer earlier are still deserialized.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+public class BinaryRedisSerializer implements RedisSerializer<Object> {
+
+	private static final int LONG_TAG = 1;
+	private static final int INTEGER_TAG = 2;
+	private static final int NEWS_TAG = 3;
+	private static final int COMMENT_TAG = 4;
+	private static final int LIST_TAG = 5;
+	private static final int PAGE_TAG = 6;
+	private static final int STRING_TAG = 7;
+	private static final int SLICE_TAG = 8;
+
+	private static final int COMPRESSED_FLAG = 0x40;
+
+	private static final int JDK_STREAM_MAGIC_BYTE = 0xAC;
+
+	private static final int PAGED_MASK = 1;
+	private static final int IGNORE_CASE_MASK = 1;
+	private static final int DESCENDING_MASK = 1 << 1;
+
+	private final int compressionThreshold;
+
+	private final JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+
+	public BinaryRedisSerializer() {
+		this(null);
+	}
+
+	/**
+	 * 
+	 * Create serializer.
+	 * 
+	 * @param compressionThreshold minimal size of body in bytes that is compressed.
+	 *        Null or not positive threshold means that values are not compressed.
+	 */
+	public BinaryRedisSerializer(Integer compressionThreshold) {
+		this.compressionThreshold = (compressionThreshold == null || compressionThreshold <= 0)
+				? Integer.MAX_VALUE
+				: compressionThreshold;
+	}
+
+	@Override
+	public byte[] serialize(Object value) throws SerializationException {
+
+		if (value == null) {
+			return null;
+		}
+
+		if (!isSupported(value)) {
+			return jdkSerializer.serialize(value);
+		}
+
+		BinaryOutput body = new BinaryOutput();
+
+		int tag = writeValue(body, value);
+
+		byte[] bodyBytes = body.toByteArray();
+
+		if (bodyBytes.length >= compressionThreshold) {
+			byte[] compressedValue = compress(tag, bodyBytes);
+
+			if (compressedValue != null) {
+				return compressedValue;
+			}
+		}
+
+		return new BinaryOutput(bodyBytes.length + 1)
+				   .writeByte(tag)
+				   .writeBytes(bodyBytes, 0, bodyBytes.length)
+				   .toByteArray();
+	}
+
+	@Override
+	public Object deserialize(byte[] bytes) throws SerializationException {
+
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+
+		int tag = bytes[0] & 0xFF;
+
+		if (tag == JDK_STREAM_MAGIC_BYTE) {
+			return jdkSerializer.deserialize(bytes);
+		}
+
+		try {
+
+			ByteBuffer body = ((tag & COMPRESSED_FLAG) != 0)
+					? decompress(bytes)
+					: ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+
+			return readValue(new BinaryInput(body), tag & ~COMPRESSED_FLAG);
+
+		} catch (IllegalArgumentException | DataFormatException e) {
+			throw new SerializationException("Error. Can't deserialize binary value", e);
+		}
+
+	}
+
+	private boolean isSupported(Object value) {
+
+		if (value instanceof Long || value instanceof Integer || value instanceof String 
+				|| value instanceof News || value instanceof Comment) {
+			return true;
+		}
+
+		if (value instanceof Slice<?> slice) {
+			return slice.getContent().stream().allMatch(this::isEntity);
+		}
+
+		if (value instanceof List<?> list) {
+			return list.stream().allMatch(this::isEntity);
+		}
+
+		return false;
+	}
+
+	private boolean isEntity(Object value) {
+		return value instanceof News || value instanceof Comment;
+	}
+
+	private int writeValue(BinaryOutput output, Object value) {
+
+		if (value instanceof Long longValue) {
+			output.writeVarLong(longValue);
+			return LONG_TAG;
+		}
+
+		if (value instanceof Integer intValue) {
+			output.writeVarLong(intValue);
+			return INTEGER_TAG;
+		}
+
+		if (value instanceof String stringValue) {
+			output.writeString(stringValue);
+			return STRING_TAG;
+		}
+
+		if (value instanceof News news) {
+			NewsCodec.writeNews(output, news);
+			return NEWS_TAG;
+		}
+
+		if (value instanceof Comment comment) {
+			CommentCodec.writeComment(output, comment);
+			return COMMENT_TAG;
+		}
+
+		if (value instanceof Page<?> page) {
+			writeList(output, page.getContent());
+			writePageable(output, page.getPageable());
+			output.writeVarLong(page.getTotalElements());
+			return PAGE_TAG;
+		}
+
+		if (value instanceof Slice<?> slice) {
+			writeList(output, slice.getContent());
+			writePageable(output, slice.getPageable());
+			output.writeByte(slice.hasNext() ? 1 : 0);
+			return SLICE_TAG;
+		}
+
+		writeList(output, (List<?>) value);
+		return LIST_TAG;
+	}
+
+	private Object readValue(BinaryInput input, int tag) {
+
+		return switch (tag) {
+		case LONG_TAG -> input.readVarLong();
+		case INTEGER_TAG -> input.readVarInt();
+		case STRING_TAG -> input.readString();
+		case NEWS_TAG -> NewsCodec.readNews(input);
+		case COMMENT_TAG -> CommentCodec.readComment(input);
+		case LIST_TAG -> readList(input);
+		case PAGE_TAG -> new PageImpl<>(readList(input), readPageable(input), input.readVarLong());
+		case SLICE_TAG -> new SliceImpl<>(readList(input), readPageable(input), input.readByte() != 0);
+		default -> throw new IllegalArgumentException("Error. Unknown tag=" + tag + " of binary value");
+		};
+
+	}
+
+	private void writeList(BinaryOutput output, List<?> list) {
+
+		output.writeVarLong(list.size());
+
+		list.forEach(element -> {
+
+			if (element instanceof News news) {
+				output.writeByte(NEWS_TAG);
+				NewsCodec.writeNews(output, news);
+			} else {
+				output.writeByte(COMMENT_TAG);
+				CommentCodec.writeComment(output, (Comment) element);
+			}
+
+		});
+
+	}
+
+	private List<Object> readList(BinaryInput input) {
+
+		int size = input.readVarInt();
+
+		if (size < 0) {
+			throw new IllegalArgumentException("Error. Malformed list size=" + size);
+		}
+
+		List<Object> list = new ArrayList<>(Math.min(size, 1_024));
+
+		for (int i = 0; i < size; i++) {
+
+			int elementTag = input.readByte();
+
+			if (elementTag != NEWS_TAG && elementTag != COMMENT_TAG) {
+				throw new IllegalArgumentException("Error. Unknown tag=" + elementTag + " of list element");
+			}
+
+			list.add(readValue(input, elementTag));
+		}
+
+		return list;
+	}
+
+	private void writePageable(BinaryOutput output, Pageable pageable) {
+
+		output.writeByte(pageable.isPaged() ? PAGED_MASK : 0);
+
+		if (pageable.isUnpaged()) {
+			return;
+		}
+
+		output.writeVarLong(pageable.getPageNumber());
+		output.writeVarLong(pageable.getPageSize());
+
+		List<Sort.Order> orders = pageable.getSort().toList();
+
+		output.writeVarLong(orders.size());
+
+		orders.forEach(order -> {
+			output.writeString(order.getProperty());
+			output.writeByte((order.isIgnoreCase() ? IGNORE_CASE_MASK : 0)
+					       | (order.isDescending() ? DESCENDING_MASK : 0));
+			output.writeByte(order.getNullHandling().ordinal());
+		});
+
+	}
+
+	private Pageable readPageable(BinaryInput input) {
+
+		if ((input.readByte() & PAGED_MASK) == 0) {
+			return Pageable.unpaged();
+		}
+
+		int pageNumber = input.readVarInt();
+		int pageSize = input.readVarInt();
+		int ordersQuantity = input.readVarInt();
+
+		List<Sort.Order> orders = new ArrayList<>();
+
+		for (int i = 0; i < ordersQuantity; i++) {
+
+			String property = input.readString();
+			int orderMask = input.readByte();
+			int nullHandling = input.readByte();
+
+			if (nullHandling >= Sort.NullHandling.values().length) {
+				throw new IllegalArgumentException("Error. Unknown null handling=" + nullHandling);
+			}
+
+			Sort.Order order = new Sort.Order((orderMask & DESCENDING_MASK) != 0 ? Sort.Direction.DESC : Sort.Direction.ASC,
+					                          property,
+					                          Sort.NullHandling.values()[nullHandling]);
+
+			orders.add((orderMask & IGNORE_CASE_MASK) != 0 ? order.ignoreCase() : order);
+		}
+
+		return PageRequest.of(pageNumber, pageSize, Sort.by(orders));
+	}
+
+	/**
+	 * 
+	 * Compress body of value.
+	 * 
+	 * @param tag of value
+	 * @param bodyBytes serialized body of value
+	 * @return compressed value (tag with compressed flag, size of body and
+	 *         compressed body) or null if compressed value is not smaller.
+	 */
+	private byte[] compress(int tag, byte[] bodyBytes) {
+
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+		try {
+
+			deflater.setInput(bodyBytes);
+			deflater.finish();
+
+			BinaryOutput output = new BinaryOutput(bodyBytes.length);
+
+			output.writeByte(tag | COMPRESSED_FLAG);
+			output.writeVarLong(bodyBytes.length);
+
+			byte[] buffer = new byte[Math.min(bodyBytes.length, 8_192)];
+
+			while (!deflater.finished()) {
+				output.writeBytes(buffer, 0, deflater.deflate(buffer));
+
+				if (output.size() > bodyBytes.length) {
+					return null;
+				}
+			}
+
+			return output.toByteArray();
+
+		} finally {
+			deflater.end();
+		}
+
+	}
+
+	private ByteBuffer decompress(byte[] bytes) throws DataFormatException {
+
+		ByteBuffer compressedValue = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+
+		int bodySize = new BinaryInput(compressedValue).readVarInt();
+
+		if (bodySize < 0) {
+			throw new IllegalArgumentException("Error. Malformed compressed body size=" + bodySize);
+		}
+
+		Inflater inflater = new Inflater();
+
+		try {
+
+			inflater.setInput(compressedValue);
+
+			byte[] body = new byte[bodySize];
+
+			int inflatedSize = 0;
+
+			while (inflatedSize < bodySize && !inflater.finished()) {
+
+				int inflatedBytes = inflater.inflate(body, inflatedSize, bodySize - inflatedSize);
+
+				if (inflatedBytes == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+
+				inflatedSize += inflatedBytes;
+			}
+
+			if (inflatedSize != bodySize) {
+				throw new IllegalArgumentException("Error. Malformed compressed body");
+			}
+
+			return ByteBuffer.wrap(body);
+
+		} finally {
+			inflater.end();
+		}
+
+	}
+
+}
@@ -0,0 +1,138 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * 
+ * Encoder of caching keys of repository method calls. Canonical key is a text
+ * with method name and all arguments: strings are quoted with escaping, Pageable is
+ * written as page number, page size and all sort orders (property, direction,
+ * ignore case and null handling), so different calls always have different keys.
+ * 
+ * Canonical key that is longer than max text key length is replaced by 128-bit hash
+ * (first 16 bytes of SHA-256 in hex) with hash prefix. Canonical key always starts
+ * with method name, so text keys and hash keys never match.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+public class CacheKeyEncoder {
+
+	static final int MAX_TEXT_KEY_LENGTH = 128;
+
+	static final String HASH_KEY_PREFIX = "#";
+
+	private static final int HASH_BYTES = 16;
+
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/**
+	 * 
+	 * Encode caching key of repository method call.
+	 * 
+	 * @param methodName name of repository method
+	 * @param args arguments of repository method
+	 * @return canonical text key or hash key
+	 */
+	public String encode(String methodName, Object[] args) {
+
+		StringBuilder canonicalKey = new StringBuilder(methodName).append('(');
+
+		for (int i = 0; i < args.length; i++) {
+
+			if (i > 0) {
+				canonicalKey.append(',');
+			}
+
+			appendArg(canonicalKey, args[i]);
+		}
+
+		canonicalKey.append(')');
+
+		return (canonicalKey.length() <= MAX_TEXT_KEY_LENGTH)
+				? canonicalKey.toString()
+				: HASH_KEY_PREFIX + hash(canonicalKey.toString());
+	}
+
+	private void appendArg(StringBuilder canonicalKey, Object arg) {
+
+		if (arg == null) {
+			canonicalKey.append("null");
+		} else if (arg instanceof String stringArg) {
+			appendString(canonicalKey, stringArg);
+		} else if (arg instanceof Number || arg instanceof Boolean) {
+			canonicalKey.append(arg);
+		} else if (arg instanceof Pageable pageable) {
+			appendPageable(canonicalKey, pageable);
+		} else {
+			canonicalKey.append(arg.getClass().getName()).append(':');
+			appendString(canonicalKey, arg.toString());
+		}
+
+	}
+
+	private void appendPageable(StringBuilder canonicalKey, Pageable pageable) {
+
+		if (pageable.isUnpaged()) {
+			canonicalKey.append("unpaged");
+			return;
+		}
+
+		canonicalKey.append("page=").append(pageable.getPageNumber())
+		            .append(";size=").append(pageable.getPageSize())
+		            .append(";sort=[");
+
+		boolean isFirstOrder = true;
+
+		for (Sort.Order order : pageable.getSort()) {
+
+			if (!isFirstOrder) {
+				canonicalKey.append(',');
+			}
+
+			appendString(canonicalKey, order.getProperty());
+			canonicalKey.append(':').append(order.getDirection())
+			            .append(':').append(order.isIgnoreCase() ? "IGNORE_CASE" : "CASE")
+			            .append(':').append(order.getNullHandling());
+
+			isFirstOrder = false;
+		}
+
+		canonicalKey.append(']');
+	}
+
+	private void appendString(StringBuilder canonicalKey, String value) {
+
+		canonicalKey.append('"');
+
+		value.chars().forEach(symbol -> {
+
+			if (symbol == '"' || symbol == '\\') {
+				canonicalKey.append('\\');
+			}
+
+			canonicalKey.append((char) symbol);
+		});
+
+		canonicalKey.append('"');
+	}
+
+	private String hash(String canonicalKey) {
+
+		try {
+			byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(canonicalKey.getBytes(StandardCharsets.UTF_8));
+
+			return HexFormat.of().formatHex(digest, 0, HASH_BYTES);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Error. Hash algorithm " + HASH_ALGORITHM + " is not supported", e);
+		}
+
+	}
+
+}
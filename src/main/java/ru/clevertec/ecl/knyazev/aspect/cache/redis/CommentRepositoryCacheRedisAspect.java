@@ -1,5 +1,6 @@
 package ru.clevertec.ecl.knyazev.aspect.cache.redis;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -11,33 +12,52 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 
 import jakarta.persistence.PersistenceContext;
+import ru.clevertec.ecl.knyazev.cache.SingleFlightLoader;
 import ru.clevertec.ecl.knyazev.entity.Comment;
 import ru.clevertec.ecl.knyazev.entity.News;
 
 @Aspect
 public class CommentRepositoryCacheRedisAspect extends RedisCache {
 	
+	private static final String BOUND_NEWS_ID_QUERY = "SELECT c.news.id FROM Comment c WHERE c.id = :commentId";
+	
 	@PersistenceContext
 	private Session session;
 
-	public CommentRepositoryCacheRedisAspect(RedisTemplate<String, Object> redisTemplate) {
-		super(redisTemplate);
+	private SingleFlightLoader<Long, Comment> commentLoader;
+
+	public CommentRepositoryCacheRedisAspect(RedisTemplate<String, Object> redisTemplate, Duration loadWaitTimeout,
+			Duration timeToLive, RedisNearCache redisNearCache, RedisCircuitBreaker redisCircuitBreaker,
+			RedisWriteBehind redisWriteBehind, ReactiveRedisTemplate<String, Object> reactiveRedisTemplate) {
+		super(redisTemplate, timeToLive, redisNearCache, redisCircuitBreaker, redisWriteBehind, reactiveRedisTemplate);
+		commentLoader = new SingleFlightLoader<>(loadWaitTimeout);
 	}
 
 	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.CommentRepository.findById(..))")
 	private void findByIdMethod() {}
 	
+	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.CommentRepository.findAllById(*))")
+	private void findAllByIdMethod() {}
+	
 	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.CommentRepository.findAll(*))")
 	private void findAllMethod() {}
 	
+	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.CommentRepository.findAllBy(*))")
+	private void findAllByMethod() {}
+	
 	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.CommentRepository.findAllByPartCommentText(..))")
 	private void findAllByPartCommentTextMethod() {}
 
 	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.CommentRepository.findAllByNewsId(..))")
 	private void findAllByNewsIdMethod() {}
+	
+	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.CommentRepository.findAllByFullText(..))")
+	private void findAllByFullTextMethod() {}
 
 	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.CommentRepository.save(*))")
 	private void saveMethod() {}
@@ -52,42 +72,75 @@ public class CommentRepositoryCacheRedisAspect extends RedisCache {
 
 		Long commentId = (long) proceedingJoinPoint.getArgs()[0];
 
-		if (redisTemplate.opsForHash().hasKey(COMMENT_KEY, commentId)) {
-			commentWrap = Optional.of((Comment) redisTemplate.opsForHash().get(COMMENT_KEY, commentId));
+		long evictionsStamp = 0L;
+		
+		if (redisNearCache != null) {
+			Comment nearCachedComment = redisNearCache.getComment(commentId);
+			
+			if (nearCachedComment != null) {
+				return Optional.of(nearCachedComment);
+			}
+			
+			evictionsStamp = redisNearCache.evictionsStamp();
+		}
+
+		long writesStamp = writesStamp();
+
+		Comment cachedComment = (Comment) getEntityFromRedisCache(COMMENT_KEY, commentId);
+
+		if (cachedComment != null) {
+			commentWrap = Optional.of(cachedComment);
 		} else {
 
-			@SuppressWarnings("unchecked")
-			Optional<Comment> commentDBWrap = (Optional<Comment>) proceedingJoinPoint.proceed();
+			Comment commentDB = commentLoader.load(commentId, id -> {
 
-			if (commentDBWrap.isPresent()) {
-				initLazyProperty(commentDBWrap.get());
+				@SuppressWarnings("unchecked")
+				Optional<Comment> commentDBWrap = (Optional<Comment>) proceedingJoinPoint.proceed();
 
-				redisTemplate.opsForHash().put(COMMENT_KEY, commentId, commentDBWrap.get());
-				commentWrap = commentDBWrap;
-			}
+				if (commentDBWrap.isPresent()) {
+					initLazyProperty(commentDBWrap.get());
+
+					putEntityToRedisCache(COMMENT_KEY, id, commentDBWrap.get(), writesStamp);
+				}
+
+				return commentDBWrap.orElse(null);
+			});
+
+			commentWrap = Optional.ofNullable(commentDB);
 
 		}
+		
+		if (redisNearCache != null && commentWrap.isPresent()) {
+			redisNearCache.putComment(commentWrap.get(), evictionsStamp);
+		}
 
 		return commentWrap;
 	}
 	
+	@Around(value = "findAllByIdMethod()")
+	List<Comment> cacheAroundFindAllByIdMethod(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+		return findAllByIdWithRedisCache(proceedingJoinPoint, COMMENT_KEY, Comment::getId, comment -> initLazyProperty(comment));
+	}
+	
 	@SuppressWarnings("unchecked")
-	@Around(value = "findAllMethod()")
+	@Around(value = "findAllMethod() || findAllByMethod()")
 		
-		Page<Comment> cacheAroundfindAllMethod(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+		Slice<Comment> cacheAroundfindAllMethod(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
 		
-		Page<Comment> comments = Page.empty();
+		Slice<Comment> comments = Page.empty();
 
-		Integer cachingKey = calculateKey(proceedingJoinPoint);
+		String cachingKey = calculateKey(proceedingJoinPoint);
 
-		if (redisTemplate.opsForHash().hasKey(COMMENT_PAGE_KEY, cachingKey)) {
-			comments = (Page<Comment>) redisTemplate.opsForHash().get(COMMENT_PAGE_KEY, cachingKey);
-		} else {
-			comments = (Page<Comment>) proceedingJoinPoint.proceed();
+		long writesStamp = writesStamp();
+
+		comments = (Slice<Comment>) getFromRedisCache(COMMENT_PAGE_KEY, cachingKey);
+
+		if (comments == null) {
+			comments = (Slice<Comment>) proceedingJoinPoint.proceed();
 
 			if (!comments.isEmpty()) {
 				comments.stream().forEach(comment -> initLazyProperty(comment));
-				redisTemplate.opsForHash().put(COMMENT_PAGE_KEY, cachingKey, comments);
+				putToRedisCache(COMMENT_PAGE_KEY, cachingKey, comments, comments.map(Comment::getId).toList(), writesStamp);
 			}
 		}
 
@@ -95,21 +148,23 @@ public class CommentRepositoryCacheRedisAspect extends RedisCache {
 	}
 
 	@SuppressWarnings("unchecked")
-	@Around(value = "findAllByPartCommentTextMethod() || findAllByNewsIdMethod()")
+	@Around(value = "findAllByPartCommentTextMethod() || findAllByNewsIdMethod() || findAllByFullTextMethod()")
 	List<Comment> cacheAroundfindAllMethods(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
 
 		List<Comment> comments = new ArrayList<>();
 
-		Integer cachingKey = calculateKey(proceedingJoinPoint);
+		String cachingKey = calculateKey(proceedingJoinPoint);
 
-		if (redisTemplate.opsForHash().hasKey(COMMENT_LIST_KEY, cachingKey)) {
-			comments = (List<Comment>) redisTemplate.opsForHash().get(COMMENT_LIST_KEY, cachingKey);
-		} else {
+		long writesStamp = writesStamp();
+
+		comments = (List<Comment>) getFromRedisCache(COMMENT_LIST_KEY, cachingKey);
+
+		if (comments == null) {
 			comments = (List<Comment>) proceedingJoinPoint.proceed();
 
 			if (!comments.isEmpty()) {				
 				comments.stream().forEach(comment -> initLazyProperty(comment));				
-				redisTemplate.opsForHash().put(COMMENT_LIST_KEY, cachingKey, comments);
+				putToRedisCache(COMMENT_LIST_KEY, cachingKey, comments, comments.stream().map(Comment::getId).toList(), writesStamp);
 			}
 		}
 
@@ -131,7 +186,12 @@ public class CommentRepositoryCacheRedisAspect extends RedisCache {
 			initLazyProperty(savedComment);
 		}		
 
-		redisTemplate.opsForHash().put(COMMENT_KEY, savedComment.getId(), savedComment);
+		deleteEntitiesFromRedisCache(COMMENT_KEY, List.of(savedComment.getId()));
+		putEntityToRedisCache(COMMENT_KEY, savedComment.getId(), savedComment, writesStamp());
+
+		if (redisNearCache != null) {
+			redisNearCache.evictComments(List.of(savedComment.getId()));
+		}
 
 		return savedComment;
 	}
@@ -141,21 +201,22 @@ public class CommentRepositoryCacheRedisAspect extends RedisCache {
 
 		Long deletingId = ((Comment) proceedingJoinPoint.getArgs()[0]).getId();
 		
-		Comment commentDB = session.get(Comment.class, deletingId);
-		
-		Long newsDeletingId = commentDB.getNews().getId();
+		Long newsDeletingId = session.createQuery(BOUND_NEWS_ID_QUERY, Long.class)
+				                     .setParameter("commentId", deletingId)
+				                     .getSingleResult();
 
 		proceedingJoinPoint.proceed();
 
 		//Deleting comment from cache
-		redisTemplate.opsForHash().delete(COMMENT_KEY, deletingId);
-		deleteFromRedisCache(COMMENT_PAGE_KEY, deletingId);
-		deleteFromRedisCache(COMMENT_LIST_KEY, deletingId);
+		deleteAllFromRedisCache(COMMENT_KEY, List.of(deletingId), COMMENT_PAGE_KEY, COMMENT_LIST_KEY);
 		
 		//deleting bound news from cache
-		redisTemplate.opsForHash().delete(NEWS_KEY, newsDeletingId);
-		deleteFromRedisCache(NEWS_PAGE_KEY, newsDeletingId);
-		deleteFromRedisCache(NEWS_LIST_KEY, newsDeletingId);
+		deleteAllFromRedisCache(NEWS_KEY, List.of(newsDeletingId), NEWS_PAGE_KEY, NEWS_LIST_KEY);
+		
+		if (redisNearCache != null) {
+			redisNearCache.evictComments(List.of(deletingId));
+			redisNearCache.evictNews(List.of(newsDeletingId));
+		}
 	}
 
 	private void initLazyProperty(Comment dbComment) {
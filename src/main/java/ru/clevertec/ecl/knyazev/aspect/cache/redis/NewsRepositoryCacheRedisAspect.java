@@ -1,5 +1,6 @@
 package ru.clevertec.ecl.knyazev.aspect.cache.redis;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -10,30 +11,49 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.hibernate.Session;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 
 import jakarta.persistence.PersistenceContext;
+import ru.clevertec.ecl.knyazev.cache.SingleFlightLoader;
 import ru.clevertec.ecl.knyazev.entity.News;
 
 @Aspect
 public class NewsRepositoryCacheRedisAspect extends RedisCache {
 	
+	private static final String BOUND_COMMENT_IDS_QUERY = "SELECT c.id FROM Comment c WHERE c.news.id = :newsId";
+	
 	@PersistenceContext
 	private Session session;
 		
-	public NewsRepositoryCacheRedisAspect(RedisTemplate<String, Object> redisTemplate) {
-		super(redisTemplate);
+	private SingleFlightLoader<Long, News> newsLoader;
+
+	public NewsRepositoryCacheRedisAspect(RedisTemplate<String, Object> redisTemplate, Duration loadWaitTimeout,
+			Duration timeToLive, RedisNearCache redisNearCache, RedisCircuitBreaker redisCircuitBreaker,
+			RedisWriteBehind redisWriteBehind, ReactiveRedisTemplate<String, Object> reactiveRedisTemplate) {
+		super(redisTemplate, timeToLive, redisNearCache, redisCircuitBreaker, redisWriteBehind, reactiveRedisTemplate);
+		newsLoader = new SingleFlightLoader<>(loadWaitTimeout);
 	}
 
 	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.NewsRepository.findById(..))")
 	private void findByIdMethod() {}
 	
+	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.NewsRepository.findAllById(*))")
+	private void findAllByIdMethod() {}
+	
 	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.NewsRepository.findAll(*))")
 	private void findAllMethod() {}
 	
+	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.NewsRepository.findAllBy(*))")
+	private void findAllByMethod() {}
+	
 	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.NewsRepository.findAllByPartNewsText(..))")
 	private void findAllByPartNewsTextMethod() {}
 	
+	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.NewsRepository.findAllByFullText(..))")
+	private void findAllByFullTextMethod() {}
+	
 	@Pointcut(value = "execution(public * ru.clevertec.ecl.knyazev.repository.NewsRepository.save(*))")
 	private void saveMethod() {}
 	
@@ -47,38 +67,71 @@ public class NewsRepositoryCacheRedisAspect extends RedisCache {
 
 		Long newsId = (long) proceedingJoinPoint.getArgs()[0];
 
-		if (redisTemplate.opsForHash().hasKey(NEWS_KEY, newsId)) {
-			newsWrap = Optional.of((News) redisTemplate.opsForHash().get(NEWS_KEY, newsId));
+		long evictionsStamp = 0L;
+		
+		if (redisNearCache != null) {
+			News nearCachedNews = redisNearCache.getNews(newsId);
+			
+			if (nearCachedNews != null) {
+				return Optional.of(nearCachedNews);
+			}
+			
+			evictionsStamp = redisNearCache.evictionsStamp();
+		}
+
+		long writesStamp = writesStamp();
+
+		News cachedNews = (News) getEntityFromRedisCache(NEWS_KEY, newsId);
+
+		if (cachedNews != null) {
+			newsWrap = Optional.of(cachedNews);
 		} else {
 
-			@SuppressWarnings("unchecked")
-			Optional<News> newsDBWrap = (Optional<News>) proceedingJoinPoint.proceed();
+			News newsDB = newsLoader.load(newsId, id -> {
 
-			if (newsDBWrap.isPresent()) {
-				redisTemplate.opsForHash().put(NEWS_KEY, newsId, newsDBWrap.get());
-				newsWrap = newsDBWrap;
-			}
+				@SuppressWarnings("unchecked")
+				Optional<News> newsDBWrap = (Optional<News>) proceedingJoinPoint.proceed();
+
+				if (newsDBWrap.isPresent()) {
+					putEntityToRedisCache(NEWS_KEY, id, newsDBWrap.get(), writesStamp);
+				}
+
+				return newsDBWrap.orElse(null);
+			});
+
+			newsWrap = Optional.ofNullable(newsDB);
 
 		}
+		
+		if (redisNearCache != null && newsWrap.isPresent()) {
+			redisNearCache.putNews(newsWrap.get(), evictionsStamp);
+		}
 
 		return newsWrap;
 	}
 	
+	@Around(value = "findAllByIdMethod()")
+	List<News> cacheAroundFindAllByIdMethod(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+		return findAllByIdWithRedisCache(proceedingJoinPoint, NEWS_KEY, News::getId, news -> {});
+	}
+	
 	@SuppressWarnings("unchecked")
-	@Around(value = "findAllMethod()")
-	Page<News> cacheAroundfindAllMethod(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+	@Around(value = "findAllMethod() || findAllByMethod()")
+	Slice<News> cacheAroundfindAllMethod(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
 		
-		Page<News> news = Page.empty();
+		Slice<News> news = Page.empty();
 
-		Integer cachingKey = calculateKey(proceedingJoinPoint);
+		String cachingKey = calculateKey(proceedingJoinPoint);
 
-		if (redisTemplate.opsForHash().hasKey(NEWS_PAGE_KEY, cachingKey)) {
-			news = (Page<News>) redisTemplate.opsForHash().get(NEWS_PAGE_KEY, cachingKey);
-		} else {
-			news = (Page<News>) proceedingJoinPoint.proceed();
+		long writesStamp = writesStamp();
+
+		news = (Slice<News>) getFromRedisCache(NEWS_PAGE_KEY, cachingKey);
+
+		if (news == null) {
+			news = (Slice<News>) proceedingJoinPoint.proceed();
 
 			if (!news.isEmpty()) {
-				redisTemplate.opsForHash().put(NEWS_PAGE_KEY, cachingKey, news);
+				putToRedisCache(NEWS_PAGE_KEY, cachingKey, news, news.map(News::getId).toList(), writesStamp);
 			}
 		}
 
@@ -86,20 +139,22 @@ public class NewsRepositoryCacheRedisAspect extends RedisCache {
 	}
 	
 	@SuppressWarnings("unchecked")
-	@Around(value = "findAllByPartNewsTextMethod()")
+	@Around(value = "findAllByPartNewsTextMethod() || findAllByFullTextMethod()")
 	List<News> cacheAroundFindAllByPartNewsTextMethod(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
 		
 		List<News> news = new ArrayList<>();
 
-		Integer cachingKey = calculateKey(proceedingJoinPoint);
+		String cachingKey = calculateKey(proceedingJoinPoint);
 
-		if (redisTemplate.opsForHash().hasKey(NEWS_LIST_KEY, cachingKey)) {
-			news = (List<News>) redisTemplate.opsForHash().get(NEWS_LIST_KEY, cachingKey);
-		} else {
+		long writesStamp = writesStamp();
+
+		news = (List<News>) getFromRedisCache(NEWS_LIST_KEY, cachingKey);
+
+		if (news == null) {
 			news = (List<News>) proceedingJoinPoint.proceed();
 
 			if (!news.isEmpty()) {
-				redisTemplate.opsForHash().put(NEWS_LIST_KEY, cachingKey, news);
+				putToRedisCache(NEWS_LIST_KEY, cachingKey, news, news.stream().map(News::getId).toList(), writesStamp);
 			}
 		}
 
@@ -111,7 +166,12 @@ public class NewsRepositoryCacheRedisAspect extends RedisCache {
 		
 		News savedNews = (News) proceedingJoinPoint.proceed();		
 
-		redisTemplate.opsForHash().put(NEWS_KEY, savedNews.getId(), savedNews);
+		deleteEntitiesFromRedisCache(NEWS_KEY, List.of(savedNews.getId()));
+		putEntityToRedisCache(NEWS_KEY, savedNews.getId(), savedNews, writesStamp());
+
+		if (redisNearCache != null) {
+			redisNearCache.evictNews(List.of(savedNews.getId()));
+		}
 
 		return savedNews;
 	}
@@ -121,21 +181,19 @@ public class NewsRepositoryCacheRedisAspect extends RedisCache {
 
 		Long newsDeletingId = ((News) proceedingJoinPoint.getArgs()[0]).getId();
 		
-		News newsDB = session.get(News.class, newsDeletingId);
-		
-		List<Long> commentDeletingIds = newsDB.getComments().stream().map(c -> c.getId()).toList();
+		List<Long> commentDeletingIds = session.createQuery(BOUND_COMMENT_IDS_QUERY, Long.class)
+				                               .setParameter("newsId", newsDeletingId)
+				                               .getResultList();
 
 		proceedingJoinPoint.proceed();
 
-		redisTemplate.opsForHash().delete(NEWS_KEY, newsDeletingId);
-		deleteFromRedisCache(NEWS_PAGE_KEY, newsDeletingId);
-		deleteFromRedisCache(NEWS_LIST_KEY, newsDeletingId);
-		
-		commentDeletingIds.stream().forEach(commentDelId -> {
-			redisTemplate.opsForHash().delete(COMMENT_KEY, commentDelId);
-			deleteFromRedisCache(COMMENT_PAGE_KEY, commentDelId);
-			deleteFromRedisCache(COMMENT_LIST_KEY, commentDelId);
-		});
+		deleteAllFromRedisCache(NEWS_KEY, List.of(newsDeletingId), NEWS_PAGE_KEY, NEWS_LIST_KEY);
+		deleteAllFromRedisCache(COMMENT_KEY, commentDeletingIds, COMMENT_PAGE_KEY, COMMENT_LIST_KEY);
+	
+		if (redisNearCache != null) {
+			redisNearCache.evictNews(List.of(newsDeletingId));
+			redisNearCache.evictComments(commentDeletingIds);
+		}
 	
 	}
 
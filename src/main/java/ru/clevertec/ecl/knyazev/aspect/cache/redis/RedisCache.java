@@ -1,18 +1,32 @@
 package ru.clevertec.ecl.knyazev.aspect.cache.redis;
 
-import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
 
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * 
@@ -29,6 +43,38 @@ public abstract class RedisCache {
 	
 	RedisTemplate<String, Object> redisTemplate;
 	
+	/**
+	 * Time to live of stored entities, composite objects and their reverse indexes.
+	 * Null means default time to live of one day: reverse indexes must not grow
+	 * forever, composite objects must not outlive their indexes and entities or 
+	 * objects that were not invalidated must not stay stale forever.
+	 */
+	Duration timeToLive;
+	
+	/**
+	 * In-process near cache of entities by id in front of redis cache.
+	 * Null means that entities are cached only in redis.
+	 */
+	RedisNearCache redisNearCache;
+	
+	/**
+	 * Circuit breaker that bypasses redis cache when redis is unhealthy.
+	 */
+	RedisCircuitBreaker redisCircuitBreaker;
+	
+	/**
+	 * Asynchronous writer of redis cache population.
+	 */
+	RedisWriteBehind redisWriteBehind;
+	
+	/**
+	 * Reactive redis template for sending invalidations concurrently.
+	 * Null means that invalidations are sent one by one.
+	 */
+	ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+	
+	final CacheKeyEncoder cacheKeyEncoder = new CacheKeyEncoder();
+	
 	static final String NEWS_KEY = "NEWS";
 	static final String NEWS_LIST_KEY = "LIST_NEWS";
 	static final String NEWS_PAGE_KEY = "PAGE_NEWS";
@@ -37,71 +83,581 @@ public abstract class RedisCache {
 	static final String COMMENT_LIST_KEY = "LIST_COMMENTS";
 	static final String COMMENT_PAGE_KEY = "PAGE_COMMENTS";
 	
+	static final String KEY_SEPARATOR = ":";
+	static final String INDEX_KEY_SEPARATOR = ":INDEX:";
+	
+	static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofDays(1L);
+	
+	/**
+	 * Reverse indexes are pruned on average once per this quantity of puttings,
+	 * every pruning checks this quantity of sampled caching keys per index.
+	 */
+	static final int INDEX_PRUNING_RATE = 16;
+	static final int INDEX_PRUNING_SAMPLE = 8;
+	
 	/**
 	 * 
-	 * Calculate hash key on method args using proceedingJoinPoint
+	 * Calculate canonical key on method name and method args using proceedingJoinPoint
 	 * for saving composite object (like List and etc) in cache store.
 	 * 
 	 * @param proceedingJoinPoint data
-	 * @return Integer calculated key
-	 * @throws IllegalArgumentException if calculation hash failed.
+	 * @return String calculated key
+	 * @throws IllegalArgumentException if calculation key failed.
 	 * 
 	 */
-	Integer calculateKey(ProceedingJoinPoint proceedingJoinPoint) {
+	String calculateKey(ProceedingJoinPoint proceedingJoinPoint) {
 		Object[] args = proceedingJoinPoint.getArgs();
 
 		if (args == null || args.length == 0) {
 			throw new IllegalArgumentException("Error. Can't calculate key for caching element");
 		}
 
-		return Objects.hash(args);
+		return cacheKeyEncoder.encode(proceedingJoinPoint.getSignature().getName(), args);
 	}
 	
 	/**
 	 * 
-	 * Delete from redis cache composite object like List or Page by redis store key and object id.
-	 * Searching in redis cache by redisStoreKey hash keys of composite objects by object id.
-	 * Then deleted hash keys with composite objects by object id.
+	 * Find entities by id's in redis cache and load only missing entities from repository.
+	 * Cached entities are read by one MGET, missing entities are loaded by one repository
+	 * call and put to redis cache by write-behind. Order of found entities is not guaranteed 
+	 * (as in repository findAllById).
 	 * 
-	 * @param <T> object entity
-	 * @param redisStoreKey key for storing composite objects Like List<T> entities or 
-	 *        Page<T> entities.
-	 * @param storedObjectDeletingId id of stored in redis cache entity.
+	 * @param <T> entity type
+	 * @param proceedingJoinPoint findAllById join point with Iterable of id's argument
+	 * @param redisStoreKey key for storing entities
+	 * @param idGetter getter of entity id
+	 * @param entityInitializer initializer of loaded entity before caching (lazy properties and etc)
+	 * @return found entities
+	 * @throws Throwable when repository call failed
 	 */
 	@SuppressWarnings("unchecked")
-	<T> void deleteFromRedisCache(String redisStoreKey, Long storedObjectDeletingId) {
+	<T> List<T> findAllByIdWithRedisCache(ProceedingJoinPoint proceedingJoinPoint, String redisStoreKey,
+			Function<T, Long> idGetter, Consumer<T> entityInitializer) throws Throwable {
 		
-		List<Integer> deletingKeys = new ArrayList<>();
-
-		redisTemplate.opsForHash().entries(redisStoreKey).forEach((k, v) -> {
+		Set<Object> uniqueIds = new LinkedHashSet<>();
+		
+		((Iterable<Long>) proceedingJoinPoint.getArgs()[0]).forEach(uniqueIds::add);
+		
+		List<Object> ids = new ArrayList<>(uniqueIds);
+		
+		if (ids.isEmpty()) {
+			return (List<T>) proceedingJoinPoint.proceed();
+		}
+		
+		List<String> entityKeys = ids.stream()
+				                     .map(id -> entityKey(redisStoreKey, (Long) id))
+				                     .toList();
+		
+		long writesStamp = writesStamp();
+		
+		List<Object> cachedEntities = readFromRedisCache(() -> redisTemplate.opsForValue().multiGet(entityKeys));
+		
+		List<T> entities = new ArrayList<>(ids.size());
+		List<Long> missingIds = new ArrayList<>();
+		
+		for (int i = 0; i < ids.size(); i++) {
+			
+			if (cachedEntities != null && cachedEntities.get(i) != null) {
+				entities.add((T) cachedEntities.get(i));
+			} else {
+				missingIds.add((Long) ids.get(i));
+			}
+			
+		}
+		
+		if (!missingIds.isEmpty()) {
+			
+			List<T> loadedEntities = (List<T>) proceedingJoinPoint.proceed(new Object[] { missingIds });
+			
+			loadedEntities.forEach(entity -> {
+				entityInitializer.accept(entity);
+				putEntityToRedisCache(redisStoreKey, idGetter.apply(entity), entity, writesStamp);
+			});
+				
+			entities.addAll(loadedEntities);
+			
+		}
+		
+		return entities;
+	}
+	
+	/**
+	 * 
+	 * Get entity by id from redis cache.
+	 * 
+	 * @param redisStoreKey namespace of entities
+	 * @param entityId id of entity
+	 * @return entity or null if it is not cached or redis is unavailable
+	 */
+	Object getEntityFromRedisCache(String redisStoreKey, Long entityId) {
+		return readFromRedisCache(() -> redisTemplate.opsForValue().get(entityKey(redisStoreKey, entityId)));
+	}
+	
+	/**
+	 * 
+	 * Put entity to redis cache on its own key with time to live asynchronously by 
+	 * write-behind. Entity is serialized on calling thread, so write-behind doesn't 
+	 * read managed entity outside of transaction and later changes of entity are not
+	 * written. Entity that was read before invalidation of any entity (with older 
+	 * writes stamp) is not written.
+	 * 
+	 * @param redisStoreKey namespace of entities
+	 * @param entityId id of entity
+	 * @param entity caching entity
+	 * @param writesStamp stamp of write-behind that was taken before reading of entity
+	 */
+	void putEntityToRedisCache(String redisStoreKey, Long entityId, Object entity, long writesStamp) {
+		
+		String entityKey = entityKey(redisStoreKey, entityId);
+		
+		Consumer<RedisOperations<String, Object>> setting = serializedSetting(entityKey, entity, storeTimeToLive());
+		
+		if (setting != null) {
+			redisWriteBehind.write(entityKey, setting, writesStamp);
+		}
+		
+	}
+	
+	/**
+	 * 
+	 * Delete entities by id's from redis cache by one DEL. Waiting writes of entities
+	 * are cancelled.
+	 * 
+	 * @param redisStoreKey namespace of entities
+	 * @param entityIds id's of deleting entities
+	 */
+	void deleteEntitiesFromRedisCache(String redisStoreKey, Collection<Long> entityIds) {
+		
+		if (entityIds.isEmpty()) {
+			return;
+		}
+		
+		List<String> entityKeys = entityIds.stream()
+				                           .map(entityId -> entityKey(redisStoreKey, entityId))
+				                           .toList();
+		
+		entityKeys.forEach(redisWriteBehind::cancel);
+		
+		invalidateRedisCache(() -> redisTemplate.delete(entityKeys));
+	}
+	
+	/**
+	 * 
+	 * Get composite object like List or Page from redis cache.
+	 * 
+	 * @param redisStoreKey namespace of composite objects Like List<T> entities or 
+	 *        Page<T> entities.
+	 * @param cachingKey caching key of composite object
+	 * @return composite object or null if it is not cached or redis is unavailable
+	 */
+	Object getFromRedisCache(String redisStoreKey, String cachingKey) {
+		return readFromRedisCache(() -> redisTemplate.opsForValue().get(compositeKey(redisStoreKey, cachingKey)));
+	}
+	
+	/**
+	 * 
+	 * Put composite object like List or Page to redis cache on its own key with time to live 
+	 * and index its caching key by id's of entities of composite object. For every entity id 
+	 * redis set (reverse index) keeps caching keys of composite objects that contain entity.
+	 * Time to live of reverse index is prolonged on every indexing. Composite object is 
+	 * serialized on calling thread, putting and indexing are written asynchronously by 
+	 * write-behind in one pipeline. Composite object that was read before invalidation
+	 * (with older writes stamp) is not written. Sometimes reverse indexes of entities are 
+	 * pruned, so indexes of often cached entities don't keep keys of composite objects 
+	 * that expired or were deleted on invalidation of other entities.
+	 * 
+	 * @param redisStoreKey namespace of composite objects Like List<T> entities or 
+	 *        Page<T> entities.
+	 * @param cachingKey caching key of composite object
+	 * @param compositeObject List or Page of entities
+	 * @param entityIds id's of entities of composite object
+	 * @param writesStamp stamp of write-behind that was taken before reading of composite object
+	 */
+	void putToRedisCache(String redisStoreKey, String cachingKey, Object compositeObject, Collection<Long> entityIds,
+			long writesStamp) {
+		
+		String compositeKey = compositeKey(redisStoreKey, cachingKey);
+		Duration compositeTimeToLive = storeTimeToLive();
+		
+		Consumer<RedisOperations<String, Object>> setting = serializedSetting(compositeKey, compositeObject, 
+				                                                              compositeTimeToLive);
+		
+		if (setting == null) {
+			return;
+		}
+		
+		redisWriteBehind.write(compositeKey, operations -> {
+			
+			setting.accept(operations);
+			
+			entityIds.forEach(entityId -> {
+				String indexKey = indexKey(redisStoreKey, entityId);
+				
+				operations.opsForSet().add(indexKey, cachingKey);
+				operations.expire(indexKey, compositeTimeToLive);
+			});
+				
+		}, writesStamp);
 		
-		Stream<T> storedObjects = null;	
+		if (ThreadLocalRandom.current().nextInt(INDEX_PRUNING_RATE) == 0) {
+			pruneIndexes(redisStoreKey, cachingKey, entityIds);
+		}
 		
-		if (v instanceof Page) {
-			storedObjects = (Stream<T>) ((Page<T>) v).stream();
-		} else if (v instanceof List) {
-			storedObjects = (Stream<T>) ((List<T>) v).stream();
-		} else {
-			throw new ClassCastException("Error. Can't convert from redis stored value to Page or List");
+	}
+	
+	/**
+	 * 
+	 * Remove from reverse indexes of entities caching keys of composite objects that
+	 * don't exist anymore. Caching keys are sampled (one SRANDMEMBER per index), their 
+	 * composite objects are checked (one EXISTS per caching key) and caching keys of
+	 * missing objects are removed (one SREM per caching key), every step in one pipeline.
+	 * Caching key of composite object that is being put is not checked: it can be still
+	 * waiting for write-behind.
+	 * 
+	 * @param redisStoreKey namespace of composite objects
+	 * @param cachingKey caching key of composite object that is being put
+	 * @param entityIds id's of entities of composite object
+	 */
+	void pruneIndexes(String redisStoreKey, String cachingKey, Collection<Long> entityIds) {
+		
+		if (entityIds.isEmpty()) {
+			return;
 		}
+		
+		List<String> indexKeys = entityIds.stream()
+				                          .map(id -> indexKey(redisStoreKey, id))
+				                          .toList();
+		
+		invalidateRedisCache(() -> {
+			
+			List<Object> sampledCachingKeys = executePipelined(operations -> 
+					indexKeys.forEach(indexKey -> operations.opsForSet().distinctRandomMembers(indexKey, INDEX_PRUNING_SAMPLE)));
+			
+			List<String> checkedIndexKeys = new ArrayList<>();
+			List<String> checkedCachingKeys = new ArrayList<>();
+			
+			for (int i = 0; i < sampledCachingKeys.size(); i++) {
+				String indexKey = indexKeys.get(i);
+				
+				for (Object sampledCachingKey : (Collection<?>) sampledCachingKeys.get(i)) {
+					
+					if (!cachingKey.equals(sampledCachingKey)) {
+						checkedIndexKeys.add(indexKey);
+						checkedCachingKeys.add((String) sampledCachingKey);
+					}
+					
+				}
+			}
+			
+			if (checkedCachingKeys.isEmpty()) {
+				return;
+			}
+			
+			List<Object> existences = executePipelined(operations -> checkedCachingKeys.forEach(checkedCachingKey -> 
+					operations.hasKey(compositeKey(redisStoreKey, checkedCachingKey))));
+			
+			List<Integer> missingIndexes = new ArrayList<>();
+			
+			for (int i = 0; i < existences.size(); i++) {
+				
+				if (!Boolean.TRUE.equals(existences.get(i))) {
+					missingIndexes.add(i);
+				}
+				
+			}
+			
+			if (!missingIndexes.isEmpty()) {
+				executePipelined(operations -> missingIndexes.forEach(i -> 
+						operations.opsForSet().remove(checkedIndexKeys.get(i), checkedCachingKeys.get(i))));
+			}
+			
+		});
+		
+	}
+	
+	/**
+	 * 
+	 * Delete from redis cache composite objects like List or Page by redis store key and objects id's.
+	 * Caching keys of composite objects that contain objects are read from reverse indexes 
+	 * (one SMEMBERS per object id in one pipeline), then composite objects and reverse indexes 
+	 * are deleted by one DEL. Stored composite objects are not read, so deleting doesn't depend 
+	 * on cache size. All waiting writes of composite objects of redis store key are cancelled.
+	 * 
+	 * @param redisStoreKey key for storing composite objects Like List<T> entities or 
+	 *        Page<T> entities.
+	 * @param storedObjectDeletingIds id's of stored in redis cache entities.
+	 */
+	void deleteFromRedisCache(String redisStoreKey, Collection<Long> storedObjectDeletingIds) {
+
+		if (storedObjectDeletingIds.isEmpty()) {
+			return;
+		}
+
+		redisWriteBehind.cancelAll(redisStoreKey + KEY_SEPARATOR);
 
-		if (storedObjects.anyMatch(entity -> {
-			try {
-				return entity.getClass().getDeclaredMethod("getId").invoke(entity).equals(storedObjectDeletingId);
-			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
-						| NoSuchMethodException | SecurityException e) {
-				log.error("Error when calling metod getById() on entity: {}", e.getMessage(), e);
-				return false;
+		List<String> indexKeys = storedObjectDeletingIds.stream()
+				                                        .map(id -> indexKey(redisStoreKey, id))
+				                                        .toList();
+		
+		invalidateRedisCache(() -> {
+		
+			List<Object> indexedCachingKeys = executePipelined(operations -> 
+					indexKeys.forEach(indexKey -> operations.opsForSet().members(indexKey)));
+		
+			Set<String> deletingKeys = new HashSet<>(indexKeys);
+		
+			indexedCachingKeys.forEach(cachingKeys -> ((Collection<?>) cachingKeys).forEach(cachingKey -> 
+					deletingKeys.add(compositeKey(redisStoreKey, (String) cachingKey))));
+			
+			redisTemplate.delete(deletingKeys);
+			
+		});
+		
+	}
+	
+	/**
+	 * 
+	 * Delete from redis cache entities by id's and composite objects that contain these entities.
+	 * With reactive redis template deleting of entities and deletings of composite objects of
+	 * every composite store key are sent concurrently, so invalidation takes about one round trip
+	 * of reverse indexes reading and one of deleting. Without it they are sent one by one.
+	 * 
+	 * @param redisStoreKey namespace of entities
+	 * @param entityIds id's of deleting entities
+	 * @param compositeStoreKeys keys for storing composite objects with entities
+	 */
+	void deleteAllFromRedisCache(String redisStoreKey, Collection<Long> entityIds, String... compositeStoreKeys) {
+		
+		if (entityIds.isEmpty()) {
+			return;
+		}
+		
+		if (reactiveRedisTemplate == null) {
+			deleteEntitiesFromRedisCache(redisStoreKey, entityIds);
+			
+			for (String compositeStoreKey : compositeStoreKeys) {
+				deleteFromRedisCache(compositeStoreKey, entityIds);
 			}
-			})) {
-				deletingKeys.add((Integer) k);
+			
+			return;
+		}
+		
+		List<String> entityKeys = entityIds.stream()
+				                           .map(entityId -> entityKey(redisStoreKey, entityId))
+				                           .toList();
+		
+		entityKeys.forEach(redisWriteBehind::cancel);
+		
+		for (String compositeStoreKey : compositeStoreKeys) {
+			redisWriteBehind.cancelAll(compositeStoreKey + KEY_SEPARATOR);
+		}
+		
+		invalidateRedisCache(() -> {
+			
+			List<Mono<Long>> deletings = new ArrayList<>();
+			
+			deletings.add(reactiveRedisTemplate.delete(entityKeys.toArray(String[]::new)));
+			
+			for (String compositeStoreKey : compositeStoreKeys) {
+				deletings.add(deleteFromRedisCacheReactively(compositeStoreKey, entityIds));
 			}
 			
+			Mono.when(deletings).block();
+			
 		});
 		
-		deletingKeys.stream().forEach(key -> redisTemplate.opsForHash().delete(redisStoreKey, key));
+	}
+			
+	/**
+	 * 
+	 * Read from redis cache when circuit of redis is closed. Failure of reading
+	 * is recorded to circuit breaker and is treated as cache miss. Value that can't
+	 * be deserialized (unknown format written by other application version or
+	 * corrupted value) is treated as cache miss too, but redis has answered, so
+	 * it is recorded as success.
+	 * 
+	 * @param <T> reading value
+	 * @param read redis reading
+	 * @return read value or null if redis is unavailable
+	 */
+	<T> T readFromRedisCache(Supplier<T> read) {
+		
+		if (!redisCircuitBreaker.allowsRequest()) {
+			return null;
+		}
+		
+		try {
+			T value = read.get();
+			redisCircuitBreaker.recordSuccess();
+			return value;
+		} catch (SerializationException e) {
+			redisCircuitBreaker.recordSuccess();
+			log.warn("Redis cache value is not deserialized and treated as cache miss: {}", e.getMessage());
+			return null;
+		} catch (RuntimeException e) {
+			redisCircuitBreaker.recordFailure();
+			log.warn("Redis cache is bypassed on reading: {}", e.getMessage());
+			return null;
+		}
 		
 	}
 	
+	/**
+	 * 
+	 * Invalidate redis cache when circuit of redis is closed. Failure of invalidation
+	 * is recorded to circuit breaker and doesn't fail repository method. Invalidation
+	 * is skipped on open circuit. Entities and composite objects that were not invalidated
+	 * are stale until their time to live (one day by default) expires.
+	 * 
+	 * @param invalidation redis invalidation
+	 */
+	void invalidateRedisCache(Runnable invalidation) {
+		
+		if (!redisCircuitBreaker.allowsRequest()) {
+			log.warn("Redis cache invalidation is skipped on open circuit");
+			return;
+		}
+		
+		try {
+			invalidation.run();
+			redisCircuitBreaker.recordSuccess();
+		} catch (RuntimeException e) {
+			redisCircuitBreaker.recordFailure();
+			log.error("Error. Redis cache invalidation failed: {}", e.getMessage());
+		}
+		
+	}
+	
+	/**
+	 * 
+	 * Delete composite objects that contain entities and their reverse indexes by
+	 * reactive redis template. Reverse indexes are read concurrently.
+	 * 
+	 * @param redisStoreKey key for storing composite objects
+	 * @param storedObjectDeletingIds id's of stored in redis cache entities
+	 * @return quantity of deleted keys
+	 */
+	private Mono<Long> deleteFromRedisCacheReactively(String redisStoreKey, Collection<Long> storedObjectDeletingIds) {
+		
+		List<String> indexKeys = storedObjectDeletingIds.stream()
+				                                        .map(id -> indexKey(redisStoreKey, id))
+				                                        .toList();
+		
+		return Flux.fromIterable(indexKeys)
+				   .flatMap(indexKey -> reactiveRedisTemplate.opsForSet().members(indexKey))
+				   .map(cachingKey -> compositeKey(redisStoreKey, (String) cachingKey))
+				   .concatWith(Flux.fromIterable(indexKeys))
+				   .distinct()
+				   .collectList()
+				   .flatMap(deletingKeys -> reactiveRedisTemplate.delete(deletingKeys.toArray(String[]::new)));
+	}
+	
+	/**
+	 * 
+	 * Get stamp of write-behind cancellations that is taken before reading of caching values.
+	 * 
+	 * @return writes stamp
+	 */
+	long writesStamp() {
+		return redisWriteBehind.cancellationsStamp();
+	}
+	
+	/**
+	 * 
+	 * Get redis key of entity in namespace of redis store key.
+	 * 
+	 * @param redisStoreKey namespace of entities
+	 * @param entityId id of entity
+	 * @return key of entity
+	 */
+	String entityKey(String redisStoreKey, Long entityId) {
+		return redisStoreKey + KEY_SEPARATOR + entityId;
+	}
+			
+	/**
+	 * 
+	 * Get redis key of composite object in namespace of redis store key.
+	 * 
+	 * @param redisStoreKey namespace of composite objects
+	 * @param cachingKey caching key of composite object
+	 * @return redis key of composite object
+	 */
+	String compositeKey(String redisStoreKey, String cachingKey) {
+		return redisStoreKey + KEY_SEPARATOR + cachingKey;
+	}
+	
+	/**
+	 * 
+	 * Get key of reverse index of entity in redis store.
+	 * 
+	 * @param redisStoreKey key for storing composite objects
+	 * @param entityId id of entity
+	 * @return redis key of set with hash keys of composite objects that contain entity
+	 */
+	String indexKey(String redisStoreKey, Long entityId) {
+		return redisStoreKey + INDEX_KEY_SEPARATOR + entityId;
+	}
+	
+	/**
+	 * 
+	 * Get time to live of stored entities and composite objects.
+	 * 
+	 * @return configured time to live or default time to live of one day
+	 */
+	Duration storeTimeToLive() {
+		return (timeToLive != null) ? timeToLive : DEFAULT_TIME_TO_LIVE;
+	}
+	
+	/**
+	 * 
+	 * Serialize key and value on calling thread and create setting of serialized value 
+	 * with time to live. Value that can't be serialized is not cached.
+	 * 
+	 * @param key redis key
+	 * @param value caching value
+	 * @param valueTimeToLive time to live of value
+	 * @return setting of serialized value or null if value is not serialized
+	 */
+	@SuppressWarnings("unchecked")
+	Consumer<RedisOperations<String, Object>> serializedSetting(String key, Object value, Duration valueTimeToLive) {
+		
+		byte[] rawKey;
+		byte[] rawValue;
+		
+		try {
+			rawKey = ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+			rawValue = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+		} catch (RuntimeException e) {
+			log.warn("Redis cache value of key={} is not serialized and not cached: {}", key, e.getMessage());
+			return null;
+		}
+		
+		long timeToLiveMillis = valueTimeToLive.toMillis();
+		
+		return operations -> operations.execute((RedisCallback<Object>) connection -> 
+				connection.stringCommands().pSetEx(rawKey, timeToLiveMillis, rawValue));
+	}
+	
+	/**
+	 * 
+	 * Send redis commands in one pipeline.
+	 * 
+	 * @param commands sending redis commands
+	 * @return results of commands
+	 */
+	List<Object> executePipelined(Consumer<RedisOperations<String, Object>> commands) {
+		
+		return redisTemplate.executePipelined(new SessionCallback<Object>() {
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+				commands.accept((RedisOperations<String, Object>) operations);
+				return null;
+			}
+			
+		});
+		
+	}
 		
 }
@@ -0,0 +1,107 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 
+ * Circuit breaker of redis cache. After failure threshold consecutive failures of
+ * redis requests circuit is opened and redis is bypassed during open duration.
+ * Then one trial request is allowed (half-open circuit): its success closes circuit,
+ * its failure opens circuit again.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Slf4j
+public class RedisCircuitBreaker {
+	static final int DEFAULT_FAILURE_THRESHOLD = 5;
+	static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30L);
+
+	private final int failureThreshold;
+	private final long openDurationNanos;
+
+	private final LongSupplier ticker;
+
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+	private final AtomicBoolean isTrialRequested = new AtomicBoolean();
+
+	private volatile boolean isOpen;
+	private volatile long openTime;
+
+	public RedisCircuitBreaker(Integer failureThreshold, Duration openDuration) {
+		this(failureThreshold, openDuration, System::nanoTime);
+	}
+
+	/**
+	 * 
+	 * Create circuit breaker.
+	 * 
+	 * @param failureThreshold quantity of consecutive failures that opens circuit.
+	 *                         Null or not positive threshold means default threshold 5.
+	 * @param openDuration     duration of bypassing redis. Null means default duration 30s.
+	 * @param ticker           source of time in nanoseconds.
+	 */
+	RedisCircuitBreaker(Integer failureThreshold, Duration openDuration, LongSupplier ticker) {
+		this.failureThreshold = (failureThreshold == null || failureThreshold <= 0) ? DEFAULT_FAILURE_THRESHOLD
+				: failureThreshold;
+		this.openDurationNanos = (openDuration == null) ? DEFAULT_OPEN_DURATION.toNanos() : openDuration.toNanos();
+		this.ticker = ticker;
+	}
+
+	/**
+	 * 
+	 * Check if redis request is allowed. Request that is allowed must be finished
+	 * by recording success or failure.
+	 * 
+	 * @return true if circuit is closed or if request is a trial of half-open circuit.
+	 */
+	public boolean allowsRequest() {
+
+		if (!isOpen) {
+			return true;
+		}
+
+		if (ticker.getAsLong() - openTime < openDurationNanos) {
+			return false;
+		}
+
+		return isTrialRequested.compareAndSet(false, true);
+	}
+
+	public void recordSuccess() {
+		consecutiveFailures.set(0);
+
+		if (isOpen) {
+			isOpen = false;
+			isTrialRequested.set(false);
+
+			log.info("Redis cache circuit is closed");
+		}
+	}
+
+	public void recordFailure() {
+
+		if (isOpen) {
+			openTime = ticker.getAsLong();
+			isTrialRequested.set(false);
+			return;
+		}
+
+		if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+			openTime = ticker.getAsLong();
+			isOpen = true;
+
+			log.warn("Redis cache circuit is opened after {} consecutive failures", failureThreshold);
+		}
+	}
+
+	public boolean isOpen() {
+		return isOpen;
+	}
+
+}
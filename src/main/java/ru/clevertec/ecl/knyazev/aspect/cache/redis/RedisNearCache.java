@@ -0,0 +1,213 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.clevertec.ecl.knyazev.cache.Cache;
+import ru.clevertec.ecl.knyazev.cache.codec.CommentCodec;
+import ru.clevertec.ecl.knyazev.cache.codec.NewsCodec;
+import ru.clevertec.ecl.knyazev.entity.Comment;
+import ru.clevertec.ecl.knyazev.entity.News;
+
+/**
+ * 
+ * In-process near cache (L1) of news and comments by id in front of redis cache (L2).
+ * Entities that are changed or deleted on one instance are evicted from near caches
+ * of all instances: eviction is published to redis invalidation channel and every
+ * instance (including publisher) evicts entities from its near cache on message.
+ * 
+ * Entities are stored encoded by {@link NewsCodec} and {@link CommentCodec} and every
+ * reading decodes new instance, so changes of read entity don't change near cached
+ * entity (news are decoded without comments as news read from redis cache).
+ * 
+ * Entity read from redis or database is put to near cache only if there were no
+ * evictions on instance since reading started, so entity that was read before
+ * concurrent change is not cached after eviction. Redis pub/sub doesn't guarantee
+ * delivery and eviction is not published on open circuit of redis, so near cache 
+ * should be created with time to live that bounds staleness on lost messages.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Slf4j
+public class RedisNearCache implements MessageListener {
+
+	public static final String INVALIDATION_CHANNEL = "CACHE_INVALIDATION";
+
+	private static final String MESSAGE_SEPARATOR = ":";
+	private static final String IDS_SEPARATOR = ",";
+
+	private final Cache<Long, byte[]> newsCache;
+	private final Cache<Long, byte[]> commentCache;
+
+	private final NewsCodec newsCodec = new NewsCodec();
+	private final CommentCodec commentCodec = new CommentCodec();
+
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final RedisCircuitBreaker redisCircuitBreaker;
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	public RedisNearCache(Cache<Long, byte[]> newsCache, Cache<Long, byte[]> commentCache,
+			RedisTemplate<String, Object> redisTemplate, RedisCircuitBreaker redisCircuitBreaker) {
+		this.newsCache = newsCache;
+		this.commentCache = commentCache;
+		this.redisTemplate = redisTemplate;
+		this.redisCircuitBreaker = redisCircuitBreaker;
+	}
+
+	News getNews(Long newsId) {
+		byte[] encodedNews = newsCache.get(newsId);
+		return (encodedNews == null) ? null : newsCodec.decode(ByteBuffer.wrap(encodedNews));
+	}
+
+	Comment getComment(Long commentId) {
+		byte[] encodedComment = commentCache.get(commentId);
+		return (encodedComment == null) ? null : commentCodec.decode(ByteBuffer.wrap(encodedComment));
+	}
+
+	/**
+	 * 
+	 * Get stamp of evictions on instance. Stamp is taken before reading entity
+	 * from redis or database and is checked on putting entity to near cache.
+	 * 
+	 * @return evictions stamp
+	 */
+	long evictionsStamp() {
+		return evictions.get();
+	}
+
+	/**
+	 * 
+	 * Put news to near cache if there were no evictions since evictions stamp was taken.
+	 * 
+	 * @param news read news
+	 * @param evictionsStamp evictions stamp taken before news reading
+	 */
+	void putNews(News news, long evictionsStamp) {
+
+		if (evictions.get() == evictionsStamp) {
+			newsCache.put(news.getId(), newsCodec.encode(news));
+		}
+
+	}
+
+	/**
+	 * 
+	 * Put comment to near cache if there were no evictions since evictions stamp was taken.
+	 * 
+	 * @param comment read comment
+	 * @param evictionsStamp evictions stamp taken before comment reading
+	 */
+	void putComment(Comment comment, long evictionsStamp) {
+
+		if (evictions.get() == evictionsStamp) {
+			commentCache.put(comment.getId(), commentCodec.encode(comment));
+		}
+
+	}
+
+	/**
+	 * 
+	 * Evict news from near caches of all instances.
+	 * 
+	 * @param newsIds id's of evicting news
+	 */
+	void evictNews(Collection<Long> newsIds) {
+		evict(RedisCache.NEWS_KEY, newsIds);
+	}
+
+	/**
+	 * 
+	 * Evict comments from near caches of all instances.
+	 * 
+	 * @param commentIds id's of evicting comments
+	 */
+	void evictComments(Collection<Long> commentIds) {
+		evict(RedisCache.COMMENT_KEY, commentIds);
+	}
+
+	/**
+	 * 
+	 * Evict entities from near cache on message of invalidation channel.
+	 * Message is a redis store key of entities and their id's.
+	 * 
+	 */
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+
+		Object invalidation = redisTemplate.getValueSerializer().deserialize(message.getBody());
+
+		if (!(invalidation instanceof String invalidationMessage) || !invalidationMessage.contains(MESSAGE_SEPARATOR)) {
+			log.error("Error. Unknown near cache invalidation message={}", invalidation);
+			return;
+		}
+
+		String redisStoreKey = invalidationMessage.substring(0, invalidationMessage.indexOf(MESSAGE_SEPARATOR));
+		String ids = invalidationMessage.substring(invalidationMessage.indexOf(MESSAGE_SEPARATOR) + 1);
+
+		try {
+
+			List<Long> entityIds = Arrays.stream(ids.split(IDS_SEPARATOR))
+					                     .map(Long::valueOf)
+					                     .toList();
+
+			evictLocally(redisStoreKey, entityIds);
+
+		} catch (NumberFormatException e) {
+			log.error("Error. Wrong id's in near cache invalidation message={}", invalidationMessage);
+		}
+
+	}
+
+	private void evict(String redisStoreKey, Collection<Long> entityIds) {
+
+		if (entityIds.isEmpty()) {
+			return;
+		}
+
+		evictLocally(redisStoreKey, entityIds);
+
+		String invalidationMessage = entityIds.stream()
+				                              .map(String::valueOf)
+				                              .collect(Collectors.joining(IDS_SEPARATOR, redisStoreKey + MESSAGE_SEPARATOR, ""));
+
+		if (!redisCircuitBreaker.allowsRequest()) {
+			log.warn("Near cache invalidation message={} is not published on open circuit", invalidationMessage);
+			return;
+		}
+
+		try {
+			redisTemplate.convertAndSend(INVALIDATION_CHANNEL, invalidationMessage);
+			redisCircuitBreaker.recordSuccess();
+		} catch (RuntimeException e) {
+			redisCircuitBreaker.recordFailure();
+			log.error("Error. Near cache invalidation message={} was not published: {}", invalidationMessage, e.getMessage());
+		}
+		
+	}
+
+	private void evictLocally(String redisStoreKey, Collection<Long> entityIds) {
+
+		evictions.incrementAndGet();
+
+		if (RedisCache.NEWS_KEY.equals(redisStoreKey)) {
+			entityIds.forEach(newsCache::remove);
+		} else if (RedisCache.COMMENT_KEY.equals(redisStoreKey)) {
+			entityIds.forEach(commentCache::remove);
+		} else {
+			log.error("Error. Unknown redis store key={} in near cache invalidation", redisStoreKey);
+		}
+
+	}
+
+}
@@ -0,0 +1,247 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 
+ * Asynchronous write-behind of redis cache population. Writes are put to bounded
+ * queue and returned immediately. Dedicated writer thread takes writes in batches
+ * and sends every batch in one pipeline.
+ * 
+ * Writes are coalesced by key: write on key that is already waiting in queue
+ * replaces waiting write. When queue is full or circuit of redis is open writes
+ * are dropped (cache population is optional, dropped write is a later cache miss).
+ * Waiting writes are cancelled before invalidation of their keys, only batch that
+ * is being sent during invalidation can write invalidated value. Every cancellation
+ * changes cancellations stamp: write of value that was read before cancellation
+ * (with older stamp) is dropped, so value that was read from repository before
+ * invalidation is not written after it.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Slf4j
+public class RedisWriteBehind implements AutoCloseable {
+	static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+	static final int DEFAULT_BATCH_SIZE = 100;
+
+	private static final long POLL_TIMEOUT_MILLIS = 100L;
+	private static final long CLOSE_TIMEOUT_MILLIS = 5_000L;
+
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final RedisCircuitBreaker redisCircuitBreaker;
+
+	private final int batchSize;
+
+	private final BlockingQueue<String> writeKeys;
+	private final ConcurrentMap<String, Consumer<RedisOperations<String, Object>>> pendingWrites;
+
+	private final LongAdder droppedWrites = new LongAdder();
+	private final LongAdder coalescedWrites = new LongAdder();
+
+	private final AtomicLong cancellations = new AtomicLong();
+
+	private final Thread writer;
+
+	private volatile boolean isRunning = true;
+
+	/**
+	 * 
+	 * Create write-behind and start writer thread.
+	 * 
+	 * @param redisTemplate       redis template
+	 * @param redisCircuitBreaker circuit breaker of redis cache
+	 * @param queueCapacity       maximum quantity of waiting writes. Null or not positive
+	 *                            capacity means default capacity 10000.
+	 * @param batchSize           maximum quantity of writes in one pipeline. Null or not
+	 *                            positive size means default size 100.
+	 */
+	public RedisWriteBehind(RedisTemplate<String, Object> redisTemplate, RedisCircuitBreaker redisCircuitBreaker,
+			Integer queueCapacity, Integer batchSize) {
+		this.redisTemplate = redisTemplate;
+		this.redisCircuitBreaker = redisCircuitBreaker;
+		this.batchSize = (batchSize == null || batchSize <= 0) ? DEFAULT_BATCH_SIZE : batchSize;
+
+		writeKeys = new LinkedBlockingQueue<>((queueCapacity == null || queueCapacity <= 0) ? DEFAULT_QUEUE_CAPACITY
+				: queueCapacity);
+		pendingWrites = new ConcurrentHashMap<>();
+
+		writer = new Thread(this::writeBatches, "redis-cache-write-behind");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * 
+	 * Get stamp of cancellations that is taken before reading of written value.
+	 * 
+	 * @return cancellations stamp
+	 */
+	public long cancellationsStamp() {
+		return cancellations.get();
+	}
+
+	/**
+	 * 
+	 * Put write to queue. Waiting write on the same key is replaced. Write is
+	 * dropped when any write was cancelled since cancellations stamp was taken.
+	 * Stamp is checked after putting, so cancellation that doesn't see this write
+	 * waiting is always seen by the check.
+	 * 
+	 * @param key                redis key that is written
+	 * @param write              redis commands of write
+	 * @param cancellationsStamp stamp that was taken before reading of written value
+	 */
+	public void write(String key, Consumer<RedisOperations<String, Object>> write, long cancellationsStamp) {
+
+		Consumer<RedisOperations<String, Object>> replacedWrite = pendingWrites.put(key, write);
+
+		if (cancellations.get() != cancellationsStamp) {
+			pendingWrites.remove(key, write);
+			droppedWrites.increment();
+			return;
+		}
+
+		if (replacedWrite != null) {
+			coalescedWrites.increment();
+			return;
+		}
+
+		if (!writeKeys.offer(key)) {
+			pendingWrites.remove(key);
+			droppedWrites.increment();
+		}
+
+	}
+
+	/**
+	 * 
+	 * Cancel waiting write on key.
+	 * 
+	 * @param key redis key
+	 */
+	public void cancel(String key) {
+		cancellations.incrementAndGet();
+		pendingWrites.remove(key);
+	}
+
+	/**
+	 * 
+	 * Cancel all waiting writes on keys with prefix.
+	 * 
+	 * @param keyPrefix prefix of redis keys
+	 */
+	public void cancelAll(String keyPrefix) {
+		cancellations.incrementAndGet();
+		pendingWrites.keySet().removeIf(key -> key.startsWith(keyPrefix));
+	}
+
+	public int pendingWritesQuantity() {
+		return pendingWrites.size();
+	}
+
+	public long droppedWritesQuantity() {
+		return droppedWrites.sum();
+	}
+
+	public long coalescedWritesQuantity() {
+		return coalescedWrites.sum();
+	}
+
+	/**
+	 * 
+	 * Stop writer thread after writing of waiting writes.
+	 * 
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		isRunning = false;
+		writer.join(CLOSE_TIMEOUT_MILLIS);
+	}
+
+	private void writeBatches() {
+
+		while (isRunning || !writeKeys.isEmpty()) {
+
+			try {
+
+				String firstKey = writeKeys.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+				if (firstKey != null) {
+					List<String> keys = new ArrayList<>(batchSize);
+
+					keys.add(firstKey);
+					writeKeys.drainTo(keys, batchSize - 1);
+
+					writeBatch(keys);
+				}
+
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				log.error("Error. Redis cache write-behind failed: {}", e.getMessage());
+			}
+
+		}
+
+	}
+
+	private void writeBatch(List<String> keys) {
+
+		List<Consumer<RedisOperations<String, Object>>> writes = keys.stream()
+				                                                     .map(pendingWrites::remove)
+				                                                     .filter(Objects::nonNull)
+				                                                     .toList();
+
+		if (writes.isEmpty()) {
+			return;
+		}
+
+		if (!redisCircuitBreaker.allowsRequest()) {
+			droppedWrites.add(writes.size());
+			return;
+		}
+
+		try {
+
+			redisTemplate.executePipelined(new SessionCallback<Object>() {
+
+				@Override
+				@SuppressWarnings("unchecked")
+				public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+					writes.forEach(write -> write.accept((RedisOperations<String, Object>) operations));
+					return null;
+				}
+
+			});
+
+			redisCircuitBreaker.recordSuccess();
+
+		} catch (RuntimeException e) {
+			redisCircuitBreaker.recordFailure();
+			droppedWrites.add(writes.size());
+
+			log.warn("Redis cache writes={} are dropped: {}", writes.size(), e.getMessage());
+		}
+
+	}
+
+}
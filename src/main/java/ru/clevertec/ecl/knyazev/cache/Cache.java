@@ -1,5 +1,8 @@
 package ru.clevertec.ecl.knyazev.cache;
 
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
 /**
  * 
  * Representation of caching mechanism using cashing algorithms.
@@ -13,6 +16,7 @@ package ru.clevertec.ecl.knyazev.cache;
  */
 public interface Cache<K, V> {
 	static final Integer DEFAULT_CACHE_SIZE = 50;
+	static final Integer DEFAULT_CONCURRENCY_LEVEL = 16;
 	
 	/**
 	 * 
@@ -32,6 +36,47 @@ public interface Cache<K, V> {
 	 */
 	V get(K key);
 	
+	/**
+	 * 
+	 * Get cached V value on input K key without side effects: hit or miss is
+	 * not recorded to statistics and order of eviction is not changed.
+	 * 
+	 * @param key for identifying and fetching cached value
+	 * @return V value from cache on input K key or null
+	 */
+	V peek(K key);
+	
+	/**
+	 * 
+	 * Get cached V value on input K key if value is valid. Validity is checked
+	 * before hit is recorded, so invalid value is removed and counted as a miss
+	 * and an expiration, not as a hit.
+	 * 
+	 * Default realization is not atomic, thread safe caches check and get value
+	 * under the same lock.
+	 * 
+	 * @param key for identifying and fetching cached value
+	 * @param isValid checks if cached value can be returned
+	 * @return valid V value from cache on input K key or null
+	 */
+	default V getIf(K key, Predicate<V> isValid) {
+		V value = peek(key);
+		
+		if (value == null) {
+			stats().recordMiss();
+			return null;
+		}
+		
+		if (!isValid.test(value)) {
+			remove(key);
+			stats().recordMiss();
+			stats().recordExpiration();
+			return null;
+		}
+		
+		return get(key);
+	}
+	
 	/**
 	 * 
 	 * Remove cached V value on input K key
@@ -56,4 +101,51 @@ public interface Cache<K, V> {
 	 * @return true if cache contains key-value on given key - otherwise false.
 	 */
 	Boolean contains(K key);
+	
+	/**
+	 * 
+	 * Replace cached V value on K key by value computed from it. Computed null
+	 * removes value, same value is not written again. Nothing is computed when
+	 * cache doesn't contain value on K key.
+	 * 
+	 * Default realization is not atomic, thread safe caches perform get and
+	 * replacing under the same lock.
+	 * 
+	 * @param key for identifying and fetching cached value
+	 * @param remapping computes new value from cached value
+	 */
+	default void computeIfPresent(K key, UnaryOperator<V> remapping) {
+		V value = get(key);
+		
+		if (value == null) {
+			return;
+		}
+		
+		V computedValue = remapping.apply(value);
+		
+		if (computedValue == null) {
+			remove(key);
+		} else if (computedValue != value) {
+			put(key, computedValue);
+		}
+	}
+	
+	/**
+	 * 
+	 * Get cache weight - sum of weights of elements in cache. 
+	 * When cache is not bounded by weight every element weighs one.
+	 * 
+	 * @return cache weight.
+	 */
+	default Long weight() {
+		return size().longValue();
+	}
+	
+	/**
+	 * 
+	 * Get statistics of cache usage - hits, misses, evictions and loads.
+	 * 
+	 * @return cache statistics.
+	 */
+	CacheStats stats();
 }
@@ -5,6 +5,56 @@ import java.util.Locale;
 public class CacheFactory {
 
 	public <K, V> Cache<K, V> initCache(String cacheAlgorithm, Integer cacheSize) {
+		return initCache(cacheAlgorithm, cacheSize, null, null);
+	}
+
+	public <K, V> Cache<K, V> initCache(String cacheAlgorithm, Integer cacheSize, Long cacheWeight, Weigher<K, V> weigher) {
+		return initCache(cacheAlgorithm, cacheSize, cacheWeight, weigher, null);
+	}
+
+	public <K, V> Cache<K, V> initCache(String cacheAlgorithm, Integer cacheSize, Long cacheWeight, Weigher<K, V> weigher,
+			CacheStats cacheStats) {
+		if (cacheAlgorithm == null) {
+			cacheAlgorithm = "";
+		}
+
+		CacheAlgorithm algorithm = CacheAlgorithm.valueOf(cacheAlgorithm.toUpperCase(Locale.ROOT));
+
+		return switch (algorithm) {
+		case LFU -> new LFUCache<>(cacheSize, cacheWeight, weigher, cacheStats);
+		case LRU -> new LRUCache<>(cacheSize, cacheWeight, weigher, cacheStats);
+		case TINYLFU -> new TinyLFUCache<>(cacheSize, cacheWeight, weigher, cacheStats);
+
+		default -> new LRUCache<>(cacheSize, cacheWeight, weigher, cacheStats);
+		};
+	}
+
+	public <K, V> Cache<K, V> initConcurrentCache(String cacheAlgorithm, Integer cacheSize, Integer concurrencyLevel) {
+		return initConcurrentCache(cacheAlgorithm, cacheSize, concurrencyLevel, null, null);
+	}
+
+	public <K, V> Cache<K, V> initConcurrentCache(String cacheAlgorithm, Integer cacheSize, Integer concurrencyLevel,
+			Long cacheWeight, Weigher<K, V> weigher) {
+		CacheStats cacheStats = new CacheStats();
+
+		return new ConcurrentCache<>(cacheSize, cacheWeight, concurrencyLevel, cacheStats,
+				(segmentSize, segmentWeight) -> initCache(cacheAlgorithm, segmentSize, segmentWeight, weigher, cacheStats));
+	}
+
+	/**
+	 * 
+	 * Create cache on Long keys which index is a primitive long keys map.
+	 * 
+	 * @param <V> value that storing in cache.
+	 * @param cacheAlgorithm LRU, LFU or TINYLFU
+	 * @param cacheSize maximum quantity of elements in cache.
+	 * @param cacheWeight maximum weight of elements in cache or null.
+	 * @param weigher calculates weight of element or null.
+	 * @param cacheStats statistics that cache records to or null.
+	 * @return cache on Long keys.
+	 */
+	public <V> Cache<Long, V> initLongKeyCache(String cacheAlgorithm, Integer cacheSize, Long cacheWeight,
+			Weigher<Long, V> weigher, CacheStats cacheStats) {
 		if (cacheAlgorithm == null) {
 			cacheAlgorithm = "";
 		}
@@ -12,14 +62,44 @@ public class CacheFactory {
 		CacheAlgorithm algorithm = CacheAlgorithm.valueOf(cacheAlgorithm.toUpperCase(Locale.ROOT));
 
 		return switch (algorithm) {
-		case LFU -> new LFUCache<>(cacheSize);
-		case LRU -> new LRUCache<>(cacheSize);
+		case LFU -> LFUCache.withLongKeys(cacheSize, cacheWeight, weigher, cacheStats);
+		case LRU -> LRUCache.withLongKeys(cacheSize, cacheWeight, weigher, cacheStats);
+		case TINYLFU -> TinyLFUCache.withLongKeys(cacheSize, cacheWeight, weigher, cacheStats);
 
-		default -> new LRUCache<>(cacheSize);
+		default -> LRUCache.withLongKeys(cacheSize, cacheWeight, weigher, cacheStats);
 		};
 	}
 
+	public <V> Cache<Long, V> initLongKeyConcurrentCache(String cacheAlgorithm, Integer cacheSize,
+			Integer concurrencyLevel, Long cacheWeight, Weigher<Long, V> weigher) {
+		CacheStats cacheStats = new CacheStats();
+
+		return new ConcurrentCache<>(cacheSize, cacheWeight, concurrencyLevel, cacheStats,
+				(segmentSize, segmentWeight) -> initLongKeyCache(cacheAlgorithm, segmentSize, segmentWeight, weigher,
+						cacheStats));
+	}
+
+	/**
+	 * 
+	 * Create concurrent cache which segments store encoded values outside of java heap.
+	 * 
+	 * @param <K> key on which V value storing in cache.
+	 * @param <V> value that storing in cache.
+	 * @param cacheSize maximum quantity of elements in cache.
+	 * @param concurrencyLevel desired quantity of segments.
+	 * @param arenaCapacity size in bytes of off-heap memory divided between segments.
+	 * @param codec encodes and decodes V values.
+	 * @return off-heap cache.
+	 */
+	public <K, V> Cache<K, V> initConcurrentOffHeapCache(Integer cacheSize, Integer concurrencyLevel, Long arenaCapacity,
+			Codec<V> codec) {
+		CacheStats cacheStats = new CacheStats();
+
+		return new ConcurrentCache<>(cacheSize, arenaCapacity, concurrencyLevel, cacheStats,
+				(segmentSize, segmentCapacity) -> new OffHeapCache<>(segmentSize, segmentCapacity, codec, cacheStats));
+	}
+
 	private enum CacheAlgorithm {
-		LRU, LFU
+		LRU, LFU, TINYLFU
 	}
 }
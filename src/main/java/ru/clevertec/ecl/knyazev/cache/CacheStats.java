@@ -0,0 +1,116 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 
+ * Statistics of cache usage: hits, misses, evictions and loads of values
+ * that were absent in cache. Counters are striped (LongAdder), so recording
+ * from many threads doesn't contend on one memory cell and costs almost
+ * nothing on the hot path. Values are read only when statistics is published.
+ * 
+ * One statistics object can be shared between segments of concurrent cache.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+public class CacheStats {
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder expirationCount = new LongAdder();
+
+	private final LongAdder loadSuccessCount = new LongAdder();
+	private final LongAdder loadFailureCount = new LongAdder();
+	private final LongAdder totalLoadTime = new LongAdder();
+
+	public void recordHit() {
+		hitCount.increment();
+	}
+
+	public void recordMiss() {
+		missCount.increment();
+	}
+
+	public void recordEviction() {
+		evictionCount.increment();
+	}
+
+	/**
+	 * 
+	 * Record removing of expired value. Expired value is also counted
+	 * as evicted.
+	 * 
+	 */
+	public void recordExpiration() {
+		expirationCount.increment();
+		evictionCount.increment();
+	}
+
+	/**
+	 * 
+	 * Record successful loading of absent value.
+	 * 
+	 * @param loadTime loading time in nanoseconds.
+	 */
+	public void recordLoadSuccess(long loadTime) {
+		loadSuccessCount.increment();
+		totalLoadTime.add(loadTime);
+	}
+
+	/**
+	 * 
+	 * Record failed loading of absent value (value was not found or exception was thrown).
+	 * 
+	 * @param loadTime loading time in nanoseconds.
+	 */
+	public void recordLoadFailure(long loadTime) {
+		loadFailureCount.increment();
+		totalLoadTime.add(loadTime);
+	}
+
+	public long hitCount() {
+		return hitCount.sum();
+	}
+
+	public long missCount() {
+		return missCount.sum();
+	}
+
+	public long evictionCount() {
+		return evictionCount.sum();
+	}
+
+	public long expirationCount() {
+		return expirationCount.sum();
+	}
+
+	public long loadSuccessCount() {
+		return loadSuccessCount.sum();
+	}
+
+	public long loadFailureCount() {
+		return loadFailureCount.sum();
+	}
+
+	public long loadCount() {
+		return loadSuccessCount() + loadFailureCount();
+	}
+
+	/**
+	 * 
+	 * Get total time of loadings.
+	 * 
+	 * @return total loading time in nanoseconds.
+	 */
+	public long totalLoadTime() {
+		return totalLoadTime.sum();
+	}
+
+	public double hitRate() {
+		long requestCount = hitCount() + missCount();
+		return (requestCount == 0L) ? 1.0d : (double) hitCount() / requestCount;
+	}
+
+}
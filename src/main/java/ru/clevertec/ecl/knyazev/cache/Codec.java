@@ -0,0 +1,35 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 
+ * Binary codec of V values for caches that store values outside of java heap
+ * or send them over network.
+ * 
+ * @author Vitya Knyazev
+ * 
+ * @param <V> value that is encoding
+ */
+public interface Codec<V> {
+	
+	/**
+	 * 
+	 * Encode V value to bytes
+	 * 
+	 * @param value for encoding
+	 * @return encoded value
+	 */
+	byte[] encode(V value);
+	
+	/**
+	 * 
+	 * Decode V value from bytes between buffer position and buffer limit
+	 * 
+	 * @param buffer with encoded value
+	 * @return decoded V value
+	 * @throws IllegalArgumentException if bytes are not encoded V value
+	 */
+	V decode(ByteBuffer buffer);
+	
+}
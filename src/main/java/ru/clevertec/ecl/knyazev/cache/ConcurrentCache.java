@@ -0,0 +1,247 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 
+ * Current class is a thread safe realization of caching mechanism that uses
+ * lock striping. Cache is divided on segments, every segment is a not thread
+ * safe cache (LRU, LFU and etc.) guarded by its own lock. K key always goes to
+ * the same segment, so threads that are working with keys from different
+ * segments don't block each other.
+ * 
+ * Maximum cache size and maximum cache weight are divided between segments, so
+ * eviction algorithm works inside every segment.
+ * 
+ * Statistics object of concurrent cache should be shared with segment caches,
+ * so hits, misses and evictions of all segments are counted together.
+ * 
+ * For correct algorithm work in classes of type K that are used in
+ * ConcurrentCache must be overriding equals and hashcode methods.
+ * 
+ * @author Vitya Knyazev
+ * 
+ * @param <K> key on which V value storing in cache.
+ * @param <V> value that storing in cache.
+ */
+public class ConcurrentCache<K, V> implements Cache<K, V> {
+
+	private final Segment<K, V>[] segments;
+	private final int segmentMask;
+
+	private final CacheStats stats;
+
+	/**
+	 * 
+	 * Create concurrent cache.
+	 * 
+	 * @param maxCacheSize     maximum quantity of elements in all segments.
+	 * @param concurrencyLevel desired quantity of segments. Real quantity of
+	 *                         segments is a power of two that is not bigger than
+	 *                         concurrency level and maximum cache size.
+	 * @param segmentFactory   creates segment cache on maximum segment size.
+	 */
+	public ConcurrentCache(Integer maxCacheSize, Integer concurrencyLevel, IntFunction<Cache<K, V>> segmentFactory) {
+		this(maxCacheSize, null, concurrencyLevel, (segmentSize, segmentWeight) -> segmentFactory.apply(segmentSize));
+	}
+
+	/**
+	 * 
+	 * Create concurrent cache bounded by weight.
+	 * 
+	 * @param maxCacheSize     maximum quantity of elements in all segments.
+	 * @param maxCacheWeight   maximum weight of elements in all segments or null
+	 *                         if cache is not bounded by weight.
+	 * @param concurrencyLevel desired quantity of segments.
+	 * @param segmentFactory   creates segment cache on maximum segment size and
+	 *                         maximum segment weight (null if cache is not bounded
+	 *                         by weight).
+	 */
+	public ConcurrentCache(Integer maxCacheSize, Long maxCacheWeight, Integer concurrencyLevel,
+			BiFunction<Integer, Long, Cache<K, V>> segmentFactory) {
+		this(maxCacheSize, maxCacheWeight, concurrencyLevel, null, segmentFactory);
+	}
+
+	/**
+	 * 
+	 * Create concurrent cache bounded by weight with statistics shared with
+	 * segments.
+	 * 
+	 * @param maxCacheSize     maximum quantity of elements in all segments.
+	 * @param maxCacheWeight   maximum weight of elements in all segments or null
+	 *                         if cache is not bounded by weight.
+	 * @param concurrencyLevel desired quantity of segments.
+	 * @param cacheStats       statistics that segment caches record to.
+	 * @param segmentFactory   creates segment cache on maximum segment size and
+	 *                         maximum segment weight.
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentCache(Integer maxCacheSize, Long maxCacheWeight, Integer concurrencyLevel, CacheStats cacheStats,
+			BiFunction<Integer, Long, Cache<K, V>> segmentFactory) {
+		int cacheSize = (maxCacheSize == null || maxCacheSize <= 0) ? DEFAULT_CACHE_SIZE : maxCacheSize;
+		int level = (concurrencyLevel == null || concurrencyLevel <= 0) ? DEFAULT_CONCURRENCY_LEVEL : concurrencyLevel;
+
+		int segmentsQuantity = Integer.highestOneBit(Math.min(level, cacheSize));
+
+		stats = (cacheStats == null) ? new CacheStats() : cacheStats;
+
+		segments = new Segment[segmentsQuantity];
+		segmentMask = segmentsQuantity - 1;
+
+		for (int i = 0; i < segmentsQuantity; i++) {
+			int segmentSize = cacheSize / segmentsQuantity + ((i < cacheSize % segmentsQuantity) ? 1 : 0);
+			Long segmentWeight = (maxCacheWeight == null) ? null : Math.max(1L, maxCacheWeight / segmentsQuantity);
+
+			segments[i] = new Segment<>(segmentFactory.apply(segmentSize, segmentWeight));
+		}
+	}
+
+	@Override
+	public void put(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+
+		segment.lock.lock();
+		try {
+			segment.cache.put(key, value);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public V get(K key) {
+		Segment<K, V> segment = segmentFor(key);
+
+		segment.lock.lock();
+		try {
+			return segment.cache.get(key);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public V peek(K key) {
+		Segment<K, V> segment = segmentFor(key);
+
+		segment.lock.lock();
+		try {
+			return segment.cache.peek(key);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public V getIf(K key, Predicate<V> isValid) {
+		Segment<K, V> segment = segmentFor(key);
+
+		segment.lock.lock();
+		try {
+			return segment.cache.getIf(key, isValid);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public void remove(K key) {
+		Segment<K, V> segment = segmentFor(key);
+
+		segment.lock.lock();
+		try {
+			segment.cache.remove(key);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public void computeIfPresent(K key, UnaryOperator<V> remapping) {
+		Segment<K, V> segment = segmentFor(key);
+
+		segment.lock.lock();
+		try {
+			segment.cache.computeIfPresent(key, remapping);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	/**
+	 * 
+	 * Get cache size - sum of segments sizes. Segments are not locked all
+	 * together, so under concurrent modification size is an estimate.
+	 * 
+	 * @return cache size.
+	 */
+	@Override
+	public Integer size() {
+		int size = 0;
+
+		for (Segment<K, V> segment : segments) {
+			segment.lock.lock();
+			try {
+				size += segment.cache.size();
+			} finally {
+				segment.lock.unlock();
+			}
+		}
+
+		return size;
+	}
+
+	@Override
+	public Long weight() {
+		long weight = 0L;
+
+		for (Segment<K, V> segment : segments) {
+			segment.lock.lock();
+			try {
+				weight += segment.cache.weight();
+			} finally {
+				segment.lock.unlock();
+			}
+		}
+
+		return weight;
+	}
+
+	@Override
+	public CacheStats stats() {
+		return stats;
+	}
+
+	@Override
+	public Boolean contains(K key) {
+		Segment<K, V> segment = segmentFor(key);
+
+		segment.lock.lock();
+		try {
+			return segment.cache.contains(key);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	private Segment<K, V> segmentFor(K key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+
+		return segments[hash & segmentMask];
+	}
+
+	private static final class Segment<K, V> {
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Cache<K, V> cache;
+
+		private Segment(Cache<K, V> cache) {
+			this.cache = cache;
+		}
+	}
+
+}
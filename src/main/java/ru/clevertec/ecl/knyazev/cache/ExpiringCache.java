@@ -0,0 +1,306 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 
+ * Current class adds time-to-live and optional refresh-ahead to any cache
+ * realization (LRU, LFU, concurrent and etc.). Every V value is stored with
+ * time of its writing. Expiration is checked lazily when value is getting from
+ * cache, so there are no timers or threads per value: expired value is
+ * removed from cache and get returns null.
+ * 
+ * When refresh-ahead window is set and value is got during last part of its
+ * life (time-to-live minus refresh-ahead window) value is reloaded in
+ * background by refresher, so frequently used values are replaced before they
+ * expire and don't miss. Only one refresh per key is performed at the same
+ * time.
+ * 
+ * Cache should be thread safe if refresh-ahead is used because refreshed
+ * values are put from refresh executor threads.
+ * 
+ * @author Vitya Knyazev
+ * 
+ * @param <K> key on which V value storing in cache.
+ * @param <V> value that storing in cache.
+ */
+@Slf4j
+public class ExpiringCache<K, V> implements Cache<K, V> {
+
+	private final Cache<K, Entry<V>> cache;
+
+	private final long timeToLiveNanos;
+	private final long refreshAfterNanos;
+
+	private final Function<K, V> refresher;
+	private final Executor refreshExecutor;
+	private final Set<K> refreshingKeys = ConcurrentHashMap.newKeySet();
+
+	private final LongSupplier ticker;
+
+	/**
+	 * 
+	 * Create cache with time-to-live only.
+	 * 
+	 * @param cache      for storing values with their time of writing.
+	 * @param timeToLive time of value life after writing.
+	 */
+	public ExpiringCache(Cache<K, Entry<V>> cache, Duration timeToLive) {
+		this(cache, timeToLive, null, null, null, System::nanoTime);
+	}
+
+	/**
+	 * 
+	 * Create cache with time-to-live and refresh-ahead.
+	 * 
+	 * @param cache           for storing values with their time of writing.
+	 * @param timeToLive      time of value life after writing.
+	 * @param refreshAhead    window before expiration in which got value is
+	 *                        refreshed in background. Null or zero disables
+	 *                        refresh-ahead.
+	 * @param refresher       loads actual V value on K key. Null result removes
+	 *                        value from cache.
+	 * @param refreshExecutor executor for background refreshing.
+	 */
+	public ExpiringCache(Cache<K, Entry<V>> cache, Duration timeToLive, Duration refreshAhead,
+			Function<K, V> refresher, Executor refreshExecutor) {
+		this(cache, timeToLive, refreshAhead, refresher, refreshExecutor, System::nanoTime);
+	}
+
+	ExpiringCache(Cache<K, Entry<V>> cache, Duration timeToLive, Duration refreshAhead,
+			Function<K, V> refresher, Executor refreshExecutor, LongSupplier ticker) {
+
+		if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+			throw new IllegalArgumentException("Error. Time to live must be positive");
+		}
+
+		this.cache = cache;
+		this.timeToLiveNanos = timeToLive.toNanos();
+
+		boolean isRefreshAhead = refreshAhead != null && !refreshAhead.isNegative() && !refreshAhead.isZero()
+				&& refresher != null && refreshExecutor != null;
+
+		this.refreshAfterNanos = isRefreshAhead ? Math.max(0L, timeToLiveNanos - refreshAhead.toNanos())
+				: Long.MAX_VALUE;
+
+		this.refresher = refresher;
+		this.refreshExecutor = refreshExecutor;
+		this.ticker = ticker;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		cache.put(key, new Entry<>(value, ticker.getAsLong()));
+	}
+
+	/**
+	 * 
+	 * Getting V value from cache on K key. Expired value is removed from cache
+	 * and null is returned. Value that is in refresh-ahead window is returned and
+	 * refreshed in background.
+	 * 
+	 * @param <K> key on which V value getting from cache.
+	 * @return <V> value that getting from cache or null.
+	 */
+	@Override
+	public V get(K key) {
+		Entry<V> entry = cache.getIf(key, this::isAlive);
+
+		if (entry == null) {
+			return null;
+		}
+
+		if (ticker.getAsLong() - entry.writeTime >= refreshAfterNanos) {
+			refresh(key, entry);
+		}
+
+		return entry.value;
+	}
+
+	/**
+	 * 
+	 * Get not expired V value without recording hit or miss, changing order of
+	 * eviction or refreshing.
+	 * 
+	 * @param <K> key on which V value getting from cache.
+	 * @return <V> value that getting from cache or null.
+	 */
+	@Override
+	public V peek(K key) {
+		Entry<V> entry = cache.peek(key);
+
+		return (entry != null && isAlive(entry)) ? entry.value : null;
+	}
+
+	@Override
+	public void remove(K key) {
+		cache.remove(key);
+	}
+
+	/**
+	 * 
+	 * Get cache size - quantity of elements in cache. Expired elements that
+	 * were not got after expiration are also counted.
+	 * 
+	 * @return cache size.
+	 */
+	@Override
+	public Integer size() {
+		return cache.size();
+	}
+
+	@Override
+	public Long weight() {
+		return cache.weight();
+	}
+
+	/**
+	 * 
+	 * Get statistics of wrapped cache. Got expired values are counted as misses
+	 * and expirations, background refreshes are counted as loads.
+	 * 
+	 * @return cache statistics.
+	 */
+	@Override
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	@Override
+	public Boolean contains(K key) {
+		return peek(key) != null;
+	}
+
+	private boolean isAlive(Entry<V> entry) {
+		return ticker.getAsLong() - entry.writeTime < timeToLiveNanos;
+	}
+
+	/**
+	 * 
+	 * Reload V value on K key in background if value on K key is not refreshing
+	 * now. Refreshed value is put only if cached value was not changed or removed
+	 * during refreshing. Cached entry is compared by time of writing, so entries
+	 * decoded from serialized storage are also supported. Comparing and replacing
+	 * are done by one computeIfPresent of cache, so value put concurrently is not
+	 * overwritten by refreshed value.
+	 * 
+	 * Refresh that is rejected by executor is skipped and value can be refreshed
+	 * on next getting.
+	 * 
+	 * @param key   on which V value is refreshing.
+	 * @param entry cached entry that is refreshing.
+	 */
+	private void refresh(K key, Entry<V> entry) {
+
+		if (!refreshingKeys.add(key)) {
+			return;
+		}
+
+		try {
+			refreshExecutor.execute(() -> {
+				long loadStartTime = ticker.getAsLong();
+
+				try {
+					V refreshedValue = refresher.apply(key);
+
+					recordLoad(refreshedValue != null, ticker.getAsLong() - loadStartTime);
+
+					cache.computeIfPresent(key, cachedEntry -> {
+
+						if (cachedEntry.writeTime != entry.writeTime) {
+							return cachedEntry;
+						}
+
+						return (refreshedValue != null) ? new Entry<>(refreshedValue, ticker.getAsLong()) : null;
+					});
+				} catch (RuntimeException e) {
+					recordLoad(false, ticker.getAsLong() - loadStartTime);
+					log.error("Error when refreshing cached value on key={}: {}", key, e.getMessage(), e);
+				} finally {
+					refreshingKeys.remove(key);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			refreshingKeys.remove(key);
+		}
+	}
+
+	private void recordLoad(boolean isLoaded, long loadTime) {
+		if (isLoaded) {
+			cache.stats().recordLoadSuccess(loadTime);
+		} else {
+			cache.stats().recordLoadFailure(loadTime);
+		}
+	}
+
+	/**
+	 * 
+	 * Adapt weigher of V values to weigher of stored entries.
+	 * 
+	 * @param <K>     key on which V value storing in cache.
+	 * @param <V>     value that storing in cache.
+	 * @param weigher of V values.
+	 * @return weigher of entries with V values.
+	 */
+	public static <K, V> Weigher<K, Entry<V>> entryWeigher(Weigher<K, V> weigher) {
+		return (key, entry) -> weigher.weigh(key, entry.value);
+	}
+
+	/**
+	 * 
+	 * Adapt codec of V values to codec of stored entries. Time of writing is
+	 * encoded before value.
+	 * 
+	 * @param <V>   value that storing in cache.
+	 * @param codec of V values.
+	 * @return codec of entries with V values.
+	 */
+	public static <V> Codec<Entry<V>> entryCodec(Codec<V> codec) {
+		return new Codec<>() {
+
+			@Override
+			public byte[] encode(Entry<V> entry) {
+				byte[] encodedValue = codec.encode(entry.value);
+
+				return ByteBuffer.allocate(Long.BYTES + encodedValue.length)
+						         .putLong(entry.writeTime)
+						         .put(encodedValue)
+						         .array();
+			}
+
+			@Override
+			public Entry<V> decode(ByteBuffer buffer) {
+				long writeTime = buffer.getLong();
+
+				return new Entry<>(codec.decode(buffer), writeTime);
+			}
+
+		};
+	}
+
+	/**
+	 * 
+	 * Stored V value with time of its writing.
+	 * 
+	 * @param <V> value that storing in cache.
+	 */
+	public static final class Entry<V> {
+		private final V value;
+		private final long writeTime;
+
+		private Entry(V value, long writeTime) {
+			this.value = value;
+			this.writeTime = writeTime;
+		}
+	}
+
+}
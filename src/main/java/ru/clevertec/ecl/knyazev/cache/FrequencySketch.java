@@ -0,0 +1,109 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+/**
+ * 
+ * Count-min sketch for estimating popularity of K keys. Sketch uses four
+ * rows of 4-bit counters packed in long array, so frequency is estimated as
+ * minimum of four counters and can't be bigger than 15.
+ * 
+ * To keep sketch fresh all counters are halved when quantity of increments
+ * reaches sample size (ten times of maximum cache size). So keys that were
+ * popular long ago are forgotten over time.
+ * 
+ * @author Vitya Knyazev
+ * 
+ * @param <K> key which frequency is estimating.
+ */
+class FrequencySketch<K> {
+	private static final long[] SEEDS = {
+			0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+	};
+
+	private static final long RESET_MASK = 0x7777777777777777L;
+	private static final int MAX_FREQUENCY = 15;
+
+	private final long[] table;
+	private final int tableMask;
+
+	private final int sampleSize;
+	private int additions;
+
+	FrequencySketch(int maximumSize) {
+		int tableSize = Integer.highestOneBit(Math.max(maximumSize, 8) - 1) << 1;
+
+		table = new long[tableSize];
+		tableMask = tableSize - 1;
+
+		sampleSize = 10 * Math.max(maximumSize, 1);
+	}
+
+	/**
+	 * 
+	 * Estimate frequency of K key.
+	 * 
+	 * @param key which frequency is estimating.
+	 * @return estimated frequency from 0 to 15.
+	 */
+	int frequency(K key) {
+		int hash = spread(key.hashCode());
+		int frequency = MAX_FREQUENCY;
+
+		for (int row = 0; row < SEEDS.length; row++) {
+			frequency = Math.min(frequency, counter(hash, row));
+		}
+
+		return frequency;
+	}
+
+	/**
+	 * 
+	 * Increment counters of K key. When sample size is reached all counters are halved.
+	 * 
+	 * @param key which frequency is incrementing.
+	 */
+	void increment(K key) {
+		int hash = spread(key.hashCode());
+		boolean added = false;
+
+		for (int row = 0; row < SEEDS.length; row++) {
+			if (counter(hash, row) < MAX_FREQUENCY) {
+				table[indexOf(hash, row)] += 1L << shiftOf(hash, row);
+				added = true;
+			}
+		}
+
+		if (added && ++additions >= sampleSize) {
+			reset();
+		}
+	}
+
+	private void reset() {
+		for (int i = 0; i < table.length; i++) {
+			table[i] = (table[i] >>> 1) & RESET_MASK;
+		}
+
+		additions >>>= 1;
+	}
+
+	private int counter(int hash, int row) {
+		return (int) ((table[indexOf(hash, row)] >>> shiftOf(hash, row)) & MAX_FREQUENCY);
+	}
+
+	private int indexOf(int hash, int row) {
+		long rowHash = (hash + SEEDS[row]) * SEEDS[row];
+		rowHash += (rowHash >>> 32);
+
+		return ((int) rowHash) & tableMask;
+	}
+
+	private int shiftOf(int hash, int row) {
+		return ((hash >>> (row << 2)) & 15) << 2;
+	}
+
+	private int spread(int hash) {
+		hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+		hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+		return (hash >>> 16) ^ hash;
+	}
+
+}
@@ -8,33 +8,85 @@ import java.util.Map;
  * Current class is a realization of LFU caching mechanism. Value is in cache
  * while quantity of using of current value is bigger than quantity of using of
  * others values. When frequency of using becomes the lowest, value will be
- * deleted from cache.
+ * deleted from cache. Among values with the same lowest frequency the least
+ * recently used one is deleted.
  * 
- * For correct algorithm work in classes of types K,V that are used in LFUCache
+ * Every K key is indexed to its node. Nodes with the same frequency are kept
+ * in a bucket (doubly linked list from the most recently used to the least
+ * recently used node) and buckets are kept in a doubly linked list ordered by
+ * frequency. So getting, putting, evicting and removing are constant time
+ * operations and V values are never hashed or compared with each other.
+ * 
+ * Cache can be additionally bounded by weight of elements calculated by
+ * weigher. Then the least frequently used elements are deleted until cache
+ * weight is under maximum cache weight.
+ * 
+ * For correct algorithm work in classes of type K that are used in LFUCache
  * must be overriding equals and hashcode methods.
  * 
  * @author Vitya Knyazev
- *
+ * 
  * @param <K> key on which V value storing in cache.
  * @param <V> value that storing in cache.
  */
 public class LFUCache<K, V> implements Cache<K, V> {
 	private final Integer maxCacheSize;
+	private final Long maxCacheWeight;
+	private final Weigher<K, V> weigher;
+	private final CacheStats stats;
+
+	private Map<K, Node<K, V>> lfuCache;
+	private long cacheWeight;
 
-	private Map<K, V> lfuCache;
-	private Map<V, Integer> cacheElCounter;
+	private Bucket<K, V> lowestBucket;
+	private Bucket<K, V> spareBucket;
 
 	public LFUCache(Integer maxCacheSize) {
+		this(maxCacheSize, null, null);
+	}
+
+	public LFUCache(Integer maxCacheSize, Long maxCacheWeight, Weigher<K, V> weigher) {
+		this(maxCacheSize, maxCacheWeight, weigher, null);
+	}
+
+	public LFUCache(Integer maxCacheSize, Long maxCacheWeight, Weigher<K, V> weigher, CacheStats stats) {
+		this(maxCacheSize, maxCacheWeight, weigher, stats, new HashMap<>());
+	}
+
+	private LFUCache(Integer maxCacheSize, Long maxCacheWeight, Weigher<K, V> weigher, CacheStats stats,
+			Map<K, Node<K, V>> index) {
 		this.maxCacheSize = (maxCacheSize <= 0) ? DEFAULT_CACHE_SIZE : maxCacheSize;
+		this.maxCacheWeight = (maxCacheWeight == null || maxCacheWeight <= 0L) ? Long.MAX_VALUE : maxCacheWeight;
+		this.weigher = (weigher == null) ? Weigher.singleton() : weigher;
+		this.stats = (stats == null) ? new CacheStats() : stats;
 
-		lfuCache = new HashMap<>();
-		cacheElCounter = new HashMap<>();
+		lfuCache = index;
+	}
+
+	/**
+	 * 
+	 * Create cache on Long keys which index is a primitive long keys map. Getting
+	 * and putting on existing key don't allocate memory.
+	 * 
+	 * @param <V>            value that storing in cache.
+	 * @param maxCacheSize   maximum quantity of elements in cache.
+	 * @param maxCacheWeight maximum weight of elements in cache or null.
+	 * @param weigher        calculates weight of element or null.
+	 * @param stats          statistics that cache records to or null.
+	 * @return cache on Long keys.
+	 */
+	static <V> LFUCache<Long, V> withLongKeys(Integer maxCacheSize, Long maxCacheWeight, Weigher<Long, V> weigher,
+			CacheStats stats) {
+		return new LFUCache<>(maxCacheSize, maxCacheWeight, weigher, stats,
+				new LongKeyMap<>((maxCacheSize == null || maxCacheSize <= 0) ? DEFAULT_CACHE_SIZE : maxCacheSize));
 	}
 
 	/**
 	 * 
 	 * Adding V value in cache on K key using LFU algorithm mechanism.
-	 * Counter of V value that added in cache becomes equals to zero. 
+	 * Counter of V value that added in cache becomes equals to zero.
+	 * When V value replaced on existing K key counter of K key is kept.
+	 * V value which weight is bigger than maximum cache weight is not cached.
 	 * 
 	 * 
 	 * @param <K> key on which V value storing in cache.
@@ -42,38 +94,44 @@ public class LFUCache<K, V> implements Cache<K, V> {
 	 */
 	@Override
 	public void put(K key, V value) {
-		Integer lfuCacheSize = lfuCache.size();
+		int weight = weigher.weigh(key, value);
 
-		if (lfuCache.containsKey(key)) {
-			V oldValue = lfuCache.get(key);
+		if (weight > maxCacheWeight) {
+			remove(key);
+			return;
+		}
 
-			if (!oldValue.equals(value)) {
-				lfuCache.replace(key, value);
-				replaceInCacheElCounter(oldValue, value);
-			}
+		Node<K, V> node = lfuCache.get(key);
+
+		if (node != null) {
+			cacheWeight += weight - node.weight;
+			node.value = value;
+			node.weight = weight;
 		} else {
-			if (lfuCacheSize < maxCacheSize) {
-				lfuCache.put(key, value);
-				cacheElCounter.put(value, 0);
-			} else {
-				V removingValue = cacheElCounter.entrySet().stream()
-						.sorted((e1, e2) -> Integer.compare(e1.getValue(), e2.getValue())).findFirst().get().getKey();
-				K removingKey = lfuCache.entrySet().stream().filter(entry -> entry.getValue().equals(removingValue))
-						.findFirst().get().getKey();
-
-				if (lfuCache.remove(removingKey, removingValue)) {
-					cacheElCounter.remove(removingValue);
-					lfuCache.put(key, value);
-					cacheElCounter.put(value, 0);
-				}
+			if (lfuCache.size() >= maxCacheSize) {
+				evict(null);
+			}
+
+			node = new Node<>(key, value, weight);
+			lfuCache.put(key, node);
+
+			if (lowestBucket == null || lowestBucket.frequency != 0) {
+				lowestBucket = insertBucketAfter(null, 0);
 			}
+
+			lowestBucket.addFirst(node);
+			cacheWeight += weight;
+		}
+
+		while (cacheWeight > maxCacheWeight) {
+			evict(node);
 		}
 	}
 
 	/**
 	 * 
 	 * Getting V value from cache on K key using LFU algorithm mechanism.
-	 * Counter of V value that got from cache increasing on one.  
+	 * Counter of V value that got from cache increasing on one.
 	 * 
 	 * 
 	 * @param <K> key on which V value getting from cache.
@@ -81,64 +139,246 @@ public class LFUCache<K, V> implements Cache<K, V> {
 	 */
 	@Override
 	public V get(K key) {
-		V value = null;
+		Node<K, V> node = lfuCache.get(key);
 
-		if (lfuCache.containsKey(key)) {
-			value = lfuCache.get(key);
-			increaseCacheElCounter(value);
+		if (node == null) {
+			stats.recordMiss();
+			return null;
 		}
 
-		return value;
+		stats.recordHit();
+
+		increaseFrequency(node);
+
+		return node.value;
 	}
 
 	/**
 	 * 
-	 * Remove V value from cache on K key. 
-	 * V value also removing from counter.
+	 * Remove V value from cache on K key.
+	 * Node of V value also removing from its frequency bucket.
 	 * 
-	 * @param <K> key on which removing V value stored in cache. 
+	 * @param <K> key on which removing V value stored in cache.
 	 */
 	@Override
 	public void remove(K key) {
-		if (lfuCache.containsKey(key)) {
-			V removedValue = lfuCache.remove(key);
-			cacheElCounter.remove(removedValue);
+		Node<K, V> node = lfuCache.remove(key);
+
+		if (node != null) {
+			unlinkFromBucket(node);
+			cacheWeight -= node.weight;
 		}
 	}
-	
+
+	@Override
+	public V peek(K key) {
+		Node<K, V> node = lfuCache.get(key);
+
+		return (node == null) ? null : node.value;
+	}
+
 	@Override
 	public Integer size() {
 		return lfuCache.size();
 	}
-	
+
 	@Override
 	public Boolean contains(K key) {
 		return lfuCache.containsKey(key);
 	}
-	
+
+	@Override
+	public Long weight() {
+		return cacheWeight;
+	}
+
+	@Override
+	public CacheStats stats() {
+		return stats;
+	}
+
 	/**
 	 * 
-	 * Replace V value in cacheElCounter with zero counter value.
+	 * Remove the least recently used node of the lowest frequency bucket.
+	 * Keeping node is never removed, next least frequently used node is
+	 * removed instead.
 	 * 
-	 * @param oldValue V that stored in cache counter.
-	 * @param newValue V value that saving in cache counter with zero counter.
+	 * @param keepingNode node that should stay in cache or null.
 	 */
-	private void replaceInCacheElCounter(V oldValue, V newValue) {
-		if (cacheElCounter.containsKey(oldValue)) {
-			cacheElCounter.remove(oldValue);
-			cacheElCounter.put(newValue, 0);
+	private void evict(Node<K, V> keepingNode) {
+		if (lowestBucket != null) {
+			Node<K, V> removingNode = lowestBucket.tail;
+
+			if (removingNode == keepingNode) {
+				removingNode = (removingNode.prev != null) ? removingNode.prev
+						: (lowestBucket.next != null) ? lowestBucket.next.tail : null;
+			}
+
+			if (removingNode != null) {
+				unlinkFromBucket(removingNode);
+				lfuCache.remove(removingNode.key);
+				cacheWeight -= removingNode.weight;
+				stats.recordEviction();
+			}
 		}
 	}
 
 	/**
 	 * 
-	 * Increase cacheElCounter counter of V value on one.
+	 * Move node to bucket with frequency increased on one. Node becomes the most
+	 * recently used in its new bucket. Bucket of single node is reused when there
+	 * is no bucket with increased frequency, so getting doesn't allocate memory.
 	 * 
-	 * @param value V which counter increasing  on one.
+	 * @param node which frequency increasing on one.
 	 */
-	private void increaseCacheElCounter(V value) {
-		Integer usageQuantity = cacheElCounter.get(value);
-		usageQuantity++;
-		cacheElCounter.replace(value, usageQuantity);
+	private void increaseFrequency(Node<K, V> node) {
+		Bucket<K, V> currentBucket = node.bucket;
+		int nextFrequency = currentBucket.frequency + 1;
+
+		Bucket<K, V> nextBucket = currentBucket.next;
+
+		if (nextBucket == null || nextBucket.frequency != nextFrequency) {
+
+			if (currentBucket.head == node && currentBucket.tail == node) {
+				currentBucket.frequency = nextFrequency;
+				return;
+			}
+
+			nextBucket = insertBucketAfter(currentBucket, nextFrequency);
+		}
+
+		unlinkFromBucket(node);
+		nextBucket.addFirst(node);
 	}
+
+	/**
+	 * 
+	 * Unlink node from its bucket. Empty bucket is unlinking from buckets list.
+	 * 
+	 * @param node that unlinking from bucket.
+	 */
+	private void unlinkFromBucket(Node<K, V> node) {
+		Bucket<K, V> bucket = node.bucket;
+		bucket.unlink(node);
+
+		if (bucket.head == null) {
+			if (bucket.prev != null) {
+				bucket.prev.next = bucket.next;
+			} else {
+				lowestBucket = bucket.next;
+			}
+
+			if (bucket.next != null) {
+				bucket.next.prev = bucket.prev;
+			}
+
+			bucket.prev = null;
+			bucket.next = null;
+			spareBucket = bucket;
+		}
+	}
+
+	/**
+	 * 
+	 * Create bucket for given frequency and insert it after given bucket or as
+	 * the lowest bucket when given bucket is null. The last unlinked empty bucket
+	 * is reused instead of creating new one.
+	 * 
+	 * @param previous bucket after which new bucket inserting or null.
+	 * @param frequency of new bucket.
+	 * @return created bucket
+	 */
+	private Bucket<K, V> insertBucketAfter(Bucket<K, V> previous, int frequency) {
+		Bucket<K, V> bucket = (spareBucket != null) ? spareBucket : new Bucket<>(frequency);
+
+		spareBucket = null;
+		bucket.frequency = frequency;
+		bucket.prev = previous;
+
+		if (previous != null) {
+			bucket.next = previous.next;
+			previous.next = bucket;
+		} else {
+			bucket.next = lowestBucket;
+			lowestBucket = bucket;
+		}
+
+		if (bucket.next != null) {
+			bucket.next.prev = bucket;
+		}
+
+		return bucket;
+	}
+
+	private static final class Node<K, V> {
+		private final K key;
+		private V value;
+		private int weight;
+
+		private Bucket<K, V> bucket;
+
+		private Node<K, V> prev;
+		private Node<K, V> next;
+
+		private Node(K key, V value, int weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * 
+	 * Doubly linked list of nodes with the same frequency from the most
+	 * recently used (head) to the least recently used (tail).
+	 * 
+	 */
+	private static final class Bucket<K, V> {
+		private int frequency;
+
+		private Node<K, V> head;
+		private Node<K, V> tail;
+
+		private Bucket<K, V> prev;
+		private Bucket<K, V> next;
+
+		private Bucket(int frequency) {
+			this.frequency = frequency;
+		}
+
+		private void addFirst(Node<K, V> node) {
+			node.bucket = this;
+			node.prev = null;
+			node.next = head;
+
+			if (head != null) {
+				head.prev = node;
+			}
+
+			head = node;
+
+			if (tail == null) {
+				tail = node;
+			}
+		}
+
+		private void unlink(Node<K, V> node) {
+			if (node.prev != null) {
+				node.prev.next = node.next;
+			} else {
+				head = node.next;
+			}
+
+			if (node.next != null) {
+				node.next.prev = node.prev;
+			} else {
+				tail = node.prev;
+			}
+
+			node.prev = null;
+			node.next = null;
+			node.bucket = null;
+		}
+	}
+
 }
@@ -1,9 +1,6 @@
 package ru.clevertec.ecl.knyazev.cache;
 
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.ListIterator;
 import java.util.Map;
 
 /**
@@ -12,32 +9,81 @@ import java.util.Map;
  * while using. When it becomes "old" than V value and K key will be deleted from
  * cache.
  * 
- * For correct algorithm work in classes of types K,V that are used in LRUCache
+ * Every K key is indexed to its node of doubly linked list that keeps nodes
+ * from the most "young" (head) to the most "old" (tail). So getting, putting,
+ * evicting and removing are constant time operations and V values are never
+ * compared with each other.
+ * 
+ * Cache can be additionally bounded by weight of elements calculated by
+ * weigher. Then the most "old" elements are deleted until cache weight is under
+ * maximum cache weight.
+ * 
+ * For correct algorithm work in classes of type K that are used in LRUCache
  * must be overriding equals and hashcode methods.
  * 
  * @author Vitya Knyazev
- *
+ * 
  * @param <K> key on which V value storing in cache.
  * @param <V> value that storing in cache.
  */
 public class LRUCache<K, V> implements Cache<K, V> {
 	private final Integer maxCacheSize;
+	private final Long maxCacheWeight;
+	private final Weigher<K, V> weigher;
+	private final CacheStats stats;
+
+	private Map<K, Node<K, V>> lruCache;
+	private long cacheWeight;
 
-	private Map<K, V> lruCache;
-	private LinkedList<V> cacheOld;
+	private Node<K, V> head;
+	private Node<K, V> tail;
 
 	public LRUCache(Integer maxCacheSize) {
+		this(maxCacheSize, null, null);
+	}
+
+	public LRUCache(Integer maxCacheSize, Long maxCacheWeight, Weigher<K, V> weigher) {
+		this(maxCacheSize, maxCacheWeight, weigher, null);
+	}
+
+	public LRUCache(Integer maxCacheSize, Long maxCacheWeight, Weigher<K, V> weigher, CacheStats stats) {
+		this(maxCacheSize, maxCacheWeight, weigher, stats, new HashMap<>());
+	}
+
+	private LRUCache(Integer maxCacheSize, Long maxCacheWeight, Weigher<K, V> weigher, CacheStats stats,
+			Map<K, Node<K, V>> index) {
 		this.maxCacheSize = (maxCacheSize <= 0) ? DEFAULT_CACHE_SIZE : maxCacheSize;
+		this.maxCacheWeight = (maxCacheWeight == null || maxCacheWeight <= 0L) ? Long.MAX_VALUE : maxCacheWeight;
+		this.weigher = (weigher == null) ? Weigher.singleton() : weigher;
+		this.stats = (stats == null) ? new CacheStats() : stats;
+
+		lruCache = index;
+	}
 
-		lruCache = new HashMap<>();
-		cacheOld = new LinkedList<>();
+	/**
+	 * 
+	 * Create cache on Long keys which index is a primitive long keys map. Getting
+	 * and putting on existing key don't allocate memory.
+	 * 
+	 * @param <V>            value that storing in cache.
+	 * @param maxCacheSize   maximum quantity of elements in cache.
+	 * @param maxCacheWeight maximum weight of elements in cache or null.
+	 * @param weigher        calculates weight of element or null.
+	 * @param stats          statistics that cache records to or null.
+	 * @return cache on Long keys.
+	 */
+	static <V> LRUCache<Long, V> withLongKeys(Integer maxCacheSize, Long maxCacheWeight, Weigher<Long, V> weigher,
+			CacheStats stats) {
+		return new LRUCache<>(maxCacheSize, maxCacheWeight, weigher, stats,
+				new LongKeyMap<>((maxCacheSize == null || maxCacheSize <= 0) ? DEFAULT_CACHE_SIZE : maxCacheSize));
 	}
 
-	
+
 	/**
 	 * 
 	 * Adding V value in cache on K key using LRU algorithm mechanism.
-	 * V value that added in cache becomes the most young value. 
+	 * V value that added in cache becomes the most young value.
+	 * V value which weight is bigger than maximum cache weight is not cached.
 	 * 
 	 * 
 	 * @param <K> key on which V value storing in cache.
@@ -45,35 +91,40 @@ public class LRUCache<K, V> implements Cache<K, V> {
 	 */
 	@Override
 	public void put(K key, V value) {
-		Integer lruCacheSize = lruCache.size();
+		int weight = weigher.weigh(key, value);
+
+		if (weight > maxCacheWeight) {
+			remove(key);
+			return;
+		}
 
-		if (lruCache.containsKey(key)) {
-			V oldValue = lruCache.get(key);
+		Node<K, V> node = lruCache.get(key);
 
-			if (!oldValue.equals(value)) {
-				lruCache.replace(key, value);
-				replaceValueInCacheOld(oldValue, value);
-			}
+		if (node != null) {
+			cacheWeight += weight - node.weight;
+			node.value = value;
+			node.weight = weight;
+			moveToHead(node);
 		} else {
-			if (lruCacheSize < maxCacheSize) {
-				lruCache.put(key, value);
-				cacheOld.addFirst(value);
-			} else {
-				V oldValue = cacheOld.removeLast();
-				K oldKey = lruCache.entrySet().stream().filter(entry -> entry.getValue().equals(oldValue))
-						.map(entry -> entry.getKey()).findFirst().get();
-				if (lruCache.remove(oldKey, oldValue)) {
-					lruCache.put(key, value);
-					cacheOld.addFirst(value);
-				}
+			if (lruCache.size() >= maxCacheSize) {
+				evict();
 			}
+
+			node = new Node<>(key, value, weight);
+			lruCache.put(key, node);
+			addToHead(node);
+			cacheWeight += weight;
+		}
+
+		while (cacheWeight > maxCacheWeight) {
+			evict();
 		}
 	}
 
 	/**
 	 * 
 	 * Getting V value from cache on K key using LRU algorithm mechanism.
-	 * V value that got from cache becomes the most young value.  
+	 * V value that got from cache becomes the most young value.
 	 * 
 	 * 
 	 * @param <K> key on which V value getting from cache.
@@ -81,107 +132,145 @@ public class LRUCache<K, V> implements Cache<K, V> {
 	 */
 	@Override
 	public V get(K key) {
-		V value = null;
+		Node<K, V> node = lruCache.get(key);
 
-		if (lruCache.containsKey(key)) {
-			value = lruCache.get(key);
-			rebaseCacheOld(value);
+		if (node == null) {
+			stats.recordMiss();
+			return null;
 		}
 
-		return value;
+		stats.recordHit();
+
+		moveToHead(node);
+
+		return node.value;
 	}
 
 	/**
 	 * 
-	 * Remove V value from cache on K key. 
-	 * V value also removing from cache old linked list.
+	 * Remove V value from cache on K key.
+	 * Node of V value also unlinking from cache old linked list.
 	 * 
-	 * @param <K> key on which removing V value stored in cache. 
+	 * @param <K> key on which removing V value stored in cache.
 	 */
 	@Override
 	public void remove(K key) {
+		Node<K, V> node = lruCache.remove(key);
 
-		if (lruCache.containsKey(key)) {
-			V removedValue = lruCache.remove(key);
-
-			if (cacheOld.getLast().equals(removedValue)) {
-				cacheOld.removeLast();
-			} else {
-				Iterator<V> cacheOldIterator = cacheOld.iterator();
-
-				while (cacheOldIterator.hasNext()) {
+		if (node != null) {
+			unlink(node);
+			cacheWeight -= node.weight;
+		}
+	}
 
-					if (cacheOldIterator.next().equals(removedValue)) {
-						cacheOldIterator.remove();
-						break;
-					}
-				}
+	@Override
+	public V peek(K key) {
+		Node<K, V> node = lruCache.get(key);
 
-			}
-		}
-		
+		return (node == null) ? null : node.value;
 	}
-	
+
 	@Override
 	public Integer size() {
 		return lruCache.size();
 	}
-	
+
 	@Override
 	public Boolean contains(K key) {
 		return lruCache.containsKey(key);
 	}
 
+	@Override
+	public Long weight() {
+		return cacheWeight;
+	}
+
+	@Override
+	public CacheStats stats() {
+		return stats;
+	}
+
 	/**
 	 * 
-	 * Replace value in time cache when value changing on existing K key.
+	 * Remove the most "old" node (tail) from cache.
 	 * 
-	 * @param oldValue V value that will be replaced
-	 * @param newValue V value is a new value that'll be storing.
 	 */
-	private void replaceValueInCacheOld(V oldValue, V newValue) {
+	private void evict() {
+		Node<K, V> oldNode = tail;
 
-		if (cacheOld.getLast().equals(oldValue)) {
-			cacheOld.removeLast();
-		} else {
-			Iterator<V> cacheOldIterator = cacheOld.iterator();
+		if (oldNode != null) {
+			unlink(oldNode);
+			lruCache.remove(oldNode.key);
+			cacheWeight -= oldNode.weight;
+			stats.recordEviction();
+		}
+	}
 
-			while (cacheOldIterator.hasNext()) {
+	/**
+	 * 
+	 * Rebasing node of used V value to the head of linked list. Than value
+	 * becomes the most "young".
+	 * 
+	 * @param node that should be moved to the head of linked list
+	 */
+	private void moveToHead(Node<K, V> node) {
+		if (node != head) {
+			unlink(node);
+			addToHead(node);
+		}
+	}
 
-				if (cacheOldIterator.next().equals(oldValue)) {
-					cacheOldIterator.remove();
-					break;
-				}
-			}
+	private void addToHead(Node<K, V> node) {
+		node.prev = null;
+		node.next = head;
 
+		if (head != null) {
+			head.prev = node;
 		}
 
-		cacheOld.addFirst(newValue);
+		head = node;
+
+		if (tail == null) {
+			tail = node;
+		}
+	}
+
+	private void unlink(Node<K, V> node) {
+		if (node.prev != null) {
+			node.prev.next = node.next;
+		} else {
+			head = node.next;
+		}
+
+		if (node.next != null) {
+			node.next.prev = node.prev;
+		} else {
+			tail = node.prev;
+		}
+
+		node.prev = null;
+		node.next = null;
 	}
 
 	/**
 	 * 
-	 * Rebasing time cache when using V value that saving in cache. Than value
-	 * becomes "younger".
+	 * Node of doubly linked list that keeps K key for evicting from index
+	 * without searching it by V value.
 	 * 
-	 * @param value V that should be moved to the head of cache as the most "young"
 	 */
-	private void rebaseCacheOld(V value) {
-		if (cacheOld.getLast().equals(value)) {
-			cacheOld.removeLast();
-		} else {
-			ListIterator<V> cacheOldIterator = cacheOld.listIterator();
+	private static final class Node<K, V> {
+		private final K key;
+		private V value;
+		private int weight;
 
-			while (cacheOldIterator.hasNext()) {
+		private Node<K, V> prev;
+		private Node<K, V> next;
 
-				if (value.equals(cacheOldIterator.next())) {
-					cacheOldIterator.remove();
-					break;
-				}
-			}
+		private Node(K key, V value, int weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
 		}
-
-		cacheOld.addFirst(value);
 	}
 
 }
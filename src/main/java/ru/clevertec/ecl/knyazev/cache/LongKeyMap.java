@@ -0,0 +1,262 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 
+ * Hash map on primitive long keys with open addressing (linear probing).
+ * Keys and values are kept in two parallel arrays, so there are no boxed keys
+ * and no entry objects: getting, putting and removing on long key don't
+ * allocate memory (except resizing). Removed entries are not marked but
+ * following entries are shifted back, so probing never passes through
+ * deleted slots.
+ * 
+ * Methods with Object keys are supported for using map as index of caches on
+ * Long keys. Null values are not allowed.
+ * 
+ * @author Vitya Knyazev
+ * 
+ * @param <V> value that storing on long key.
+ */
+final class LongKeyMap<V> extends AbstractMap<Long, V> {
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final int MAX_LOAD_PERCENTAGE = 60;
+
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	private long[] keys;
+	private Object[] values;
+
+	private int mask;
+	private int resizeThreshold;
+	private int size;
+
+	LongKeyMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	LongKeyMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 100 / MAX_LOAD_PERCENTAGE) - 1) << 1;
+
+		allocate(capacity);
+	}
+
+	@SuppressWarnings("unchecked")
+	V get(long key) {
+		int index = indexOf(key);
+
+		return (index < 0) ? null : (V) values[index];
+	}
+
+	@SuppressWarnings("unchecked")
+	V put(long key, V value) {
+		Objects.requireNonNull(value, "Error. Null values are not allowed");
+
+		int index = slotOf(key);
+
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				V oldValue = (V) values[index];
+				values[index] = value;
+				return oldValue;
+			}
+
+			index = (index + 1) & mask;
+		}
+
+		keys[index] = key;
+		values[index] = value;
+
+		if (++size > resizeThreshold) {
+			resize();
+		}
+
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	V remove(long key) {
+		int index = indexOf(key);
+
+		if (index < 0) {
+			return null;
+		}
+
+		V oldValue = (V) values[index];
+
+		shiftBack(index);
+		size--;
+
+		return oldValue;
+	}
+
+	boolean containsKey(long key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public V get(Object key) {
+		return (key instanceof Long longKey) ? get(longKey.longValue()) : null;
+	}
+
+	@Override
+	public V put(Long key, V value) {
+		return put(key.longValue(), value);
+	}
+
+	@Override
+	public V remove(Object key) {
+		return (key instanceof Long longKey) ? remove(longKey.longValue()) : null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof Long longKey) && containsKey(longKey.longValue());
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	@Override
+	public Set<Map.Entry<Long, V>> entrySet() {
+		return new EntrySet();
+	}
+
+	private int indexOf(long key) {
+		int index = slotOf(key);
+
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				return index;
+			}
+
+			index = (index + 1) & mask;
+		}
+
+		return -1;
+	}
+
+	private int slotOf(long key) {
+		long hash = key * HASH_MULTIPLIER;
+
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	/**
+	 * 
+	 * Fill slot of removed entry by following entries of the same probe
+	 * sequence. Entry is moved if its home slot is not cyclically between
+	 * empty slot and entry slot.
+	 * 
+	 * @param index of removed entry
+	 */
+	private void shiftBack(int index) {
+		int emptyIndex = index;
+		int currentIndex = index;
+
+		while (true) {
+			currentIndex = (currentIndex + 1) & mask;
+
+			if (values[currentIndex] == null) {
+				break;
+			}
+
+			int homeIndex = slotOf(keys[currentIndex]);
+
+			boolean isMovable = (emptyIndex < currentIndex) ? (homeIndex <= emptyIndex || homeIndex > currentIndex)
+					: (homeIndex <= emptyIndex && homeIndex > currentIndex);
+
+			if (isMovable) {
+				keys[emptyIndex] = keys[currentIndex];
+				values[emptyIndex] = values[currentIndex];
+				emptyIndex = currentIndex;
+			}
+		}
+
+		values[emptyIndex] = null;
+	}
+
+	private void resize() {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+
+		allocate(oldValues.length << 1);
+
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] != null) {
+				int index = slotOf(oldKeys[i]);
+
+				while (values[index] != null) {
+					index = (index + 1) & mask;
+				}
+
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		resizeThreshold = (int) ((long) capacity * MAX_LOAD_PERCENTAGE / 100);
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<Long, V>> {
+
+		@Override
+		public Iterator<Map.Entry<Long, V>> iterator() {
+			return new Iterator<>() {
+				private int index = nextIndex(0);
+
+				@Override
+				public boolean hasNext() {
+					return index < values.length;
+				}
+
+				@SuppressWarnings("unchecked")
+				@Override
+				public Map.Entry<Long, V> next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+
+					Map.Entry<Long, V> entry = new SimpleImmutableEntry<>(keys[index], (V) values[index]);
+					index = nextIndex(index + 1);
+
+					return entry;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		private int nextIndex(int index) {
+			while (index < values.length && values[index] == null) {
+				index++;
+			}
+
+			return index;
+		}
+	}
+
+}
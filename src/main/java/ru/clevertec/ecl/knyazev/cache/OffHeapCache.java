@@ -0,0 +1,244 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 
+ * Current class is a realization of caching mechanism that stores V values
+ * outside of java heap. Values are encoded by codec and written to direct
+ * byte buffer (arena) that is used as a circular log: every value is appended
+ * after the previous written value and when the end of arena is reached writing
+ * continues from the beginning. Only K keys and positions of values in arena
+ * are kept on heap, so cached values don't grow old generation and are not
+ * traversed by garbage collector. Value is decoded to a new V object on
+ * every getting.
+ * 
+ * When there is no free space for a new value the oldest written values are
+ * evicted (FIFO). Space of removed or replaced values is reused when writing
+ * reaches it again.
+ * 
+ * Cache weight is a sum of sizes of encoded values in bytes. Arena is
+ * allocated with cache creation and is bounded by -XX:MaxDirectMemorySize.
+ * 
+ * For correct algorithm work in classes of type K that are used in
+ * OffHeapCache must be overriding equals and hashcode methods.
+ * 
+ * @author Vitya Knyazev
+ * 
+ * @param <K> key on which V value storing in cache.
+ * @param <V> value that storing in cache.
+ */
+public class OffHeapCache<K, V> implements Cache<K, V> {
+	static final int DEFAULT_ARENA_CAPACITY = 1 << 20;
+
+	private final Integer maxCacheSize;
+	private final Codec<V> codec;
+	private final CacheStats stats;
+
+	private final ByteBuffer arena;
+
+	private Map<K, Slot<K>> offHeapCache;
+	private Deque<Slot<K>> writtenSlots;
+
+	private int writeOffset;
+	private long cacheWeight;
+
+	public OffHeapCache(Integer maxCacheSize, Long arenaCapacity, Codec<V> codec) {
+		this(maxCacheSize, arenaCapacity, codec, null);
+	}
+
+	/**
+	 * 
+	 * Create off-heap cache.
+	 * 
+	 * @param maxCacheSize  maximum quantity of elements in cache.
+	 * @param arenaCapacity size of arena in bytes (not bigger than 2GB). Null or
+	 *                      not positive capacity means default capacity 1MB.
+	 * @param codec         encodes and decodes V values.
+	 * @param stats         statistics that cache records to or null.
+	 */
+	public OffHeapCache(Integer maxCacheSize, Long arenaCapacity, Codec<V> codec, CacheStats stats) {
+		this.maxCacheSize = (maxCacheSize == null || maxCacheSize <= 0) ? DEFAULT_CACHE_SIZE : maxCacheSize;
+		this.codec = codec;
+		this.stats = (stats == null) ? new CacheStats() : stats;
+
+		arena = ByteBuffer.allocateDirect((arenaCapacity == null || arenaCapacity <= 0L) ? DEFAULT_ARENA_CAPACITY
+				: (int) Math.min(arenaCapacity, Integer.MAX_VALUE));
+
+		offHeapCache = new HashMap<>();
+		writtenSlots = new ArrayDeque<>();
+	}
+
+	/**
+	 * 
+	 * Adding encoded V value in arena on K key. Previous value on K key is
+	 * removed. V value which encoded size is bigger than arena capacity is not
+	 * cached.
+	 * 
+	 * @param <K> key on which V value storing in cache.
+	 * @param <V> value that storing in cache.
+	 */
+	@Override
+	public void put(K key, V value) {
+		byte[] encodedValue = codec.encode(value);
+
+		remove(key);
+
+		if (encodedValue.length > arena.capacity()) {
+			return;
+		}
+
+		while (offHeapCache.size() >= maxCacheSize) {
+			evict();
+		}
+
+		Slot<K> slot = new Slot<>(key, allocate(encodedValue.length), encodedValue.length);
+
+		arena.put(slot.offset, encodedValue);
+
+		offHeapCache.put(key, slot);
+		writtenSlots.addLast(slot);
+		cacheWeight += slot.length;
+	}
+
+	/**
+	 * 
+	 * Getting V value decoded from arena on K key.
+	 * 
+	 * @param <K> key on which V value getting from cache.
+	 * @return <V> new decoded value or null.
+	 */
+	@Override
+	public V get(K key) {
+		Slot<K> slot = offHeapCache.get(key);
+
+		if (slot == null) {
+			stats.recordMiss();
+			return null;
+		}
+
+		stats.recordHit();
+
+		return codec.decode(arena.slice(slot.offset, slot.length));
+	}
+
+	@Override
+	public void remove(K key) {
+		Slot<K> slot = offHeapCache.remove(key);
+
+		if (slot != null) {
+			cacheWeight -= slot.length;
+		}
+	}
+
+	@Override
+	public V peek(K key) {
+		Slot<K> slot = offHeapCache.get(key);
+
+		return (slot == null) ? null : codec.decode(arena.slice(slot.offset, slot.length));
+	}
+
+	@Override
+	public Integer size() {
+		return offHeapCache.size();
+	}
+
+	@Override
+	public Boolean contains(K key) {
+		return offHeapCache.containsKey(key);
+	}
+
+	/**
+	 * 
+	 * Get cache weight - sum of sizes of encoded values in bytes.
+	 * 
+	 * @return cache weight.
+	 */
+	@Override
+	public Long weight() {
+		return cacheWeight;
+	}
+
+	@Override
+	public CacheStats stats() {
+		return stats;
+	}
+
+	/**
+	 * 
+	 * Find free space for value in arena. The oldest written slots are freed
+	 * until value fits after the newest slot or at the beginning of arena.
+	 * 
+	 * @param length of encoded value in bytes.
+	 * @return offset of value in arena.
+	 */
+	private int allocate(int length) {
+		while (true) {
+			Slot<K> oldestSlot = writtenSlots.peekFirst();
+
+			if (oldestSlot == null) {
+				writeOffset = 0;
+				break;
+			}
+
+			boolean isWrapped = writtenSlots.peekLast().offset < oldestSlot.offset;
+
+			if (isWrapped) {
+				if (oldestSlot.offset - writeOffset >= length) {
+					break;
+				}
+			} else if (arena.capacity() - writeOffset >= length) {
+				break;
+			} else if (oldestSlot.offset >= length) {
+				writeOffset = 0;
+				break;
+			}
+
+			evict();
+		}
+
+		int offset = writeOffset;
+		writeOffset += length;
+
+		return offset;
+	}
+
+	/**
+	 * 
+	 * Free the oldest written slot. If slot keeps actual value on its key
+	 * value is evicted from cache.
+	 * 
+	 */
+	private void evict() {
+		Slot<K> oldestSlot = writtenSlots.pollFirst();
+
+		if (oldestSlot != null && offHeapCache.get(oldestSlot.key) == oldestSlot) {
+			offHeapCache.remove(oldestSlot.key);
+			cacheWeight -= oldestSlot.length;
+			stats.recordEviction();
+		}
+	}
+
+	/**
+	 * 
+	 * Position of encoded value in arena that keeps K key for evicting from
+	 * index.
+	 * 
+	 */
+	private static final class Slot<K> {
+		private final K key;
+		private final int offset;
+		private final int length;
+
+		private Slot(K key, int offset, int length) {
+			this.key = key;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+}
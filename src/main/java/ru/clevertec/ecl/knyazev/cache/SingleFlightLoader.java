@@ -0,0 +1,123 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 
+ * Current class loads V values on K keys that are absent in cache so that
+ * only one thread loads value on the same key at the same time (single
+ * flight). Other threads that need value on this key wait for result of the
+ * loading thread instead of loading it once again, so eviction of popular
+ * value doesn't cause a stampede of identical loadings.
+ * 
+ * Waiting is bounded by wait timeout. When timeout is over waiting thread
+ * loads value itself. Exception of loading thread is thrown in all waiting
+ * threads.
+ * 
+ * For correct algorithm work in classes of type K that are used in
+ * SingleFlightLoader must be overriding equals and hashcode methods.
+ * 
+ * @author Vitya Knyazev
+ * 
+ * @param <K> key on which V value is loading.
+ * @param <V> value that is loading.
+ */
+@Slf4j
+public class SingleFlightLoader<K, V> {
+
+	public static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(5L);
+
+	private final ConcurrentMap<K, CompletableFuture<V>> loadings = new ConcurrentHashMap<>();
+
+	private final long waitTimeoutNanos;
+
+	public SingleFlightLoader() {
+		this(null);
+	}
+
+	/**
+	 * 
+	 * Create single flight loader.
+	 * 
+	 * @param waitTimeout maximum time of waiting result of loading thread. Null
+	 *                    or not positive timeout means default wait timeout.
+	 */
+	public SingleFlightLoader(Duration waitTimeout) {
+		waitTimeoutNanos = (waitTimeout == null || waitTimeout.isNegative() || waitTimeout.isZero())
+				? DEFAULT_WAIT_TIMEOUT.toNanos()
+				: waitTimeout.toNanos();
+	}
+
+	/**
+	 * 
+	 * Load V value on K key by loader or wait for result of thread that is
+	 * already loading value on the same key.
+	 * 
+	 * @param key    on which V value is loading.
+	 * @param loader loads V value on K key, null result means that value is
+	 *               absent.
+	 * @return loaded V value or null.
+	 * @throws Throwable if loading failed.
+	 */
+	public V load(K key, Loader<K, V> loader) throws Throwable {
+		CompletableFuture<V> loading = new CompletableFuture<>();
+		CompletableFuture<V> currentLoading = loadings.putIfAbsent(key, loading);
+
+		if (currentLoading != null) {
+			return await(key, currentLoading, loader);
+		}
+
+		try {
+			V value = loader.load(key);
+			loading.complete(value);
+			return value;
+		} catch (Throwable e) {
+			loading.completeExceptionally(e);
+			throw e;
+		} finally {
+			loadings.remove(key, loading);
+		}
+	}
+
+	/**
+	 * 
+	 * Get quantity of keys on which values are loading now.
+	 * 
+	 * @return quantity of loadings.
+	 */
+	public int loadingsQuantity() {
+		return loadings.size();
+	}
+
+	private V await(K key, CompletableFuture<V> loading, Loader<K, V> loader) throws Throwable {
+		try {
+			return loading.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		} catch (TimeoutException e) {
+			log.warn("Waiting of value loading on key={} timed out. Value is loading once again", key);
+			return loader.load(key);
+		}
+	}
+
+	/**
+	 * 
+	 * Loader of V value on K key.
+	 * 
+	 * @param <K> key on which V value is loading.
+	 * @param <V> value that is loading.
+	 */
+	@FunctionalInterface
+	public interface Loader<K, V> {
+		V load(K key) throws Throwable;
+	}
+
+}
@@ -0,0 +1,379 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 
+ * Current class is a realization of W-TinyLFU caching mechanism. Cache is
+ * divided on small admission window (LRU, 1% of cache size) and main region
+ * (segmented LRU: probation and protected segments).
+ * 
+ * New V value always goes to admission window. Value evicted from window is a
+ * candidate for main region and it is admitted only when its estimated
+ * frequency is bigger than frequency of main region victim (the oldest value
+ * of probation segment). Frequencies of K keys are estimated by count-min
+ * sketch that counts all accesses, including misses. Value that was used again
+ * in probation segment is promoted to protected segment.
+ * 
+ * So long scans of rarely used values pass through window and don't flush
+ * frequently used values from main region.
+ * 
+ * Cache can be additionally bounded by weight of elements calculated by
+ * weigher. Then elements are deleted from probation, protected and window
+ * regions (the oldest first) until cache weight is under maximum cache weight.
+ * 
+ * For correct algorithm work in classes of type K that are used in
+ * TinyLFUCache must be overriding equals and hashcode methods.
+ * 
+ * @author Vitya Knyazev
+ * 
+ * @param <K> key on which V value storing in cache.
+ * @param <V> value that storing in cache.
+ */
+public class TinyLFUCache<K, V> implements Cache<K, V> {
+	private static final double PROTECTED_PERCENTAGE = 0.8d;
+
+	private final Integer maxCacheSize;
+	private final int maxWindowSize;
+	private final int maxMainSize;
+	private final int maxProtectedSize;
+	private final Long maxCacheWeight;
+	private final Weigher<K, V> weigher;
+	private final CacheStats stats;
+
+	private Map<K, Node<K, V>> tinyLfuCache;
+	private long cacheWeight;
+
+	private FrequencySketch<K> sketch;
+
+	private AccessQueue<K, V> window;
+	private AccessQueue<K, V> probation;
+	private AccessQueue<K, V> protectedSegment;
+
+	public TinyLFUCache(Integer maxCacheSize) {
+		this(maxCacheSize, null, null);
+	}
+
+	public TinyLFUCache(Integer maxCacheSize, Long maxCacheWeight, Weigher<K, V> weigher) {
+		this(maxCacheSize, maxCacheWeight, weigher, null);
+	}
+
+	public TinyLFUCache(Integer maxCacheSize, Long maxCacheWeight, Weigher<K, V> weigher, CacheStats stats) {
+		this(maxCacheSize, maxCacheWeight, weigher, stats, new HashMap<>());
+	}
+
+	private TinyLFUCache(Integer maxCacheSize, Long maxCacheWeight, Weigher<K, V> weigher, CacheStats stats,
+			Map<K, Node<K, V>> index) {
+		this.maxCacheSize = (maxCacheSize <= 0) ? DEFAULT_CACHE_SIZE : maxCacheSize;
+		this.maxCacheWeight = (maxCacheWeight == null || maxCacheWeight <= 0L) ? Long.MAX_VALUE : maxCacheWeight;
+		this.weigher = (weigher == null) ? Weigher.singleton() : weigher;
+		this.stats = (stats == null) ? new CacheStats() : stats;
+
+		maxWindowSize = Math.max(1, this.maxCacheSize / 100);
+		maxMainSize = this.maxCacheSize - maxWindowSize;
+		maxProtectedSize = (int) (maxMainSize * PROTECTED_PERCENTAGE);
+
+		tinyLfuCache = index;
+		sketch = new FrequencySketch<>(this.maxCacheSize);
+
+		window = new AccessQueue<>(Region.WINDOW);
+		probation = new AccessQueue<>(Region.PROBATION);
+		protectedSegment = new AccessQueue<>(Region.PROTECTED);
+	}
+
+	/**
+	 * 
+	 * Create cache on Long keys which index is a primitive long keys map. Getting
+	 * and putting on existing key don't allocate memory.
+	 * 
+	 * @param <V>            value that storing in cache.
+	 * @param maxCacheSize   maximum quantity of elements in cache.
+	 * @param maxCacheWeight maximum weight of elements in cache or null.
+	 * @param weigher        calculates weight of element or null.
+	 * @param stats          statistics that cache records to or null.
+	 * @return cache on Long keys.
+	 */
+	static <V> TinyLFUCache<Long, V> withLongKeys(Integer maxCacheSize, Long maxCacheWeight, Weigher<Long, V> weigher,
+			CacheStats stats) {
+		return new TinyLFUCache<>(maxCacheSize, maxCacheWeight, weigher, stats,
+				new LongKeyMap<>((maxCacheSize == null || maxCacheSize <= 0) ? DEFAULT_CACHE_SIZE : maxCacheSize));
+	}
+
+	/**
+	 * 
+	 * Adding V value in cache on K key using W-TinyLFU algorithm mechanism.
+	 * New V value is added to admission window. Value on existing K key is
+	 * replaced without changing its region. V value which weight is bigger than
+	 * maximum cache weight is not cached.
+	 * 
+	 * 
+	 * @param <K> key on which V value storing in cache.
+	 * @param <V> value that storing in cache.
+	 */
+	@Override
+	public void put(K key, V value) {
+		int weight = weigher.weigh(key, value);
+
+		if (weight > maxCacheWeight) {
+			remove(key);
+			return;
+		}
+
+		Node<K, V> node = tinyLfuCache.get(key);
+
+		if (node != null) {
+			cacheWeight += weight - node.weight;
+			node.value = value;
+			node.weight = weight;
+		} else {
+			sketch.increment(key);
+
+			node = new Node<>(key, value, weight);
+			tinyLfuCache.put(key, node);
+			window.addFirst(node);
+			cacheWeight += weight;
+
+			if (window.size > maxWindowSize) {
+				admit(window.removeLast());
+			}
+		}
+
+		while (cacheWeight > maxCacheWeight) {
+			evict(node);
+		}
+	}
+
+	/**
+	 * 
+	 * Getting V value from cache on K key using W-TinyLFU algorithm mechanism.
+	 * Frequency of K key is increased even when value is absent. Value from
+	 * probation segment is promoted to protected segment.
+	 * 
+	 * 
+	 * @param <K> key on which V value getting from cache.
+	 * @return <V> value that getting from cache.
+	 */
+	@Override
+	public V get(K key) {
+		sketch.increment(key);
+
+		Node<K, V> node = tinyLfuCache.get(key);
+
+		if (node == null) {
+			stats.recordMiss();
+			return null;
+		}
+
+		stats.recordHit();
+
+		switch (node.queue.region) {
+		case WINDOW -> window.moveToFirst(node);
+		case PROBATION -> promote(node);
+		case PROTECTED -> protectedSegment.moveToFirst(node);
+		}
+
+		return node.value;
+	}
+
+	@Override
+	public void remove(K key) {
+		Node<K, V> node = tinyLfuCache.remove(key);
+
+		if (node != null) {
+			node.queue.unlink(node);
+			cacheWeight -= node.weight;
+		}
+	}
+
+	@Override
+	public V peek(K key) {
+		Node<K, V> node = tinyLfuCache.get(key);
+
+		return (node == null) ? null : node.value;
+	}
+
+	@Override
+	public Integer size() {
+		return tinyLfuCache.size();
+	}
+
+	@Override
+	public Boolean contains(K key) {
+		return tinyLfuCache.containsKey(key);
+	}
+
+	@Override
+	public Long weight() {
+		return cacheWeight;
+	}
+
+	@Override
+	public CacheStats stats() {
+		return stats;
+	}
+
+	/**
+	 * 
+	 * Admit candidate evicted from window to probation segment if main region
+	 * has free space or candidate is more frequent than main region victim.
+	 * Otherwise candidate is evicted from cache.
+	 * 
+	 * @param candidate node evicted from admission window.
+	 */
+	private void admit(Node<K, V> candidate) {
+		if (probation.size + protectedSegment.size < maxMainSize) {
+			probation.addFirst(candidate);
+			return;
+		}
+
+		AccessQueue<K, V> victimQueue = (probation.tail != null) ? probation : protectedSegment;
+		Node<K, V> victim = victimQueue.tail;
+
+		if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+			victimQueue.unlink(victim);
+			tinyLfuCache.remove(victim.key);
+			cacheWeight -= victim.weight;
+			stats.recordEviction();
+			probation.addFirst(candidate);
+		} else {
+			tinyLfuCache.remove(candidate.key);
+			cacheWeight -= candidate.weight;
+			stats.recordEviction();
+		}
+	}
+
+	/**
+	 * 
+	 * Remove the oldest node of probation, protected or window region for
+	 * decreasing cache weight. Keeping node is never removed.
+	 * 
+	 * @param keepingNode node that should stay in cache.
+	 */
+	private void evict(Node<K, V> keepingNode) {
+		Node<K, V> victim = null;
+
+		for (AccessQueue<K, V> queue : List.of(probation, protectedSegment, window)) {
+			victim = (queue.tail != keepingNode) ? queue.tail : keepingNode.prev;
+
+			if (victim != null) {
+				break;
+			}
+		}
+
+		if (victim != null) {
+			victim.queue.unlink(victim);
+			tinyLfuCache.remove(victim.key);
+			cacheWeight -= victim.weight;
+			stats.recordEviction();
+		}
+	}
+
+	/**
+	 * 
+	 * Move node from probation to protected segment. When protected segment is
+	 * overflowed its oldest node is demoted to probation segment.
+	 * 
+	 * @param node from probation segment.
+	 */
+	private void promote(Node<K, V> node) {
+		probation.unlink(node);
+		protectedSegment.addFirst(node);
+
+		if (protectedSegment.size > maxProtectedSize) {
+			probation.addFirst(protectedSegment.removeLast());
+		}
+	}
+
+	private enum Region {
+		WINDOW, PROBATION, PROTECTED
+	}
+
+	private static final class Node<K, V> {
+		private final K key;
+		private V value;
+		private int weight;
+
+		private AccessQueue<K, V> queue;
+
+		private Node<K, V> prev;
+		private Node<K, V> next;
+
+		private Node(K key, V value, int weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * 
+	 * Doubly linked list of nodes from the most recently used (head) to the least
+	 * recently used (tail) for one region of cache.
+	 * 
+	 */
+	private static final class AccessQueue<K, V> {
+		private final Region region;
+
+		private Node<K, V> head;
+		private Node<K, V> tail;
+		private int size;
+
+		private AccessQueue(Region region) {
+			this.region = region;
+		}
+
+		private void addFirst(Node<K, V> node) {
+			node.queue = this;
+			node.prev = null;
+			node.next = head;
+
+			if (head != null) {
+				head.prev = node;
+			}
+
+			head = node;
+
+			if (tail == null) {
+				tail = node;
+			}
+
+			size++;
+		}
+
+		private void moveToFirst(Node<K, V> node) {
+			if (node != head) {
+				unlink(node);
+				addFirst(node);
+			}
+		}
+
+		private Node<K, V> removeLast() {
+			Node<K, V> node = tail;
+			unlink(node);
+			return node;
+		}
+
+		private void unlink(Node<K, V> node) {
+			if (node.prev != null) {
+				node.prev.next = node.next;
+			} else {
+				head = node.next;
+			}
+
+			if (node.next != null) {
+				node.next.prev = node.prev;
+			} else {
+				tail = node.prev;
+			}
+
+			node.prev = null;
+			node.next = null;
+			node.queue = null;
+
+			size--;
+		}
+	}
+
+}
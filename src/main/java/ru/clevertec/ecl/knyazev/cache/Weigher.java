@@ -0,0 +1,40 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+/**
+ * 
+ * Calculates weight of K key and V value stored in cache. Weight is used
+ * to bound cache by sum of weights of its elements (for example by estimated
+ * size in bytes) instead of quantity of elements.
+ * 
+ * @author Vitya Knyazev
+ * 
+ * @param <K> key on which V value storing in cache.
+ * @param <V> value that storing in cache.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+	
+	/**
+	 * 
+	 * Weigher that gives weight equals to one for every element.
+	 * So cache weight is equals to cache size.
+	 * 
+	 * @param <K> key on which V value storing in cache.
+	 * @param <V> value that storing in cache.
+	 * @return singleton weigher
+	 */
+	static <K, V> Weigher<K, V> singleton() {
+		return (key, value) -> 1;
+	}
+	
+	/**
+	 * 
+	 * Calculate weight of cache element.
+	 * 
+	 * @param key on which V value storing in cache.
+	 * @param value that storing in cache.
+	 * @return not negative weight of element.
+	 */
+	int weigh(K key, V value);
+	
+}
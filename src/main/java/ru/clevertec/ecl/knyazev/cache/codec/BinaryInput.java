@@ -0,0 +1,80 @@
+package ru.clevertec.ecl.knyazev.cache.codec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 
+ * Input of compact binary encoding written by {@link BinaryOutput}. Reads
+ * bytes between position and limit of buffer.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+public final class BinaryInput {
+
+	private static final int MAX_VAR_LONG_SHIFT = 63;
+
+	private final ByteBuffer buffer;
+
+	public BinaryInput(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	public int readByte() {
+		try {
+			return buffer.get() & 0xFF;
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Error. Unexpected end of encoded value", e);
+		}
+	}
+
+	public long readVarLong() {
+		long zigzag = 0L;
+
+		for (int shift = 0; shift <= MAX_VAR_LONG_SHIFT; shift += 7) {
+			int currentByte = readByte();
+			zigzag |= (long) (currentByte & 0x7F) << shift;
+
+			if ((currentByte & 0x80) == 0) {
+				return (zigzag >>> 1) ^ -(zigzag & 1L);
+			}
+		}
+
+		throw new IllegalArgumentException("Error. Malformed variable length number");
+	}
+
+	public int readVarInt() {
+		long value = readVarLong();
+
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Error. Malformed variable length number");
+		}
+
+		return (int) value;
+	}
+
+	public String readString() {
+		int length = readVarInt();
+
+		if (length < 0 || length > buffer.remaining()) {
+			throw new IllegalArgumentException("Error. Malformed string length=" + length);
+		}
+
+		byte[] stringBytes = new byte[length];
+		buffer.get(stringBytes);
+
+		return new String(stringBytes, StandardCharsets.UTF_8);
+	}
+
+	public LocalDateTime readDateTime() {
+		long epochSecond = readVarLong();
+		int nano = readVarInt();
+
+		return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+	}
+
+}
@@ -0,0 +1,91 @@
+package ru.clevertec.ecl.knyazev.cache.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * 
+ * Growable output of compact binary encoding. Integers are written as
+ * variable length quantities (7 bits per byte, negative numbers are zigzag
+ * encoded), so small ids and lengths take one or two bytes. Strings are
+ * written as UTF-8 bytes with length before them.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+public final class BinaryOutput {
+
+	private static final int DEFAULT_CAPACITY = 64;
+
+	private byte[] bytes;
+	private int position;
+
+	public BinaryOutput() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public BinaryOutput(int capacity) {
+		bytes = new byte[Math.max(capacity, 1)];
+	}
+
+	public BinaryOutput writeByte(int value) {
+		ensureCapacity(1);
+		bytes[position++] = (byte) value;
+		return this;
+	}
+
+	public BinaryOutput writeVarLong(long value) {
+		long zigzag = (value << 1) ^ (value >> 63);
+
+		ensureCapacity(10);
+
+		while ((zigzag & ~0x7FL) != 0L) {
+			bytes[position++] = (byte) ((zigzag & 0x7FL) | 0x80L);
+			zigzag >>>= 7;
+		}
+
+		bytes[position++] = (byte) zigzag;
+		return this;
+	}
+
+	public BinaryOutput writeString(String value) {
+		byte[] stringBytes = value.getBytes(StandardCharsets.UTF_8);
+
+		writeVarLong(stringBytes.length);
+		ensureCapacity(stringBytes.length);
+		System.arraycopy(stringBytes, 0, bytes, position, stringBytes.length);
+		position += stringBytes.length;
+
+		return this;
+	}
+
+	public BinaryOutput writeBytes(byte[] value, int offset, int length) {
+		ensureCapacity(length);
+		System.arraycopy(value, offset, bytes, position, length);
+		position += length;
+		return this;
+	}
+
+	public BinaryOutput writeDateTime(LocalDateTime value) {
+		writeVarLong(value.toEpochSecond(ZoneOffset.UTC));
+		writeVarLong(value.getNano());
+		return this;
+	}
+
+	public int size() {
+		return position;
+	}
+
+	public byte[] toByteArray() {
+		return Arrays.copyOf(bytes, position);
+	}
+
+	private void ensureCapacity(int length) {
+		if (position + length > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, position + length));
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+package ru.clevertec.ecl.knyazev.cache.codec;
+
+import java.nio.ByteBuffer;
+
+import ru.clevertec.ecl.knyazev.cache.Codec;
+import ru.clevertec.ecl.knyazev.entity.Comment;
+
+/**
+ * 
+ * Compact binary codec of Comment entity. Encoded comment is a format version, 
+ * a mask of not null fields and values of not null fields: id, time, text,
+ * user name and news of comment encoded as in {@link NewsCodec}.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+public class CommentCodec implements Codec<Comment> {
+	
+	private static final int ID_MASK = 1;
+	private static final int TIME_MASK = 1 << 1;
+	private static final int TEXT_MASK = 1 << 2;
+	private static final int USER_NAME_MASK = 1 << 3;
+	private static final int NEWS_MASK = 1 << 4;
+
+	@Override
+	public byte[] encode(Comment comment) {
+		BinaryOutput output = new BinaryOutput();
+		
+		output.writeByte(NewsCodec.FORMAT_VERSION);
+		writeComment(output, comment);
+		
+		return output.toByteArray();
+	}
+
+	@Override
+	public Comment decode(ByteBuffer buffer) {
+		BinaryInput input = new BinaryInput(buffer);
+		
+		NewsCodec.checkFormatVersion(input.readByte());
+		
+		return readComment(input);
+	}
+	
+	public static void writeComment(BinaryOutput output, Comment comment) {
+		
+		int fieldsMask = (comment.getId() != null ? ID_MASK : 0)
+				       | (comment.getTime() != null ? TIME_MASK : 0)
+				       | (comment.getText() != null ? TEXT_MASK : 0)
+				       | (comment.getUserName() != null ? USER_NAME_MASK : 0)
+				       | (comment.getNews() != null ? NEWS_MASK : 0);
+		
+		output.writeByte(fieldsMask);
+		
+		if (comment.getId() != null) {
+			output.writeVarLong(comment.getId());
+		}
+		
+		if (comment.getTime() != null) {
+			output.writeDateTime(comment.getTime());
+		}
+		
+		if (comment.getText() != null) {
+			output.writeString(comment.getText());
+		}
+		
+		if (comment.getUserName() != null) {
+			output.writeString(comment.getUserName());
+		}
+		
+		if (comment.getNews() != null) {
+			NewsCodec.writeNews(output, comment.getNews());
+		}
+		
+	}
+
+	public static Comment readComment(BinaryInput input) {
+		
+		int fieldsMask = input.readByte();
+		
+		return Comment.builder()
+				      .id((fieldsMask & ID_MASK) != 0 ? input.readVarLong() : null)
+				      .time((fieldsMask & TIME_MASK) != 0 ? input.readDateTime() : null)
+				      .text((fieldsMask & TEXT_MASK) != 0 ? input.readString() : null)
+				      .userName((fieldsMask & USER_NAME_MASK) != 0 ? input.readString() : null)
+				      .news((fieldsMask & NEWS_MASK) != 0 ? NewsCodec.readNews(input) : null)
+				      .build();
+	}
+
+}
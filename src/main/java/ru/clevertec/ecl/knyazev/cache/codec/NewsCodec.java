@@ -0,0 +1,98 @@
+package ru.clevertec.ecl.knyazev.cache.codec;
+
+import java.nio.ByteBuffer;
+
+import ru.clevertec.ecl.knyazev.cache.Codec;
+import ru.clevertec.ecl.knyazev.entity.News;
+
+/**
+ * 
+ * Compact binary codec of News entity. Encoded news is a format version, 
+ * a mask of not null fields and values of not null fields: id, time, title,
+ * text and author name. Comments of news are not encoded and decoded news
+ * has null comments.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+public class NewsCodec implements Codec<News> {
+	
+	static final int FORMAT_VERSION = 1;
+	
+	private static final int ID_MASK = 1;
+	private static final int TIME_MASK = 1 << 1;
+	private static final int TITLE_MASK = 1 << 2;
+	private static final int TEXT_MASK = 1 << 3;
+	private static final int AUTHOR_NAME_MASK = 1 << 4;
+
+	@Override
+	public byte[] encode(News news) {
+		BinaryOutput output = new BinaryOutput();
+		
+		output.writeByte(FORMAT_VERSION);
+		writeNews(output, news);
+		
+		return output.toByteArray();
+	}
+
+	@Override
+	public News decode(ByteBuffer buffer) {
+		BinaryInput input = new BinaryInput(buffer);
+		
+		checkFormatVersion(input.readByte());
+		
+		return readNews(input);
+	}
+	
+	public static void writeNews(BinaryOutput output, News news) {
+		
+		int fieldsMask = (news.getId() != null ? ID_MASK : 0)
+				       | (news.getTime() != null ? TIME_MASK : 0)
+				       | (news.getTitle() != null ? TITLE_MASK : 0)
+				       | (news.getText() != null ? TEXT_MASK : 0)
+				       | (news.getAuthorName() != null ? AUTHOR_NAME_MASK : 0);
+		
+		output.writeByte(fieldsMask);
+		
+		if (news.getId() != null) {
+			output.writeVarLong(news.getId());
+		}
+		
+		if (news.getTime() != null) {
+			output.writeDateTime(news.getTime());
+		}
+		
+		if (news.getTitle() != null) {
+			output.writeString(news.getTitle());
+		}
+		
+		if (news.getText() != null) {
+			output.writeString(news.getText());
+		}
+		
+		if (news.getAuthorName() != null) {
+			output.writeString(news.getAuthorName());
+		}
+		
+	}
+	
+	public static News readNews(BinaryInput input) {
+		
+		int fieldsMask = input.readByte();
+		
+		return News.builder()
+				   .id((fieldsMask & ID_MASK) != 0 ? input.readVarLong() : null)
+				   .time((fieldsMask & TIME_MASK) != 0 ? input.readDateTime() : null)
+				   .title((fieldsMask & TITLE_MASK) != 0 ? input.readString() : null)
+				   .text((fieldsMask & TEXT_MASK) != 0 ? input.readString() : null)
+				   .authorName((fieldsMask & AUTHOR_NAME_MASK) != 0 ? input.readString() : null)
+				   .build();
+	}
+	
+	static void checkFormatVersion(int formatVersion) {
+		if (formatVersion != FORMAT_VERSION) {
+			throw new IllegalArgumentException("Error. Unknown format version=" + formatVersion + " of encoded value");
+		}
+	}
+
+}
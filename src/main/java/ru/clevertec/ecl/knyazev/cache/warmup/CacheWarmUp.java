@@ -0,0 +1,176 @@
+package ru.clevertec.ecl.knyazev.cache.warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import ru.clevertec.ecl.knyazev.repository.CommentRepository;
+import ru.clevertec.ecl.knyazev.repository.NewsRepository;
+
+/**
+ * 
+ * Warm-up of active cache (custom cache or redis cache aspects) on application startup.
+ * Hot sets are loaded through repositories, so they are cached by aspects of active
+ * cache with the same keys as on requests: first pages of news and the most commented
+ * news with first page of their comments. When active cache doesn't cache pages
+ * (custom cache caches only entities by id) page loadings are skipped, because they
+ * would only load database without warming anything.
+ * 
+ * Loadings are done in parallel by warm-up threads and are rate-limited, so warm-up
+ * doesn't overload database. Warm-up is an application runner: application readiness
+ * state is changed to accepting traffic (actuator readiness probe) only after warm-up
+ * is completed or its timeout is over. Failed loadings are logged and skipped.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Builder
+@Slf4j
+public class CacheWarmUp implements ApplicationRunner {
+
+	private static final String THREAD_NAME = "cache-warm-up-";
+
+	private NewsRepository newsRepository;
+
+	private CommentRepository commentRepository;
+
+	private TransactionTemplate transactionTemplate;
+
+	/**
+	 * Pages of news and comments are cached by active cache.
+	 */
+	private boolean pagesCached;
+
+	/**
+	 * Quantity of first news pages and their pageable.
+	 */
+	private int newsPages;
+	private int newsPageSize;
+	private Sort newsSort;
+
+	/**
+	 * Quantity of the most commented news and pageable of their first comments page.
+	 */
+	private int mostCommentedNews;
+	private int commentsPageSize;
+	private Sort commentsSort;
+
+	private int parallelism;
+
+	private RateLimiter rateLimiter;
+
+	private Duration timeout;
+
+	@Override
+	public void run(ApplicationArguments args) throws InterruptedException {
+
+		long startTime = System.nanoTime();
+
+		List<Callable<Void>> loadings = new ArrayList<>();
+
+		if (pagesCached) {
+
+			for (int page = 0; page < newsPages; page++) {
+				Pageable newsPageable = PageRequest.of(page, newsPageSize, newsSort);
+
+				loadings.add(() -> load(() -> newsRepository.findAllBy(newsPageable)));
+			}
+
+		}
+
+		Pageable commentsPageable = PageRequest.of(0, commentsPageSize, commentsSort);
+
+		for (Long newsId : findMostCommentedNewsIds()) {
+			loadings.add(() -> load(() -> newsRepository.findById(newsId)));
+
+			if (pagesCached) {
+				loadings.add(() -> load(() -> commentRepository.findAllByNewsId(newsId, commentsPageable)));
+			}
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism), warmUpThreadFactory());
+
+		int loadedQuantity = 0;
+
+		try {
+
+			List<Future<Void>> results = executor.invokeAll(loadings, timeout.toNanos(), TimeUnit.NANOSECONDS);
+
+			for (Future<Void> result : results) {
+
+				try {
+					result.get();
+					loadedQuantity++;
+				} catch (CancellationException | ExecutionException e) {
+					log.debug("Cache warm-up loading was not completed: {}", e.getMessage());
+				}
+
+			}
+
+		} finally {
+			executor.shutdownNow();
+		}
+
+		log.info("Cache warm-up loaded {} of {} hot sets in {} ms", loadedQuantity, loadings.size(),
+				 TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+	}
+
+	private List<Long> findMostCommentedNewsIds() {
+
+		if (mostCommentedNews <= 0) {
+			return List.of();
+		}
+
+		try {
+			return newsRepository.findMostCommentedNewsIds(PageRequest.of(0, mostCommentedNews));
+		} catch (RuntimeException e) {
+			log.error("Error. Can't find the most commented news for cache warm-up: {}", e.getMessage());
+			return List.of();
+		}
+
+	}
+
+	private Void load(Runnable loading) throws InterruptedException {
+
+		rateLimiter.acquire();
+
+		try {
+			transactionTemplate.executeWithoutResult(status -> loading.run());
+		} catch (RuntimeException e) {
+			log.error("Error when loading hot set on cache warm-up: {}", e.getMessage());
+			throw e;
+		}
+
+		return null;
+	}
+
+	private ThreadFactory warmUpThreadFactory() {
+
+		AtomicInteger threadNumber = new AtomicInteger();
+
+		return runnable -> {
+			Thread thread = new Thread(runnable, THREAD_NAME + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+}
@@ -0,0 +1,74 @@
+package ru.clevertec.ecl.knyazev.cache.warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 
+ * Smooth rate limiter. Permits are given evenly with interval 1 / permits per second,
+ * so requests of all threads together don't exceed rate and don't come in bursts.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+public class RateLimiter {
+
+	private static final long NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1L);
+
+	private final long permitIntervalNanos;
+
+	private final LongSupplier ticker;
+
+	private long nextPermitTime;
+
+	/**
+	 * 
+	 * Create rate limiter.
+	 * 
+	 * @param permitsPerSecond maximum quantity of permits per second. Null or not
+	 *                         positive value means no limit.
+	 */
+	public RateLimiter(Integer permitsPerSecond) {
+		this(permitsPerSecond, System::nanoTime);
+	}
+
+	RateLimiter(Integer permitsPerSecond, LongSupplier ticker) {
+		permitIntervalNanos = (permitsPerSecond == null || permitsPerSecond <= 0) ? 0L
+				: NANOS_IN_SECOND / permitsPerSecond;
+		this.ticker = ticker;
+		nextPermitTime = ticker.getAsLong();
+	}
+
+	/**
+	 * 
+	 * Wait for permit.
+	 * 
+	 * @throws InterruptedException when waiting thread is interrupted
+	 */
+	public void acquire() throws InterruptedException {
+
+		long waitNanos = reserve();
+
+		if (waitNanos > 0L) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+
+	}
+
+	/**
+	 * 
+	 * Reserve next permit.
+	 * 
+	 * @return nanoseconds to wait for reserved permit
+	 */
+	synchronized long reserve() {
+
+		long now = ticker.getAsLong();
+		long permitTime = Math.max(now, nextPermitTime);
+
+		nextPermitTime = permitTime + permitIntervalNanos;
+
+		return permitTime - now;
+	}
+
+}
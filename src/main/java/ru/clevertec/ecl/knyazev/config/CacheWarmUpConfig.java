@@ -0,0 +1,109 @@
+package ru.clevertec.ecl.knyazev.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.Setter;
+import ru.clevertec.ecl.knyazev.cache.warmup.CacheWarmUp;
+import ru.clevertec.ecl.knyazev.cache.warmup.RateLimiter;
+import ru.clevertec.ecl.knyazev.repository.CommentRepository;
+import ru.clevertec.ecl.knyazev.repository.NewsRepository;
+
+/**
+ * 
+ * Warm-up of active cache on startup. Default pageables are the same as default
+ * pageables of news controller: news pages of size 3 sorted by title and comments
+ * pages of size 3 sorted by time. Sort is set as "property" or "property,direction".
+ * 
+ * Custom cache aspects cache only news and comments by id, so with custom cache pages
+ * are not loaded: only the most commented news are warmed up.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@ConditionalOnExpression(
+		  "${aspect.cache.enable:true} and ${aspect.cache.warmup.enable:false}"
+		)
+@Configuration
+@ConfigurationProperties(value = "aspect.cache.warmup")
+@Setter
+public class CacheWarmUpConfig {
+
+	private static final String SORT_SEPARATOR = ",";
+
+	private static final String CUSTOM_CACHE_TYPE = "custom";
+
+	@Autowired
+	private NewsRepository newsRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private TransactionManager transactionManager;
+
+	@Value("${aspect.cache.type}")
+	private String cacheType;
+
+	private int newsPages = 1;
+	private int newsPageSize = 3;
+	private String newsSort = "title";
+
+	private int mostCommentedNews;
+	private int commentsPageSize = 3;
+	private String commentsSort = "time";
+
+	private int parallelism = 4;
+
+	private Integer requestsPerSecond;
+
+	private Duration timeout = Duration.ofMinutes(1L);
+
+	@Bean
+	CacheWarmUp cacheWarmUp() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate((PlatformTransactionManager) transactionManager);
+		transactionTemplate.setReadOnly(true);
+
+		return CacheWarmUp.builder()
+				          .newsRepository(newsRepository)
+				          .commentRepository(commentRepository)
+				          .transactionTemplate(transactionTemplate)
+				          .pagesCached(!CUSTOM_CACHE_TYPE.equals(cacheType))
+				          .newsPages(newsPages)
+				          .newsPageSize(newsPageSize)
+				          .newsSort(sort(newsSort))
+				          .mostCommentedNews(mostCommentedNews)
+				          .commentsPageSize(commentsPageSize)
+				          .commentsSort(sort(commentsSort))
+				          .parallelism(parallelism)
+				          .rateLimiter(new RateLimiter(requestsPerSecond))
+				          .timeout(timeout)
+				          .build();
+	}
+
+	private Sort sort(String sortValue) {
+
+		if (sortValue == null || sortValue.isBlank()) {
+			return Sort.unsorted();
+		}
+
+		String[] sortParts = sortValue.split(SORT_SEPARATOR);
+
+		Sort.Direction direction = (sortParts.length > 1)
+				? Sort.Direction.fromString(sortParts[1].trim())
+				: Sort.DEFAULT_DIRECTION;
+
+		return Sort.by(direction, sortParts[0].trim());
+	}
+
+}
@@ -1,15 +1,35 @@
 package ru.clevertec.ecl.knyazev.config;
 
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.unit.DataSize;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import ru.clevertec.ecl.knyazev.aspect.cache.custom.CommentRepositoryCacheCustomAspect;
+import ru.clevertec.ecl.knyazev.aspect.cache.custom.CustomCacheLoader;
 import ru.clevertec.ecl.knyazev.aspect.cache.custom.CustomCacheManager;
+import ru.clevertec.ecl.knyazev.aspect.cache.custom.CustomCacheMetrics;
+import ru.clevertec.ecl.knyazev.aspect.cache.custom.CustomCacheWeigher;
 import ru.clevertec.ecl.knyazev.aspect.cache.custom.NewsRepositoryCacheCustomAspect;
+import ru.clevertec.ecl.knyazev.cache.Cache;
 import ru.clevertec.ecl.knyazev.cache.CacheFactory;
+import ru.clevertec.ecl.knyazev.cache.Codec;
+import ru.clevertec.ecl.knyazev.cache.ExpiringCache;
+import ru.clevertec.ecl.knyazev.cache.Weigher;
+import ru.clevertec.ecl.knyazev.cache.codec.CommentCodec;
+import ru.clevertec.ecl.knyazev.cache.codec.NewsCodec;
 
 @ConditionalOnExpression(
 		  "${aspect.cache.enable:true} and '${aspect.cache.type}'.equals('custom')"
@@ -17,19 +37,67 @@ import ru.clevertec.ecl.knyazev.cache.CacheFactory;
 @Configuration
 @ConfigurationProperties(value = "aspect.cache.custom")
 @Setter
+@Slf4j
 public class CustomCacheConfig {
 	
+	private static final int REFRESH_THREADS = 2;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Eviction algorithm of on-heap storage. Not used with off-heap capacity.
+	 */
 	private String algorithm;
 	private Integer size;
+	private Integer concurrencyLevel;
+
+	/**
+	 * Maximum estimated size of entities of on-heap storage. Can't be set
+	 * with off-heap capacity.
+	 */
+	private DataSize maxWeight;
+	
+	/**
+	 * Capacity of off-heap storage. Off-heap storage evicts the oldest written
+	 * values (FIFO) and is bounded by its capacity, so algorithm and max weight
+	 * are not used with it.
+	 */
+	private DataSize offHeapCapacity;
+
+	private Duration timeToLive;
+	private Duration refreshAhead;
+	
+	private Duration loadWaitTimeout;
 	
 	@Bean
 	CacheFactory cacheFactory() {
 		return new CacheFactory();
 	}
 	
+	@Bean
+	CustomCacheLoader customCacheLoader() {
+		return new CustomCacheLoader(entityManagerFactory);
+	}
+
+	@Bean
+	ThreadPoolExecutor customCacheRefreshExecutor() {
+		return new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 0L, TimeUnit.MILLISECONDS,
+				                      new ArrayBlockingQueue<>(size != null && size > 0 ? size : Cache.DEFAULT_CACHE_SIZE),
+				                      new CustomizableThreadFactory("custom-cache-refresh-"),
+				                      new ThreadPoolExecutor.AbortPolicy());
+	}
+
 	@Bean
 	CustomCacheManager customCacheManager() {
-		return new CustomCacheManager(cacheFactory().initCache(algorithm, size), cacheFactory().initCache(algorithm, size));
+		return new CustomCacheManager(initCache(customCacheLoader()::loadComment, CustomCacheWeigher::weighComment, new CommentCodec()),
+				                      initCache(customCacheLoader()::loadNews, CustomCacheWeigher::weighNews, new NewsCodec()),
+		                      loadWaitTimeout);
+	}
+	
+	@Bean
+	CustomCacheMetrics customCacheMetrics() {
+		return new CustomCacheMetrics(customCacheManager());
 	}
 	
 	@Bean
@@ -42,4 +110,61 @@ public class CustomCacheConfig {
 		return new NewsRepositoryCacheCustomAspect(customCacheManager());
 	}
 	
+	/**
+	 * 
+	 * Create concurrent cache. When time to live is set cache values expire 
+	 * and are refreshed in background by refresher during refresh ahead window.
+	 * 
+	 * @param <V> cached entity
+	 * @param refresher loads entity by id for refreshing
+	 * @param weigher estimates entity size in bytes
+	 * @param codec encodes entity for off-heap storing
+	 * @return cache on Long entity id
+	 */
+	private <V> Cache<Long, V> initCache(Function<Long, V> refresher, Weigher<Long, V> weigher, Codec<V> codec) {
+
+		if (timeToLive == null || timeToLive.isZero()) {
+			return initStorage(weigher, codec);
+		}
+
+		Cache<Long, ExpiringCache.Entry<V>> cache = initStorage(ExpiringCache.entryWeigher(weigher), 
+				                                                ExpiringCache.entryCodec(codec));
+
+		return new ExpiringCache<>(cache, timeToLive, refreshAhead, refresher, customCacheRefreshExecutor());
+	}
+
+	/**
+	 * 
+	 * Create concurrent storage of cache values. When off-heap capacity is set
+	 * encoded values are stored outside of java heap. Otherwise values are stored
+	 * on heap in index on primitive long keys and when max weight is set cache 
+	 * is bounded by estimated size of entities in bytes.
+	 * 
+	 * @param <V> stored value
+	 * @param weigher estimates value size in bytes
+	 * @param codec encodes value for off-heap storing
+	 * @return storage on Long entity id
+	 * @throws IllegalStateException if off-heap capacity and max weight are set together
+	 */
+	private <V> Cache<Long, V> initStorage(Weigher<Long, V> weigher, Codec<V> codec) {
+		
+		if (offHeapCapacity != null) {
+			
+			if (maxWeight != null) {
+				throw new IllegalStateException("Error. Custom cache maxWeight can't be set with offHeapCapacity");
+			}
+			
+			if (algorithm != null) {
+				log.warn("Custom cache algorithm={} is ignored: off-heap storage evicts the oldest written values", 
+						 algorithm);
+			}
+			
+			return cacheFactory().initConcurrentOffHeapCache(size, concurrencyLevel, offHeapCapacity.toBytes(), codec);
+		}
+		
+		Long cacheWeight = (maxWeight == null) ? null : maxWeight.toBytes();
+
+		return cacheFactory().initLongKeyConcurrentCache(algorithm, size, concurrencyLevel, cacheWeight, weigher);
+	}
+
 }
@@ -0,0 +1,32 @@
+package ru.clevertec.ecl.knyazev.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 
+ * Pagination settings. Pages are read without counting of all records, approximate
+ * quantity of news and comments is taken from postgres table statistics on client
+ * request and is kept during approximate total time to live.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Component
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ConfigurationProperties("pagination")
+public class PaginationConfig {
+
+	private Duration approximateTotalTimeToLive = Duration.ofMinutes(1L);
+
+}
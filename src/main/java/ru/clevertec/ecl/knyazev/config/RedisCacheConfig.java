@@ -1,40 +1,119 @@
 package ru.clevertec.ecl.knyazev.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.unit.DataSize;
 
+import lombok.Setter;
+import ru.clevertec.ecl.knyazev.aspect.cache.redis.BinaryRedisSerializer;
 import ru.clevertec.ecl.knyazev.aspect.cache.redis.CommentRepositoryCacheRedisAspect;
 import ru.clevertec.ecl.knyazev.aspect.cache.redis.NewsRepositoryCacheRedisAspect;
+import ru.clevertec.ecl.knyazev.aspect.cache.redis.RedisCircuitBreaker;
+import ru.clevertec.ecl.knyazev.aspect.cache.redis.RedisNearCache;
+import ru.clevertec.ecl.knyazev.aspect.cache.redis.RedisWriteBehind;
 
 @ConditionalOnExpression(
-		  "${aspect.cache.enable:true} and '${aspect.cache.type}'.equals('redis')"
+		  "${aspect.cache.enable:true} and ('${aspect.cache.type}'.equals('redis') or '${aspect.cache.type}'.equals('tiered'))"
 		)
 @Configuration
+@ConfigurationProperties(value = "aspect.cache.redis")
+@Setter
 public class RedisCacheConfig {	
 	
+	private static final String JDK_SERIALIZER = "JDK";
+	
 	@Autowired
 	private LettuceConnectionFactory lettuceConnectionFactory;
 	
+	private Duration loadWaitTimeout;
+	
+	private Duration timeToLive;
+	
+	private String serializer;
+	
+	private DataSize compressionThreshold;
+	
+	private Integer writeQueueCapacity;
+	
+	private Integer writeBatchSize;
+	
+	private Integer failureThreshold;
+	
+	private Duration openDuration;
+	
+	private boolean reactive;
+	
 	@Bean
 	RedisTemplate<String, Object> redisTemplate() {
 	    RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
 	    redisTemplate.setConnectionFactory(lettuceConnectionFactory);
+	    
+	    if (!JDK_SERIALIZER.equalsIgnoreCase(serializer)) {
+	    	RedisSerializer<Object> binaryRedisSerializer = redisSerializer();
+	    	
+	    	redisTemplate.setKeySerializer(RedisSerializer.string());
+	    	redisTemplate.setValueSerializer(binaryRedisSerializer);
+	    	redisTemplate.setHashKeySerializer(binaryRedisSerializer);
+	    	redisTemplate.setHashValueSerializer(binaryRedisSerializer);
+	    }
+	    
 	    redisTemplate.afterPropertiesSet();
 	    return redisTemplate;
 	}
 
 	@Bean
-	CommentRepositoryCacheRedisAspect commentRepositoryCacheRedisAspect() {
-		return new CommentRepositoryCacheRedisAspect(redisTemplate());
+	@ConditionalOnProperty(prefix = "aspect.cache.redis", name = "reactive", havingValue = "true")
+	ReactiveRedisTemplate<String, Object> reactiveRedisCacheTemplate() {
+		RedisSerializationContext<String, Object> serializationContext = JDK_SERIALIZER.equalsIgnoreCase(serializer)
+				? RedisSerializationContext.<String, Object>newSerializationContext(RedisSerializer.java()).build()
+				: RedisSerializationContext.<String, Object>newSerializationContext(redisSerializer())
+				                           .key(RedisSerializer.string())
+				                           .build();
+		
+		return new ReactiveRedisTemplate<>(lettuceConnectionFactory, serializationContext);
+	}
+
+	@Bean
+	RedisCircuitBreaker redisCircuitBreaker() {
+		return new RedisCircuitBreaker(failureThreshold, openDuration);
+	}
+	
+	@Bean(destroyMethod = "close")
+	RedisWriteBehind redisWriteBehind() {
+		return new RedisWriteBehind(redisTemplate(), redisCircuitBreaker(), writeQueueCapacity, writeBatchSize);
+	}
+
+	@Bean
+	CommentRepositoryCacheRedisAspect commentRepositoryCacheRedisAspect(ObjectProvider<RedisNearCache> redisNearCache,
+			ObjectProvider<ReactiveRedisTemplate<String, Object>> reactiveRedisCacheTemplate) {
+		return new CommentRepositoryCacheRedisAspect(redisTemplate(), loadWaitTimeout, timeToLive, redisNearCache.getIfAvailable(),
+				redisCircuitBreaker(), redisWriteBehind(), reactiveRedisCacheTemplate.getIfAvailable());
 	}
 	
 	@Bean
-	NewsRepositoryCacheRedisAspect newsRepositoryCacheRedisAspect() {
-		return new NewsRepositoryCacheRedisAspect(redisTemplate());
+	NewsRepositoryCacheRedisAspect newsRepositoryCacheRedisAspect(ObjectProvider<RedisNearCache> redisNearCache,
+			ObjectProvider<ReactiveRedisTemplate<String, Object>> reactiveRedisCacheTemplate) {
+		return new NewsRepositoryCacheRedisAspect(redisTemplate(), loadWaitTimeout, timeToLive, redisNearCache.getIfAvailable(),
+				redisCircuitBreaker(), redisWriteBehind(), reactiveRedisCacheTemplate.getIfAvailable());
+	}
+	
+	private RedisSerializer<Object> redisSerializer() {
+		Integer compressionThresholdBytes = (compressionThreshold == null) ? null 
+				: (int) Math.min(compressionThreshold.toBytes(), Integer.MAX_VALUE);
+		
+		return new BinaryRedisSerializer(compressionThresholdBytes);
 	}
 	
-}
+}
\ No newline at end of file
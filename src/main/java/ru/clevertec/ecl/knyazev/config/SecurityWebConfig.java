@@ -45,9 +45,11 @@ public class SecurityWebConfig {
 	
 	private static final String NEWS_URI = "/news";
 	private static final String SINGLE_NEWS_URI = "/news/\\d+";
+	private static final String NEWS_FEED_URI = "/news/feed";
 	
 	private static final String COMMENTS_URI = "/comments";
 	private static final String COMMENT_URI = "/comments/\\d+";
+	private static final String COMMENTS_FEED_URI = "/comments/feed";
 	
 	 private static final String[] SWAGER_WHITE_LIST = {
 	            // -- Swagger UI v2
@@ -114,6 +116,8 @@ public class SecurityWebConfig {
 		.requestMatchers(req -> req.getMethod().equals(HttpMethod.GET.name()) 
 				                && (req.getRequestURI().equals(NEWS_URI)
 				                || req.getRequestURI().equals(COMMENTS_URI)
+				                || req.getRequestURI().equals(NEWS_FEED_URI)
+				                || req.getRequestURI().equals(COMMENTS_FEED_URI)
 				                || req.getRequestURI().matches(SINGLE_NEWS_URI)
 				                || req.getRequestURI().matches(COMMENT_URI))).permitAll()
 		
@@ -0,0 +1,35 @@
+package ru.clevertec.ecl.knyazev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 
+ * Mode of news and comments searching on text part. LIKE is a substring search
+ * (default), FULL_TEXT is a search of words by postgres full-text search (tsvector 
+ * with GIN index) with results ranked by relevance, INDEX is a search of words by 
+ * embedded in-memory inverted index with results ordered newest first.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Component
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ConfigurationProperties("search.text")
+public class TextSearchConfig {
+	
+	private Mode mode = Mode.LIKE;
+	
+	public enum Mode {
+		LIKE, FULL_TEXT, INDEX
+	}
+	
+}
@@ -0,0 +1,89 @@
+package ru.clevertec.ecl.knyazev.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import lombok.Setter;
+import ru.clevertec.ecl.knyazev.aspect.cache.redis.RedisCircuitBreaker;
+import ru.clevertec.ecl.knyazev.aspect.cache.redis.RedisNearCache;
+import ru.clevertec.ecl.knyazev.cache.Cache;
+import ru.clevertec.ecl.knyazev.cache.CacheFactory;
+import ru.clevertec.ecl.knyazev.cache.ExpiringCache;
+
+/**
+ * 
+ * Near cache (L1) of tiered cache. Redis aspects of tiered cache are created
+ * by {@link RedisCacheConfig} with near cache of current config.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@ConditionalOnExpression(
+		  "${aspect.cache.enable:true} and '${aspect.cache.type}'.equals('tiered')"
+		)
+@Configuration
+@ConfigurationProperties(value = "aspect.cache.tiered")
+@Setter
+public class TieredCacheConfig {
+	
+	private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(1L);
+	
+	@Autowired
+	private LettuceConnectionFactory lettuceConnectionFactory;
+	
+	private String algorithm;
+	private Integer size;
+	private Integer concurrencyLevel;
+	
+	/**
+	 * Time to live of near cached entities. Null means default time to live of
+	 * one minute: lost or not published invalidation messages must not keep
+	 * near cache stale forever.
+	 */
+	private Duration timeToLive;
+	
+	@Bean
+	RedisNearCache redisNearCache(RedisTemplate<String, Object> redisTemplate, RedisCircuitBreaker redisCircuitBreaker) {
+		return new RedisNearCache(initCache(), initCache(), redisTemplate, redisCircuitBreaker);
+	}
+	
+	@Bean
+	RedisMessageListenerContainer redisNearCacheListenerContainer(RedisNearCache redisNearCache) {
+		RedisMessageListenerContainer redisMessageListenerContainer = new RedisMessageListenerContainer();
+		redisMessageListenerContainer.setConnectionFactory(lettuceConnectionFactory);
+		redisMessageListenerContainer.addMessageListener(redisNearCache, new ChannelTopic(RedisNearCache.INVALIDATION_CHANNEL));
+		return redisMessageListenerContainer;
+	}
+	
+	/**
+	 * 
+	 * Create concurrent near cache of encoded entities. Cache values always expire,
+	 * that bounds staleness of near cache on lost invalidation messages.
+	 * 
+	 * @return cache on Long entity id
+	 * @throws IllegalStateException if time to live is not positive
+	 */
+	private Cache<Long, byte[]> initCache() {
+		
+		Duration nearCacheTimeToLive = (timeToLive == null) ? DEFAULT_TIME_TO_LIVE : timeToLive;
+		
+		if (nearCacheTimeToLive.isZero() || nearCacheTimeToLive.isNegative()) {
+			throw new IllegalStateException("Error. Tiered cache timeToLive must be positive");
+		}
+		
+		Cache<Long, ExpiringCache.Entry<byte[]>> cache = new CacheFactory().initLongKeyConcurrentCache(algorithm, size,
+				concurrencyLevel, null, null);
+		
+		return new ExpiringCache<>(cache, nearCacheTimeToLive);
+	}
+
+}
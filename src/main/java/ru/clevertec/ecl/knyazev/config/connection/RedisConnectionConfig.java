@@ -0,0 +1,61 @@
+package ru.clevertec.ecl.knyazev.config.connection;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ClientOptions.DisconnectedBehavior;
+import io.lettuce.core.ReadFrom;
+import lombok.Setter;
+
+/**
+ * 
+ * Tuning of lettuce client of autoconfigured redis connection factory. All commands
+ * share one multiplexed connection, pipelines take dedicated connections from pool
+ * (spring.data.redis.lettuce.pool). Commands fail after command timeout and when
+ * connection is lost (if rejecting is enabled), so redis cache is bypassed instead
+ * of waiting for reconnect. Reading from replicas is set by read from name 
+ * (upstream, upstreamPreferred, replica, replicaPreferred, nearest, any).
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Configuration
+@ConfigurationProperties("connection.redis")
+@Setter
+public class RedisConnectionConfig {
+	
+	private Duration commandTimeout;
+	
+	private String readFrom;
+	
+	private boolean rejectCommandsWhenDisconnected;
+	
+	@Bean
+	LettuceClientConfigurationBuilderCustomizer lettuceClientConfigurationBuilderCustomizer() {
+		return builder -> {
+			
+			if (commandTimeout != null) {
+				builder.commandTimeout(commandTimeout);
+			}
+			
+			if (rejectCommandsWhenDisconnected) {
+				ClientOptions clientOptions = builder.build().getClientOptions().orElseGet(ClientOptions::create);
+				
+				builder.clientOptions(clientOptions.mutate()
+						                           .disconnectedBehavior(DisconnectedBehavior.REJECT_COMMANDS)
+						                           .build());
+			}
+			
+			if (readFrom != null && !readFrom.isBlank()) {
+				builder.readFrom(ReadFrom.valueOf(readFrom));
+			}
+			
+		};
+	}
+	
+}
@@ -22,12 +22,14 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import ru.clevertec.ecl.knyazev.dto.CommentDTO;
+import ru.clevertec.ecl.knyazev.dto.KeysetPageDTO;
 import ru.clevertec.ecl.knyazev.service.CommentService;
 import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
 
@@ -41,6 +43,9 @@ public class CommentController {
 	
 	private static final int DEFAULT_PAGE = 0;
 	private static final int DEFAULT_PAGE_SIZE = 3;
+	private static final int MAX_PAGE_SIZE = 100;
+	
+	private static final String APPROXIMATE_TOTAL_HEADER = "X-Approximate-Total-Count";
 	
 	private CommentService commentServiceImpl;
 	
@@ -68,6 +73,9 @@ public class CommentController {
 			                                @Size(min = 3, max = 100, 
 	                                                   message = "text part must be above or equals to 3 and less than or equals to 100 symbols") 
 											String textPart,
+			                                @Parameter(description = "Add approximate quantity of all comments to X-Approximate-Total-Count header", required = false)
+			                                @RequestParam(required = false, name = "with_total", defaultValue = "false")
+			                                boolean withTotal,
 			                                @Parameter(description = "Pageable param for page, size and sorting", required = false)
 			                                @PageableDefault(page = DEFAULT_PAGE, size = DEFAULT_PAGE_SIZE) 
 	                                        @SortDefault(sort = "time") 
@@ -75,6 +83,13 @@ public class CommentController {
 		
 		try {
 			List<CommentDTO> commentDTO = commentServiceImpl.showAllOrByTextPart(textPart, pageable);
+			
+			if (withTotal) {
+				return ResponseEntity.ok()
+						.header(APPROXIMATE_TOTAL_HEADER, String.valueOf(commentServiceImpl.showApproximateTotal()))
+						.body(commentDTO);
+			}
+			
 			return ResponseEntity.ok().body(commentDTO);
 		} catch (ServiceException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
@@ -82,6 +97,26 @@ public class CommentController {
 		
 	}
 	
+	@GetMapping(value = "/comments/feed")
+	@Operation(description = "Show comments newest first by keyset pagination")
+	public ResponseEntity<?> getCommentsFeed(@Parameter(description = "Token of next page given with previous page", required = false)
+			                                 @RequestParam(required = false, name = "page_token")
+			                                 String pageToken,
+			                                 @Parameter(description = "Page size", required = false)
+			                                 @RequestParam(required = false, name = "size", defaultValue = "" + DEFAULT_PAGE_SIZE)
+			                                 @Positive(message = "Page size must be greater than or equals to 1")
+			                                 @Max(value = MAX_PAGE_SIZE, message = "Page size must be less than or equals to 100")
+			                                 Integer pageSize) {
+		
+		try {
+			KeysetPageDTO<CommentDTO> commentsPage = commentServiceImpl.showAllByPageToken(pageToken, pageSize);
+			return ResponseEntity.ok().body(commentsPage);
+		} catch (ServiceException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		
+	}
+	
 	@PostMapping(value = "/comments")
 	@Operation(description = "Add comment")	
 	public ResponseEntity<?> addComment(@Parameter(description = "Comment dto for adding")
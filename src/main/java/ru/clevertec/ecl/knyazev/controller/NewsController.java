@@ -22,11 +22,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import ru.clevertec.ecl.knyazev.dto.KeysetPageDTO;
 import ru.clevertec.ecl.knyazev.dto.NewsDTO;
 import ru.clevertec.ecl.knyazev.service.NewsService;
 import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
@@ -40,6 +42,9 @@ public class NewsController {
 	
 	private static final int DEFAULT_PAGE = 0;
 	private static final int DEFAULT_PAGE_SIZE = 3;
+	private static final int MAX_PAGE_SIZE = 100;
+	
+	private static final String APPROXIMATE_TOTAL_HEADER = "X-Approximate-Total-Count";
 	
 	private NewsService newsServiceImpl;
 		
@@ -72,6 +77,9 @@ public class NewsController {
 			                            @Size(min = 3, max = 100, 
 			                                  message = "text part must be above or equals to 3 and less than or equals to 100 symbols") 
 			                            String textPart,
+			                            @Parameter(description = "Add approximate quantity of all news to X-Approximate-Total-Count header", required = false)
+			                            @RequestParam(required = false, name = "with_total", defaultValue = "false")
+			                            boolean withTotal,
 			                            @Parameter(description = "Pageable param for page, size and sorting", required = false)
 									    @PageableDefault(page = DEFAULT_PAGE, size = DEFAULT_PAGE_SIZE) 
 	                                    @SortDefault(sort = "title") 
@@ -79,6 +87,13 @@ public class NewsController {
 		
 		try {
 			List<NewsDTO> newsDTO = newsServiceImpl.showAllOrByTextPart(textPart, pageable);
+			
+			if (withTotal) {
+				return ResponseEntity.ok()
+						.header(APPROXIMATE_TOTAL_HEADER, String.valueOf(newsServiceImpl.showApproximateTotal()))
+						.body(newsDTO);
+			}
+			
 			return ResponseEntity.ok().body(newsDTO);
 		} catch (ServiceException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
@@ -86,6 +101,26 @@ public class NewsController {
 		
 	}
 	
+	@GetMapping(value = "/news/feed")
+	@Operation(description = "Show news newest first by keyset pagination")
+	public ResponseEntity<?> getNewsFeed(@Parameter(description = "Token of next page given with previous page", required = false)
+			                             @RequestParam(required = false, name = "page_token")
+			                             String pageToken,
+			                             @Parameter(description = "Page size", required = false)
+			                             @RequestParam(required = false, name = "size", defaultValue = "" + DEFAULT_PAGE_SIZE)
+			                             @Positive(message = "Page size must be greater than or equals to 1")
+			                             @Max(value = MAX_PAGE_SIZE, message = "Page size must be less than or equals to 100")
+			                             Integer pageSize) {
+		
+		try {
+			KeysetPageDTO<NewsDTO> newsPage = newsServiceImpl.showAllByPageToken(pageToken, pageSize);
+			return ResponseEntity.ok().body(newsPage);
+		} catch (ServiceException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		
+	}
+	
 	@PostMapping(value = "/news")
 	@Operation(description = "Add news")
 	public ResponseEntity<?> addNews(@Parameter(description = "News dto for adding")
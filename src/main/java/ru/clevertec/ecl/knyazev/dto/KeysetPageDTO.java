@@ -0,0 +1,32 @@
+package ru.clevertec.ecl.knyazev.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "Keyset page DTO - page content and token of next page")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+@JsonInclude(value = Include.NON_NULL)
+public class KeysetPageDTO<T> {
+	
+	@Schema(description = "Page content")
+	private List<T> content;
+	
+	@Schema(description = "Token of next page, absent on last page")
+	private String nextPageToken;
+	
+}
@@ -4,6 +4,9 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -47,7 +50,8 @@ public class News implements Serializable {
 	@Column(name = "author", nullable = false, length = 40)
 	private String authorName;
 	
-	@OneToMany(mappedBy = "news", cascade = { CascadeType.REFRESH, CascadeType.REMOVE })
+	@OneToMany(mappedBy = "news", cascade = { CascadeType.REFRESH })
+	@OnDelete(action = OnDeleteAction.CASCADE)
 	private List<Comment> comments;
 	
 }
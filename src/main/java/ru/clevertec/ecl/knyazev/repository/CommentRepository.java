@@ -1,18 +1,48 @@
 package ru.clevertec.ecl.knyazev.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import jakarta.persistence.QueryHint;
 import ru.clevertec.ecl.knyazev.entity.Comment;
+import ru.clevertec.ecl.knyazev.search.IndexedText;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 	
+	Slice<Comment> findAllBy(Pageable pageable);
+	
+	@Query(value = "SELECT CASE WHEN pc.reltuples < 0 THEN (SELECT COUNT(*) FROM comment) "
+			     + "ELSE CAST(pc.reltuples AS BIGINT) END FROM pg_class pc WHERE pc.oid = CAST('comment' AS regclass)", 
+		   nativeQuery = true)
+	Long countApproximately();
+	
 	List<Comment> findAllByNewsId(Long newsId, Pageable pageable);
 
-	@Query(value = "SELECT c FROM Comment c WHERE c.text LIKE ?1")
+	@Query(value = "SELECT c FROM Comment c WHERE c.text LIKE ?1 ESCAPE '\\'")
 	List<Comment> findAllByPartCommentText(String textPart, Pageable pageable);
 
+	@Query(value = "SELECT c.* FROM comment c WHERE c.search_vector @@ websearch_to_tsquery('russian', ?1) "
+			     + "ORDER BY ts_rank_cd(c.search_vector, websearch_to_tsquery('russian', ?1)) DESC, c.id", 
+		   nativeQuery = true)
+	List<Comment> findAllByFullText(String searchQuery, Pageable pageable);
+
+	@Query(value = "SELECT c FROM Comment c ORDER BY c.time DESC, c.id DESC")
+	List<Comment> findLatest(Pageable pageable);
+	
+	@Query(value = "SELECT c FROM Comment c WHERE c.time <= ?1 AND (c.time < ?1 OR c.id < ?2) "
+			     + "ORDER BY c.time DESC, c.id DESC")
+	List<Comment> findLatestBefore(LocalDateTime time, Long id, Pageable pageable);
+	
+	@Query(value = "SELECT new ru.clevertec.ecl.knyazev.search.IndexedText(c.id, c.text) FROM Comment c")
+	@QueryHints(value = @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	Stream<IndexedText> streamAllIndexedTexts();
+	
 }
@@ -1,16 +1,49 @@
 package ru.clevertec.ecl.knyazev.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import jakarta.persistence.QueryHint;
 import ru.clevertec.ecl.knyazev.entity.News;
+import ru.clevertec.ecl.knyazev.search.IndexedText;
 
 public interface NewsRepository extends JpaRepository<News, Long> {
 	
-	@Query(value = "SELECT n FROM News n WHERE n.text LIKE ?1")
+	Slice<News> findAllBy(Pageable pageable);
+	
+	@Query(value = "SELECT CASE WHEN pc.reltuples < 0 THEN (SELECT COUNT(*) FROM news) "
+			     + "ELSE CAST(pc.reltuples AS BIGINT) END FROM pg_class pc WHERE pc.oid = CAST('news' AS regclass)", 
+		   nativeQuery = true)
+	Long countApproximately();
+	
+	@Query(value = "SELECT n FROM News n WHERE n.text LIKE ?1 ESCAPE '\\'")
 	List<News> findAllByPartNewsText(String partNewsText, Pageable pageable);
 	
+	@Query(value = "SELECT n.* FROM news n WHERE n.search_vector @@ websearch_to_tsquery('russian', ?1) "
+			     + "ORDER BY ts_rank_cd(n.search_vector, websearch_to_tsquery('russian', ?1)) DESC, n.id", 
+		   nativeQuery = true)
+	List<News> findAllByFullText(String searchQuery, Pageable pageable);
+	
+	@Query(value = "SELECT c.news.id FROM Comment c GROUP BY c.news.id ORDER BY COUNT(c.id) DESC")
+	List<Long> findMostCommentedNewsIds(Pageable pageable);
+	
+	@Query(value = "SELECT n FROM News n ORDER BY n.time DESC, n.id DESC")
+	List<News> findLatest(Pageable pageable);
+	
+	@Query(value = "SELECT n FROM News n WHERE n.time <= ?1 AND (n.time < ?1 OR n.id < ?2) "
+			     + "ORDER BY n.time DESC, n.id DESC")
+	List<News> findLatestBefore(LocalDateTime time, Long id, Pageable pageable);
+	
+	@Query(value = "SELECT new ru.clevertec.ecl.knyazev.search.IndexedText(n.id, CONCAT(n.title, ' ', n.text)) FROM News n")
+	@QueryHints(value = @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	Stream<IndexedText> streamAllIndexedTexts();
+	
 }
@@ -0,0 +1,21 @@
+package ru.clevertec.ecl.knyazev.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 
+ * Id and searchable text of news or comment, loaded for building of text search index.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@AllArgsConstructor
+@Getter
+public class IndexedText {
+	
+	private Long id;
+	
+	private String text;
+	
+}
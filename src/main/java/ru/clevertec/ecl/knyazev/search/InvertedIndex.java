@@ -0,0 +1,315 @@
+package ru.clevertec.ecl.knyazev.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 
+ * In-memory inverted index of document texts. Texts are split into lowercase terms
+ * (sequences of unicode letters and digits), every term has posting list of ids of
+ * documents containing it. Document terms are kept too, so document can be re-indexed
+ * or removed without its old text. Terms are kept once and documents refer to them
+ * by term ids.
+ * 
+ * Search finds documents containing all query terms by intersection of posting lists
+ * starting from the shortest one. Found ids are returned newest first (by descending id).
+ * 
+ * Index is thread-safe: searches are done in parallel, changes are exclusive.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+public class InvertedIndex {
+
+	private final Map<String, Integer> termIds = new HashMap<>();
+
+	private final List<PostingList> postingLists = new ArrayList<>();
+
+	private final Map<Long, int[]> documentTermIds = new HashMap<>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * 
+	 * Add document to index or re-index it. On re-indexing only posting lists of
+	 * removed and added terms are changed.
+	 * 
+	 * @param id   document id
+	 * @param text document text
+	 */
+	public void index(Long id, String text) {
+
+		Set<String> terms = tokenize(text);
+
+		lock.writeLock().lock();
+
+		try {
+			int[] documentTerms = documentTermIds.get(id);
+
+			if (documentTerms == null) {
+				addDocument(id, terms);
+			} else {
+				changeDocument(id, documentTerms, terms);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+	}
+
+	/**
+	 * 
+	 * Add document to index if index doesn't contain it. Used on index building, so
+	 * document indexed by later change is not replaced by its old text.
+	 * 
+	 * @param id   document id
+	 * @param text document text
+	 */
+	public void indexIfAbsent(Long id, String text) {
+
+		Set<String> terms = tokenize(text);
+
+		lock.writeLock().lock();
+
+		try {
+
+			if (!documentTermIds.containsKey(id)) {
+				addDocument(id, terms);
+			}
+
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+	}
+
+	/**
+	 * 
+	 * Remove document from index.
+	 * 
+	 * @param id document id
+	 */
+	public void remove(Long id) {
+
+		lock.writeLock().lock();
+
+		try {
+			removeDocument(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+	}
+
+	/**
+	 * 
+	 * Find ids of documents containing all terms of query.
+	 * 
+	 * @param query  search text
+	 * @param offset quantity of skipped found ids
+	 * @param limit  maximum quantity of returned ids
+	 * @return found ids newest first or empty list if query has no terms
+	 */
+	public List<Long> search(String query, long offset, int limit) {
+
+		Set<String> terms = tokenize(query);
+
+		if (terms.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+
+		lock.readLock().lock();
+
+		try {
+			List<PostingList> termsPostingLists = new ArrayList<>(terms.size());
+
+			for (String term : terms) {
+				Integer termId = termIds.get(term);
+
+				if (termId == null || postingLists.get(termId).isEmpty()) {
+					return List.of();
+				}
+
+				termsPostingLists.add(postingLists.get(termId));
+			}
+
+			termsPostingLists.sort((first, second) -> Integer.compare(first.size(), second.size()));
+
+			long[] foundIds = intersect(termsPostingLists);
+
+			List<Long> pageIds = new ArrayList<>(Math.min(limit, foundIds.length));
+
+			for (long i = foundIds.length - 1 - offset; i >= 0 && pageIds.size() < limit; i--) {
+				pageIds.add(foundIds[(int) i]);
+			}
+
+			return pageIds;
+		} finally {
+			lock.readLock().unlock();
+		}
+
+	}
+
+	/**
+	 * 
+	 * Get quantity of indexed documents.
+	 * 
+	 * @return documents quantity
+	 */
+	public int size() {
+
+		lock.readLock().lock();
+
+		try {
+			return documentTermIds.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+
+	}
+
+	/**
+	 * 
+	 * Split text into unique lowercase terms.
+	 * 
+	 * @param text text
+	 * @return terms in order of their first occurrence
+	 */
+	static Set<String> tokenize(String text) {
+
+		Set<String> terms = new LinkedHashSet<>();
+
+		if (text == null) {
+			return terms;
+		}
+
+		int length = text.length();
+		int termStart = -1;
+
+		for (int i = 0; i <= length; i++) {
+
+			boolean termChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+
+			if (termChar && termStart < 0) {
+				termStart = i;
+			} else if (!termChar && termStart >= 0) {
+				terms.add(text.substring(termStart, i).toLowerCase(Locale.ROOT));
+				termStart = -1;
+			}
+
+		}
+
+		return terms;
+	}
+
+	private void addDocument(Long id, Set<String> terms) {
+
+		int[] documentTerms = new int[terms.size()];
+		int i = 0;
+
+		for (String term : terms) {
+			int termId = termIdOf(term);
+
+			postingLists.get(termId).add(id);
+			documentTerms[i++] = termId;
+		}
+
+		documentTermIds.put(id, documentTerms);
+	}
+
+	private void changeDocument(Long id, int[] oldDocumentTerms, Set<String> terms) {
+
+		Set<Integer> oldTermIds = new HashSet<>(oldDocumentTerms.length * 2);
+
+		for (int termId : oldDocumentTerms) {
+			oldTermIds.add(termId);
+		}
+
+		int[] documentTerms = new int[terms.size()];
+		int i = 0;
+
+		for (String term : terms) {
+			int termId = termIdOf(term);
+
+			if (!oldTermIds.remove(termId)) {
+				postingLists.get(termId).add(id);
+			}
+
+			documentTerms[i++] = termId;
+		}
+
+		for (int termId : oldTermIds) {
+			postingLists.get(termId).remove(id);
+		}
+
+		documentTermIds.put(id, documentTerms);
+	}
+
+	private int termIdOf(String term) {
+		Integer termId = termIds.get(term);
+
+		if (termId == null) {
+			termId = postingLists.size();
+			termIds.put(term, termId);
+			postingLists.add(new PostingList());
+		}
+
+		return termId;
+	}
+
+	private void removeDocument(Long id) {
+
+		int[] documentTerms = documentTermIds.remove(id);
+
+		if (documentTerms == null) {
+			return;
+		}
+
+		for (int termId : documentTerms) {
+			postingLists.get(termId).remove(id);
+		}
+
+	}
+
+	private long[] intersect(List<PostingList> termsPostingLists) {
+
+		long[] ids = termsPostingLists.get(0).toArray();
+		int idsSize = ids.length;
+
+		for (int i = 1; i < termsPostingLists.size() && idsSize > 0; i++) {
+			PrimitiveIterator.OfLong iterator = termsPostingLists.get(i).iterator();
+
+			int intersectionSize = 0;
+			long current = iterator.hasNext() ? iterator.nextLong() : Long.MAX_VALUE;
+
+			for (int j = 0; j < idsSize; j++) {
+
+				while (current < ids[j] && iterator.hasNext()) {
+					current = iterator.nextLong();
+				}
+
+				if (current == ids[j]) {
+					ids[intersectionSize++] = ids[j];
+				} else if (current < ids[j]) {
+					break;
+				}
+
+			}
+
+			idsSize = intersectionSize;
+		}
+
+		return Arrays.copyOf(ids, idsSize);
+	}
+
+}
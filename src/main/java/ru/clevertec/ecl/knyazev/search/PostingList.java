@@ -0,0 +1,366 @@
+package ru.clevertec.ecl.knyazev.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * 
+ * Compressed sorted list of document ids of one term. Ids are kept in ascending
+ * order in blocks of at most block size ids. Every block keeps its ids as deltas
+ * between neighbouring ids written as variable length quantities (7 bits per byte),
+ * so dense ids take one byte per document. First id of block is written as is.
+ * 
+ * Appending id that is greater than the last id only writes its delta. Adding id
+ * into the middle and removing id re-encode only the block that contains id, so
+ * changes cost the same on lists of any length. Block that grows twice as large as
+ * block size is split, block that becomes small is merged with the next block.
+ * 
+ * Not thread-safe: posting lists are guarded by their inverted index.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+final class PostingList {
+
+	static final int BLOCK_SIZE = 256;
+
+	private final List<Block> blocks = new ArrayList<>(1);
+
+	private int size;
+
+	/**
+	 * 
+	 * Add document id.
+	 * 
+	 * @param id not negative document id
+	 * @return true if id was added, false if list already contains id
+	 */
+	boolean add(long id) {
+
+		if (blocks.isEmpty()) {
+			blocks.add(new Block());
+		}
+
+		int blockIndex = blockIndexOf(id);
+		Block block = blocks.get(blockIndex);
+
+		if (blockIndex == blocks.size() - 1 && (block.size == 0 || id > block.lastId)) {
+
+			if (block.size >= BLOCK_SIZE) {
+				block = new Block();
+				blocks.add(block);
+			}
+
+			block.append(id);
+			size++;
+			return true;
+		}
+
+		if (!block.insert(id)) {
+			return false;
+		}
+
+		if (block.size > 2 * BLOCK_SIZE) {
+			blocks.add(blockIndex + 1, block.split());
+		}
+
+		size++;
+		return true;
+	}
+
+	/**
+	 * 
+	 * Remove document id.
+	 * 
+	 * @param id document id
+	 * @return true if id was removed
+	 */
+	boolean remove(long id) {
+
+		if (size == 0) {
+			return false;
+		}
+
+		int blockIndex = blockIndexOf(id);
+		Block block = blocks.get(blockIndex);
+
+		if (!block.remove(id)) {
+			return false;
+		}
+
+		size--;
+
+		if (block.size == 0) {
+			blocks.remove(blockIndex);
+		} else if (block.size < BLOCK_SIZE / 4 && blockIndex + 1 < blocks.size()
+				&& block.size + blocks.get(blockIndex + 1).size <= BLOCK_SIZE) {
+			block.merge(blocks.remove(blockIndex + 1));
+		}
+
+		return true;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * 
+	 * Get size of compressed ids.
+	 * 
+	 * @return bytes quantity
+	 */
+	int sizeInBytes() {
+		int length = 0;
+
+		for (Block block : blocks) {
+			length += block.length;
+		}
+
+		return length;
+	}
+
+	long[] toArray() {
+		long[] ids = new long[size];
+
+		PrimitiveIterator.OfLong iterator = iterator();
+
+		for (int i = 0; i < size; i++) {
+			ids[i] = iterator.nextLong();
+		}
+
+		return ids;
+	}
+
+	/**
+	 * 
+	 * Get iterator of ids in ascending order. Iterator is invalid after changing of list.
+	 * 
+	 * @return ids iterator
+	 */
+	PrimitiveIterator.OfLong iterator() {
+
+		return new PrimitiveIterator.OfLong() {
+
+			private int blockIndex;
+			private int position;
+			private int returnedInBlock;
+			private int returned;
+			private long id;
+
+			@Override
+			public boolean hasNext() {
+				return returned < size;
+			}
+
+			@Override
+			public long nextLong() {
+
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				Block block = blocks.get(blockIndex);
+
+				if (returnedInBlock == block.size) {
+					block = blocks.get(++blockIndex);
+					position = 0;
+					returnedInBlock = 0;
+					id = 0L;
+				}
+
+				long delta = 0L;
+				int shift = 0;
+				byte current;
+
+				do {
+					current = block.bytes[position++];
+					delta |= (long) (current & 0x7F) << shift;
+					shift += 7;
+				} while ((current & 0x80) != 0);
+
+				id += delta;
+				returnedInBlock++;
+				returned++;
+
+				return id;
+			}
+
+		};
+	}
+
+	/**
+	 * 
+	 * Find block that should contain id: the last block with first id that is not
+	 * greater than id or the first block when id is less than all ids.
+	 */
+	private int blockIndexOf(long id) {
+		int low = 0;
+		int high = blocks.size() - 1;
+
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+
+			if (blocks.get(middle).firstId <= id) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+
+		return low;
+	}
+
+	private static final class Block {
+
+		private static final int DEFAULT_CAPACITY = 8;
+
+		private byte[] bytes = new byte[DEFAULT_CAPACITY];
+		private int length;
+
+		private int size;
+		private long firstId;
+		private long lastId;
+
+		private void append(long id) {
+			long delta = (size == 0) ? id : id - lastId;
+
+			ensureCapacity(10);
+
+			while ((delta & ~0x7FL) != 0L) {
+				bytes[length++] = (byte) ((delta & 0x7FL) | 0x80L);
+				delta >>>= 7;
+			}
+
+			bytes[length++] = (byte) delta;
+
+			if (size == 0) {
+				firstId = id;
+			}
+
+			lastId = id;
+			size++;
+		}
+
+		private boolean insert(long id) {
+			long[] ids = toArray();
+			int index = Arrays.binarySearch(ids, id);
+
+			if (index >= 0) {
+				return false;
+			}
+
+			int insertionIndex = -index - 1;
+
+			long[] newIds = new long[ids.length + 1];
+			System.arraycopy(ids, 0, newIds, 0, insertionIndex);
+			newIds[insertionIndex] = id;
+			System.arraycopy(ids, insertionIndex, newIds, insertionIndex + 1, ids.length - insertionIndex);
+
+			encode(newIds, 0, newIds.length);
+			return true;
+		}
+
+		private boolean remove(long id) {
+
+			if (size == 0 || id < firstId || id > lastId) {
+				return false;
+			}
+
+			long[] ids = toArray();
+			int index = Arrays.binarySearch(ids, id);
+
+			if (index < 0) {
+				return false;
+			}
+
+			long[] newIds = new long[ids.length - 1];
+			System.arraycopy(ids, 0, newIds, 0, index);
+			System.arraycopy(ids, index + 1, newIds, index, ids.length - index - 1);
+
+			encode(newIds, 0, newIds.length);
+			return true;
+		}
+
+		/**
+		 * 
+		 * Move the second half of ids to new block.
+		 */
+		private Block split() {
+			long[] ids = toArray();
+			int half = ids.length / 2;
+
+			Block secondHalf = new Block();
+			secondHalf.encode(ids, half, ids.length);
+
+			encode(ids, 0, half);
+
+			return secondHalf;
+		}
+
+		/**
+		 * 
+		 * Append all ids of next block.
+		 */
+		private void merge(Block next) {
+			long[] nextIds = next.toArray();
+
+			for (long id : nextIds) {
+				append(id);
+			}
+		}
+
+		private long[] toArray() {
+			long[] ids = new long[size];
+
+			long id = 0L;
+			int position = 0;
+
+			for (int i = 0; i < size; i++) {
+				long delta = 0L;
+				int shift = 0;
+				byte current;
+
+				do {
+					current = bytes[position++];
+					delta |= (long) (current & 0x7F) << shift;
+					shift += 7;
+				} while ((current & 0x80) != 0);
+
+				id += delta;
+				ids[i] = id;
+			}
+
+			return ids;
+		}
+
+		private void encode(long[] ids, int from, int to) {
+			bytes = new byte[Math.max(DEFAULT_CAPACITY, to - from + 1)];
+			length = 0;
+			size = 0;
+			firstId = 0L;
+			lastId = 0L;
+
+			for (int i = from; i < to; i++) {
+				append(ids[i]);
+			}
+		}
+
+		private void ensureCapacity(int additionalLength) {
+
+			if (length + additionalLength > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + additionalLength));
+			}
+
+		}
+
+	}
+
+}
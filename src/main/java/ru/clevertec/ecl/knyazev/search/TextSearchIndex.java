@@ -0,0 +1,138 @@
+package ru.clevertec.ecl.knyazev.search;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import ru.clevertec.ecl.knyazev.config.TextSearchConfig;
+
+/**
+ * 
+ * Embedded text search index of news (title and text) and comments (text). Used for
+ * searching on text part when search mode is INDEX, in other modes index is empty and
+ * its changes are skipped.
+ * 
+ * Index is built on startup by {@link TextSearchIndexBuilder} and is changed by services
+ * on adding, changing and removing of news and comments. Changes are applied after commit
+ * of current transaction, so rolled back changes don't get into index.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Component
+@NoArgsConstructor
+@AllArgsConstructor(onConstructor_ = { @Autowired })
+public class TextSearchIndex {
+
+	private final InvertedIndex newsIndex = new InvertedIndex();
+
+	private final InvertedIndex commentsIndex = new InvertedIndex();
+
+	private TextSearchConfig textSearchConfig;
+
+	public boolean isEnabled() {
+		return textSearchConfig != null && textSearchConfig.getMode() == TextSearchConfig.Mode.INDEX;
+	}
+
+	/**
+	 * 
+	 * Find ids of news containing all words of text. Ids are ordered newest first, so
+	 * only page number and page size of pageable are used.
+	 * 
+	 * @param text     searching text
+	 * @param pageable pageable for pagination
+	 * @return found news ids
+	 */
+	public List<Long> searchNews(String text, Pageable pageable) {
+		return newsIndex.search(text, pageable.getOffset(), pageable.getPageSize());
+	}
+
+	/**
+	 * 
+	 * Find ids of comments containing all words of text. Ids are ordered newest first, so
+	 * only page number and page size of pageable are used.
+	 * 
+	 * @param text     searching text
+	 * @param pageable pageable for pagination
+	 * @return found comments ids
+	 */
+	public List<Long> searchComments(String text, Pageable pageable) {
+		return commentsIndex.search(text, pageable.getOffset(), pageable.getPageSize());
+	}
+
+	public void indexNews(Long newsId, String title, String text) {
+		afterCommit(() -> newsIndex.index(newsId, newsText(title, text)));
+	}
+
+	public void removeNews(Long newsId) {
+		afterCommit(() -> newsIndex.remove(newsId));
+	}
+
+	public void indexComment(Long commentId, String text) {
+		afterCommit(() -> commentsIndex.index(commentId, text));
+	}
+
+	public void removeComment(Long commentId) {
+		afterCommit(() -> commentsIndex.remove(commentId));
+	}
+
+	/**
+	 * 
+	 * Add loaded news to index on its building.
+	 * 
+	 * @param news news id and text with title
+	 */
+	void loadNews(IndexedText news) {
+		newsIndex.indexIfAbsent(news.getId(), news.getText());
+	}
+
+	/**
+	 * 
+	 * Add loaded comment to index on its building.
+	 * 
+	 * @param comment comment id and text
+	 */
+	void loadComment(IndexedText comment) {
+		commentsIndex.indexIfAbsent(comment.getId(), comment.getText());
+	}
+
+	int newsSize() {
+		return newsIndex.size();
+	}
+
+	int commentsSize() {
+		return commentsIndex.size();
+	}
+
+	private String newsText(String title, String text) {
+		return (title == null ? "" : title) + " " + (text == null ? "" : text);
+	}
+
+	private void afterCommit(Runnable indexChange) {
+
+		if (!isEnabled()) {
+			return;
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCommit() {
+					indexChange.run();
+				}
+
+			});
+		} else {
+			indexChange.run();
+		}
+
+	}
+
+}
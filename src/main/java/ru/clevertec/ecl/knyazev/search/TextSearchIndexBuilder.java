@@ -0,0 +1,74 @@
+package ru.clevertec.ecl.knyazev.search;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.clevertec.ecl.knyazev.repository.CommentRepository;
+import ru.clevertec.ecl.knyazev.repository.NewsRepository;
+
+/**
+ * 
+ * Building of text search index on application startup. News and comments are read by
+ * streaming scans in read-only transaction, so they are not loaded into memory together.
+ * Builder is an application runner: application readiness state is changed to accepting
+ * traffic only after index is built.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Component
+@ConditionalOnProperty(prefix = "search.text", name = "mode", havingValue = "INDEX")
+@Slf4j
+public class TextSearchIndexBuilder implements ApplicationRunner {
+
+	private final NewsRepository newsRepository;
+
+	private final CommentRepository commentRepository;
+
+	private final TextSearchIndex textSearchIndex;
+
+	private final TransactionTemplate transactionTemplate;
+
+	@Autowired
+	public TextSearchIndexBuilder(NewsRepository newsRepository, CommentRepository commentRepository,
+			TextSearchIndex textSearchIndex, TransactionManager transactionManager) {
+		this.newsRepository = newsRepository;
+		this.commentRepository = commentRepository;
+		this.textSearchIndex = textSearchIndex;
+
+		transactionTemplate = new TransactionTemplate((PlatformTransactionManager) transactionManager);
+		transactionTemplate.setReadOnly(true);
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+
+		long startTime = System.nanoTime();
+
+		transactionTemplate.executeWithoutResult(status -> {
+
+			try (Stream<IndexedText> news = newsRepository.streamAllIndexedTexts()) {
+				news.forEach(textSearchIndex::loadNews);
+			}
+
+			try (Stream<IndexedText> comments = commentRepository.streamAllIndexedTexts()) {
+				comments.forEach(textSearchIndex::loadComment);
+			}
+
+		});
+
+		log.info("Text search index of {} news and {} comments was built in {} ms", textSearchIndex.newsSize(),
+				 textSearchIndex.commentsSize(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+	}
+
+}
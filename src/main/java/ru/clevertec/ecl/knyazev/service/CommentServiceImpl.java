@@ -3,9 +3,13 @@ package ru.clevertec.ecl.knyazev.service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,12 +17,17 @@ import org.springframework.transaction.annotation.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import ru.clevertec.ecl.knyazev.config.TextSearchConfig;
 import ru.clevertec.ecl.knyazev.dto.CommentDTO;
+import ru.clevertec.ecl.knyazev.dto.KeysetPageDTO;
 import ru.clevertec.ecl.knyazev.entity.Comment;
 import ru.clevertec.ecl.knyazev.entity.News;
 import ru.clevertec.ecl.knyazev.mapper.CommentMapper;
 import ru.clevertec.ecl.knyazev.repository.CommentRepository;
+import ru.clevertec.ecl.knyazev.search.TextSearchIndex;
 import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
+import ru.clevertec.ecl.knyazev.service.pagination.ApproximateTotalCache;
+import ru.clevertec.ecl.knyazev.service.pagination.PageToken;
 
 @Service
 @NoArgsConstructor
@@ -26,6 +35,8 @@ import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
 @Slf4j
 public class CommentServiceImpl implements CommentService {
 	
+	private static final String TABLE_NAME = "comment";
+	
 	private static final String FINDING_ERROR = "Not found";
 	private static final String ADDING_ERROR = "Error on adding comment";
 	private static final String CHANGING_ERROR = "Error on changing comment";
@@ -36,6 +47,12 @@ public class CommentServiceImpl implements CommentService {
 	private CommentMapper commentMapperImpl;
 	
 	private CommentRepository commentRepository;
+	
+	private TextSearchConfig textSearchConfig;
+	
+	private TextSearchIndex textSearchIndex;
+	
+	private ApproximateTotalCache approximateTotalCache;
 
 	@Override
 	@Transactional(readOnly = true)
@@ -54,7 +71,7 @@ public class CommentServiceImpl implements CommentService {
 	@Transactional(readOnly = true)
 	public List<CommentDTO> showAll(Pageable pageable) throws ServiceException {
 		
-		List<Comment> comments = commentRepository.findAll(pageable).toList();
+		List<Comment> comments = commentRepository.findAllBy(pageable).getContent();
 		
 		if (comments.isEmpty()) {
 			log.error("Error. Can't find comments on given page={} and pagesize={}", pageable.getPageNumber(), pageable.getPageSize());
@@ -65,6 +82,11 @@ public class CommentServiceImpl implements CommentService {
 		
 	}
 	
+	@Override
+	public Long showApproximateTotal() {
+		return approximateTotalCache.get(TABLE_NAME, commentRepository::countApproximately);
+	}
+	
 	@Override
 	@Transactional(readOnly = true)
 	public List<CommentDTO> showAllOrByTextPart(String textPart, Pageable pageable) throws ServiceException {
@@ -72,9 +94,8 @@ public class CommentServiceImpl implements CommentService {
 		List<CommentDTO> commentsDTO = new ArrayList<>();
 		
 		if (textPart != null && !textPart.isBlank()) {
-			textPart = "%" + textPart + "%";
 			
-			List<Comment> comments = commentRepository.findAllByPartCommentText(textPart, pageable);
+			List<Comment> comments = findAllByTextPart(textPart, pageable);
 			
 			if (comments.isEmpty()) {
 				log.error("Error. Can't find comments on given text part={}, page={} and pagesize={}", textPart, pageable.getPageNumber(), pageable.getPageSize());
@@ -108,6 +129,36 @@ public class CommentServiceImpl implements CommentService {
 		return commentMapperImpl.toCommentsDTOWithoutNews(comments);		
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetPageDTO<CommentDTO> showAllByPageToken(String pageToken, int pageSize) throws ServiceException {
+		
+		Pageable nextPageable = PageRequest.of(0, pageSize + 1);
+		
+		List<Comment> comments;
+		
+		if (pageToken == null || pageToken.isBlank()) {
+			comments = commentRepository.findLatest(nextPageable);
+		} else {
+			PageToken previousPageToken = PageToken.decode(pageToken);
+			comments = commentRepository.findLatestBefore(previousPageToken.getTime(), previousPageToken.getId(), nextPageable);
+		}
+		
+		String nextPageToken = null;
+		
+		if (comments.size() > pageSize) {
+			comments = comments.subList(0, pageSize);
+			
+			Comment lastComment = comments.get(pageSize - 1);
+			nextPageToken = new PageToken(lastComment.getTime(), lastComment.getId()).encode();
+		}
+		
+		return KeysetPageDTO.<CommentDTO>builder()
+				            .content(commentMapperImpl.toCommentsDTO(comments))
+				            .nextPageToken(nextPageToken)
+				            .build();
+	}
+
 	@Override
 	@Transactional(rollbackFor = ServiceException.class)
 	public CommentDTO add(CommentDTO commentDTO) throws ServiceException {
@@ -127,6 +178,8 @@ public class CommentServiceImpl implements CommentService {
 			
 			Comment savedComment = commentRepository.save(savingComment);
 			
+			textSearchIndex.indexComment(savedComment.getId(), savedComment.getText());
+			
 			return commentMapperImpl.toCommentDTO(savedComment);
 		} catch (DataAccessException e) {
 			log.error("Error when adding comment: {}", e.getMessage(), e);
@@ -168,7 +221,11 @@ public class CommentServiceImpl implements CommentService {
 				dbComment.setNews(dbNews);
 			}
 			
-			return commentMapperImpl.toCommentDTO(commentRepository.save(dbComment));
+			Comment savedComment = commentRepository.save(dbComment);
+			
+			textSearchIndex.indexComment(savedComment.getId(), savedComment.getText());
+			
+			return commentMapperImpl.toCommentDTO(savedComment);
 			
 		} catch (DataAccessException e) {
 			log.error("Error when changing comment: {}", e.getMessage(), e);
@@ -197,6 +254,8 @@ public class CommentServiceImpl implements CommentService {
 			
 			commentRepository.delete(dbComment);
 			
+			textSearchIndex.removeComment(dbComment.getId());
+			
 		} catch (DataAccessException e) {
 			log.error("Error when removing comment: {}", e.getMessage(), e);
 			throw new ServiceException(REMOVING_ERROR);
@@ -204,4 +263,64 @@ public class CommentServiceImpl implements CommentService {
 		
 	}	
 
+	/**
+	 * 
+	 * Find comments on text part by search mode. Full-text search results are ordered by 
+	 * relevance and index search results are ordered newest first, so only page number 
+	 * and page size of pageable are used.
+	 * 
+	 * @param textPart searching text part
+	 * @param pageable pageable for pagination and sorting
+	 * @return found comments
+	 */
+	private List<Comment> findAllByTextPart(String textPart, Pageable pageable) {
+		
+		if (textSearchIndex != null && textSearchIndex.isEnabled()) {
+			return findAllByIndex(textPart, pageable);
+		}
+		
+		if (textSearchConfig != null && textSearchConfig.getMode() == TextSearchConfig.Mode.FULL_TEXT) {
+			return commentRepository.findAllByFullText(textPart, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+		}
+		
+		return commentRepository.findAllByPartCommentText(toContainsPattern(textPart), pageable);
+	}
+
+	/**
+	 * 
+	 * Find comments on words of text part by text search index. Comments are loaded by 
+	 * found ids in order of ids. Ids of comments which are not found in database (removed
+	 * with their news) are removed from index.
+	 * 
+	 * @param textPart searching text part
+	 * @param pageable pageable for pagination
+	 * @return found comments
+	 */
+	private List<Comment> findAllByIndex(String textPart, Pageable pageable) {
+		
+		List<Long> commentsIds = textSearchIndex.searchComments(textPart, pageable);
+		
+		if (commentsIds.isEmpty()) {
+			return new ArrayList<>();
+		}
+		
+		Map<Long, Comment> dbComments = commentRepository.findAllById(commentsIds).stream()
+				                                         .collect(Collectors.toMap(Comment::getId, Function.identity()));
+		
+		List<Comment> comments = new ArrayList<>();
+		
+		for (Long commentId : commentsIds) {
+			Comment foundComment = dbComments.get(commentId);
+			
+			if (foundComment != null) {
+				comments.add(foundComment);
+			} else {
+				textSearchIndex.removeComment(commentId);
+			}
+			
+		}
+		
+		return comments;
+	}
+
 }
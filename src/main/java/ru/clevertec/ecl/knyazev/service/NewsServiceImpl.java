@@ -3,9 +3,13 @@ package ru.clevertec.ecl.knyazev.service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,12 +17,17 @@ import org.springframework.transaction.annotation.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import ru.clevertec.ecl.knyazev.config.TextSearchConfig;
 import ru.clevertec.ecl.knyazev.dto.CommentDTO;
+import ru.clevertec.ecl.knyazev.dto.KeysetPageDTO;
 import ru.clevertec.ecl.knyazev.dto.NewsDTO;
 import ru.clevertec.ecl.knyazev.entity.News;
 import ru.clevertec.ecl.knyazev.mapper.NewsMapper;
 import ru.clevertec.ecl.knyazev.repository.NewsRepository;
+import ru.clevertec.ecl.knyazev.search.TextSearchIndex;
 import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
+import ru.clevertec.ecl.knyazev.service.pagination.ApproximateTotalCache;
+import ru.clevertec.ecl.knyazev.service.pagination.PageToken;
 
 @Service
 @NoArgsConstructor
@@ -26,6 +35,8 @@ import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
 @Slf4j
 public class NewsServiceImpl implements NewsService {
 	
+	private static final String TABLE_NAME = "news";
+	
 	private static final String FINDING_ERROR = "Not found";
 	private static final String ADDING_ERROR = "Error on adding news";
 	private static final String CHANGING_ERROR = "Error on changing news";
@@ -38,6 +49,12 @@ public class NewsServiceImpl implements NewsService {
 	private NewsRepository newsRepository;
 	
 	private CommentService commentServiceImpl;
+	
+	private TextSearchConfig textSearchConfig;
+	
+	private TextSearchIndex textSearchIndex;
+	
+	private ApproximateTotalCache approximateTotalCache;
 
 	@Override
 	@Transactional(readOnly = true)
@@ -69,7 +86,7 @@ public class NewsServiceImpl implements NewsService {
 	@Transactional(readOnly = true)
 	public List<NewsDTO> showAll(Pageable pageable) throws ServiceException {
 		
-		List<News> news = newsRepository.findAll(pageable).toList();
+		List<News> news = newsRepository.findAllBy(pageable).getContent();
 		
 		if (news.isEmpty()) {
 			log.error("Error. Can't find news on given page={} and pagesize={}", pageable.getPageNumber(), pageable.getPageSize());
@@ -80,6 +97,11 @@ public class NewsServiceImpl implements NewsService {
 		
 	}
 	
+	@Override
+	public Long showApproximateTotal() {
+		return approximateTotalCache.get(TABLE_NAME, newsRepository::countApproximately);
+	}
+	
 	@Override
 	@Transactional(readOnly = true)
 	public List<NewsDTO> showAllOrByTextPart(String textPart, Pageable pageable) throws ServiceException {
@@ -87,9 +109,8 @@ public class NewsServiceImpl implements NewsService {
 		List<NewsDTO> newsDTO = new ArrayList<>();
 		
 		if (textPart != null && !textPart.isBlank()) {
-			textPart = "%" + textPart + "%";
 			
-			List<News> news = newsRepository.findAllByPartNewsText(textPart, pageable);
+			List<News> news = findAllByTextPart(textPart, pageable);
 			
 			if (news.isEmpty()) {
 				log.error("Error. Can't find news on given text part={}, page={} and pagesize={}", textPart, pageable.getPageNumber(), pageable.getPageSize());
@@ -105,6 +126,36 @@ public class NewsServiceImpl implements NewsService {
 		return newsDTO;
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public KeysetPageDTO<NewsDTO> showAllByPageToken(String pageToken, int pageSize) throws ServiceException {
+		
+		Pageable nextPageable = PageRequest.of(0, pageSize + 1);
+		
+		List<News> news;
+		
+		if (pageToken == null || pageToken.isBlank()) {
+			news = newsRepository.findLatest(nextPageable);
+		} else {
+			PageToken previousPageToken = PageToken.decode(pageToken);
+			news = newsRepository.findLatestBefore(previousPageToken.getTime(), previousPageToken.getId(), nextPageable);
+		}
+		
+		String nextPageToken = null;
+		
+		if (news.size() > pageSize) {
+			news = news.subList(0, pageSize);
+			
+			News lastNews = news.get(pageSize - 1);
+			nextPageToken = new PageToken(lastNews.getTime(), lastNews.getId()).encode();
+		}
+		
+		return KeysetPageDTO.<NewsDTO>builder()
+				            .content(newsMapperImpl.toNewsDTOsWithoutComments(news))
+				            .nextPageToken(nextPageToken)
+				            .build();
+	}
+
 	@Override
 	@Transactional(rollbackFor = ServiceException.class)
 	public NewsDTO add(NewsDTO newsDTO) throws ServiceException {
@@ -122,6 +173,8 @@ public class NewsServiceImpl implements NewsService {
 			
 			News savedNews = newsRepository.save(savingNews);
 			
+			textSearchIndex.indexNews(savedNews.getId(), savedNews.getTitle(), savedNews.getText());
+			
 			return newsMapperImpl.toNewsDTO(savedNews);
 		} catch (DataAccessException e) {
 			log.error("Error when adding news: {}", e.getMessage(), e);
@@ -159,7 +212,11 @@ public class NewsServiceImpl implements NewsService {
 				dbNews.setText(changingNewsText);
 			}
 			
-			return newsMapperImpl.toNewsDTOWithoutComments(newsRepository.save(dbNews));
+			News savedNews = newsRepository.save(dbNews);
+			
+			textSearchIndex.indexNews(savedNews.getId(), savedNews.getTitle(), savedNews.getText());
+			
+			return newsMapperImpl.toNewsDTOWithoutComments(savedNews);
 			
 		} catch (DataAccessException e) {
 			log.error("Error when changing news: {}", e.getMessage(), e);
@@ -187,6 +244,8 @@ public class NewsServiceImpl implements NewsService {
 			
 			newsRepository.delete(dbNews);
 			
+			textSearchIndex.removeNews(dbNews.getId());
+			
 		} catch (DataAccessException e) {
 			log.error("Error when removing news: {}", e.getMessage(), e);
 			throw new ServiceException(REMOVING_ERROR);
@@ -194,4 +253,64 @@ public class NewsServiceImpl implements NewsService {
 		
 	}	
 
+	/**
+	 * 
+	 * Find news on text part by search mode. Full-text search results are ordered by 
+	 * relevance and index search results are ordered newest first, so only page number 
+	 * and page size of pageable are used.
+	 * 
+	 * @param textPart searching text part
+	 * @param pageable pageable for pagination and sorting
+	 * @return found news
+	 */
+	private List<News> findAllByTextPart(String textPart, Pageable pageable) {
+		
+		if (textSearchIndex != null && textSearchIndex.isEnabled()) {
+			return findAllByIndex(textPart, pageable);
+		}
+		
+		if (textSearchConfig != null && textSearchConfig.getMode() == TextSearchConfig.Mode.FULL_TEXT) {
+			return newsRepository.findAllByFullText(textPart, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+		}
+		
+		return newsRepository.findAllByPartNewsText(toContainsPattern(textPart), pageable);
+	}
+
+	/**
+	 * 
+	 * Find news on words of text part by text search index. News are loaded by found ids
+	 * in order of ids. Ids of news which are not found in database (removed) are removed 
+	 * from index.
+	 * 
+	 * @param textPart searching text part
+	 * @param pageable pageable for pagination
+	 * @return found news
+	 */
+	private List<News> findAllByIndex(String textPart, Pageable pageable) {
+		
+		List<Long> newsIds = textSearchIndex.searchNews(textPart, pageable);
+		
+		if (newsIds.isEmpty()) {
+			return new ArrayList<>();
+		}
+		
+		Map<Long, News> dbNews = newsRepository.findAllById(newsIds).stream()
+				                               .collect(Collectors.toMap(News::getId, Function.identity()));
+		
+		List<News> news = new ArrayList<>();
+		
+		for (Long newsId : newsIds) {
+			News foundNews = dbNews.get(newsId);
+			
+			if (foundNews != null) {
+				news.add(foundNews);
+			} else {
+				textSearchIndex.removeNews(newsId);
+			}
+			
+		}
+		
+		return news;
+	}
+
 }
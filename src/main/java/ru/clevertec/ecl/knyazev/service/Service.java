@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.data.domain.Pageable;
 
+import ru.clevertec.ecl.knyazev.dto.KeysetPageDTO;
 import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
 
 public interface Service<T> {
@@ -30,6 +31,16 @@ public interface Service<T> {
 	 */
 	List<T> showAll(Pageable pageable) throws ServiceException;
 	
+	/**
+	 * 
+	 * Show approximate quantity of all T objects. Quantity is taken from database
+	 * statistics instead of counting, so it may differ from exact quantity
+	 * 
+	 * @return approximate quantity of T objects
+	 * 
+	 */
+	Long showApproximateTotal();
+	
 	/**
 	 * 
 	 * Show all T objects on String textPart with pageable (page, size, sort).
@@ -43,6 +54,20 @@ public interface Service<T> {
 	 * 
 	 */
 	List<T> showAllOrByTextPart(String textPart, Pageable pageable) throws ServiceException;
+	
+	/**
+	 * 
+	 * Show T objects newest first (by creation time and id) using keyset pagination.
+	 * Page is found after the last object of previous page, so deep pages are read
+	 * as fast as the first one.
+	 * 
+	 * @param pageToken token of next page given with previous page or null for first page
+	 * @param pageSize quantity of T objects on page
+	 * @return page of T objects with token of next page or without token on last page
+	 * @throws ServiceException on invalid page token
+	 * 
+	 */
+	KeysetPageDTO<T> showAllByPageToken(String pageToken, int pageSize) throws ServiceException;
 
 	/**
 	 * 
@@ -98,4 +123,22 @@ public interface Service<T> {
 		
 		return false;		
 	}
+	
+	/**
+	 * 
+	 * Create LIKE pattern for searching of text part as a substring. Wildcards and escape
+	 * character of text part are escaped, so they are searched as usual characters.
+	 * 
+	 * @param textPart searching text part
+	 * @return LIKE pattern with backslash as escape character
+	 * 
+	 */
+	default String toContainsPattern(String textPart) {
+		
+		String escapedTextPart = textPart.replace("\\", "\\\\")
+				                         .replace("%", "\\%")
+				                         .replace("_", "\\_");
+		
+		return "%" + escapedTextPart + "%";
+	}
 }
@@ -0,0 +1,59 @@
+package ru.clevertec.ecl.knyazev.service.pagination;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import ru.clevertec.ecl.knyazev.cache.Cache;
+import ru.clevertec.ecl.knyazev.cache.ConcurrentCache;
+import ru.clevertec.ecl.knyazev.cache.ExpiringCache;
+import ru.clevertec.ecl.knyazev.cache.LRUCache;
+import ru.clevertec.ecl.knyazev.config.PaginationConfig;
+
+/**
+ * 
+ * Approximate totals of tables (quantity of news and comments) kept during time to
+ * live. Totals are cached apart from pages, so adding and removing of records don't
+ * evict them: approximate total is allowed to be stale until it expires.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Component
+public class ApproximateTotalCache {
+
+	private static final int MAX_TOTALS = 16;
+
+	private final Cache<String, Long> totals;
+
+	@Autowired
+	public ApproximateTotalCache(PaginationConfig paginationConfig) {
+		totals = new ExpiringCache<>(new ConcurrentCache<String, ExpiringCache.Entry<Long>>(MAX_TOTALS, 1, LRUCache::new),
+				                     paginationConfig.getApproximateTotalTimeToLive());
+	}
+
+	/**
+	 * 
+	 * Get cached total or load and cache it when it is absent or expired.
+	 * 
+	 * @param table  name of table
+	 * @param loader loads approximate total of table
+	 * @return approximate total
+	 */
+	public Long get(String table, Supplier<Long> loader) {
+
+		Long total = totals.get(table);
+
+		if (total == null) {
+			total = loader.get();
+
+			if (total != null) {
+				totals.put(table, total);
+			}
+		}
+
+		return total;
+	}
+
+}
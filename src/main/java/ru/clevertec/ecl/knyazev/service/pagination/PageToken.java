@@ -0,0 +1,82 @@
+package ru.clevertec.ecl.knyazev.service.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
+
+/**
+ * 
+ * Continuation token of keyset pagination: creation time and id of the last record
+ * of page. Next page starts after this record in order of creation time and id, so
+ * database seeks it by index instead of reading and skipping previous pages.
+ * 
+ * Token is given to clients as opaque url-safe string.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class PageToken {
+	
+	private static final String INVALID_TOKEN_ERROR = "Invalid page token";
+	
+	private static final String SEPARATOR = "_";
+	
+	private LocalDateTime time;
+	
+	private Long id;
+	
+	/**
+	 * 
+	 * Encode token to opaque string.
+	 * 
+	 * @return url-safe token string
+	 * 
+	 */
+	public String encode() {
+		String tokenValue = time + SEPARATOR + id;
+		
+		return Base64.getUrlEncoder()
+				     .withoutPadding()
+				     .encodeToString(tokenValue.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * 
+	 * Decode token from string given by {@link #encode()}.
+	 * 
+	 * @param token token string
+	 * @return page token
+	 * @throws ServiceException when token is invalid
+	 * 
+	 */
+	public static PageToken decode(String token) throws ServiceException {
+		
+		try {
+			String tokenValue = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			
+			int separatorIndex = tokenValue.lastIndexOf(SEPARATOR);
+			
+			if (separatorIndex < 0) {
+				throw new ServiceException(INVALID_TOKEN_ERROR);
+			}
+			
+			LocalDateTime time = LocalDateTime.parse(tokenValue.substring(0, separatorIndex));
+			Long id = Long.valueOf(tokenValue.substring(separatorIndex + 1));
+			
+			return new PageToken(time, id);
+		} catch (IllegalArgumentException | DateTimeParseException e) {
+			throw new ServiceException(INVALID_TOKEN_ERROR, e);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,11 @@
+ALTER TABLE news ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+GENERATED ALWAYS AS (
+setweight(to_tsvector('russian', title), 'A') || setweight(to_tsvector('russian', text_data), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS news_search_vector_idx ON news USING GIN (search_vector);
+
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+GENERATED ALWAYS AS (to_tsvector('russian', text_data)) STORED;
+
+CREATE INDEX IF NOT EXISTS comment_search_vector_idx ON comment USING GIN (search_vector);
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS news_create_date_time_id_idx ON news (create_date_time DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS comment_create_date_time_id_idx ON comment (create_date_time DESC, id DESC);
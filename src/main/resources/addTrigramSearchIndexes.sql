@@ -0,0 +1,5 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS news_text_data_trgm_idx ON news USING GIN (text_data gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS comment_text_data_trgm_idx ON comment USING GIN (text_data gin_trgm_ops);
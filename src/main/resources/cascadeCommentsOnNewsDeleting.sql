@@ -0,0 +1,6 @@
+ALTER TABLE comment DROP CONSTRAINT IF EXISTS fk_news;
+
+ALTER TABLE comment ADD CONSTRAINT fk_news
+FOREIGN KEY (news_id)
+REFERENCES news (id)
+ON DELETE CASCADE ON UPDATE NO ACTION;
@@ -0,0 +1,112 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.clevertec.ecl.knyazev.entity.Comment;
+import ru.clevertec.ecl.knyazev.entity.News;
+
+/**
+ * 
+ * Compares size of serialized value and time of serializing and deserializing
+ * of JDK serializer and binary serializer (with and without compression) on
+ * typical cached values. Run by gradle benchmark task.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Slf4j
+@Tag("benchmark")
+public class BinaryRedisSerializerBenchmark {
+
+	private static final int WARM_UP_ITERATIONS = 20_000;
+	private static final int MEASURED_ITERATIONS = 50_000;
+
+	private static final int PAGE_SIZE = 20;
+
+	@Test
+	public void compareSerializers() {
+		News news = createNews(1L);
+
+		Comment comment = Comment.builder()
+				.id(1L)
+				.time(LocalDateTime.of(2023, 5, 10, 12, 30))
+				.text("Комментарий пользователя к новости. ".repeat(5))
+				.userName("Vitya")
+				.news(news)
+				.build();
+
+		List<News> pageContent = new ArrayList<>();
+
+		for (long id = 1L; id <= PAGE_SIZE; id++) {
+			pageContent.add(createNews(id));
+		}
+
+		Page<News> newsPage = new PageImpl<>(pageContent, PageRequest.of(0, PAGE_SIZE), 1_000L);
+
+		RedisSerializer<Object> jdkSerializer = new JdkSerializationRedisSerializer();
+		RedisSerializer<Object> binarySerializer = new BinaryRedisSerializer();
+		RedisSerializer<Object> compressingSerializer = new BinaryRedisSerializer(1_024);
+
+		for (Object value : List.of(1L, news, comment, newsPage)) {
+			int jdkSize = measure("JDK", jdkSerializer, value);
+			int binarySize = measure("binary", binarySerializer, value);
+			int compressedSize = measure("binary compressed", compressingSerializer, value);
+
+			assertThat(binarySize).isLessThan(jdkSize);
+			assertThat(compressedSize).isLessThanOrEqualTo(binarySize);
+		}
+	}
+
+	private int measure(String serializerName, RedisSerializer<Object> serializer, Object value) {
+		byte[] serializedValue = serializer.serialize(value);
+
+		for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+			serializer.deserialize(serializer.serialize(value));
+		}
+
+		long serializeStart = System.nanoTime();
+
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			serializedValue = serializer.serialize(value);
+		}
+
+		long serializeTime = (System.nanoTime() - serializeStart) / MEASURED_ITERATIONS;
+
+		long deserializeStart = System.nanoTime();
+
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			serializer.deserialize(serializedValue);
+		}
+
+		long deserializeTime = (System.nanoTime() - deserializeStart) / MEASURED_ITERATIONS;
+
+		log.info("{} of {}: {} bytes, serialize {} ns, deserialize {} ns", serializerName,
+				value.getClass().getSimpleName(), serializedValue.length, serializeTime, deserializeTime);
+
+		return serializedValue.length;
+	}
+
+	private News createNews(Long id) {
+		return News.builder()
+				.id(id)
+				.time(LocalDateTime.of(2023, 5, 10, 12, 30).plusMinutes(id))
+				.title("News title " + id)
+				.text("Текст новости о событиях в городе и мире. ".repeat(30))
+				.authorName("Misha")
+				.build();
+	}
+
+}
@@ -0,0 +1,121 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import ru.clevertec.ecl.knyazev.entity.Comment;
+import ru.clevertec.ecl.knyazev.entity.News;
+
+public class BinaryRedisSerializerTest {
+
+	private BinaryRedisSerializer binaryRedisSerializer = new BinaryRedisSerializer();
+
+	private BinaryRedisSerializer compressingRedisSerializer = new BinaryRedisSerializer(256);
+
+	@ParameterizedTest
+	@MethodSource("getCachedValues")
+	public void checkDeserializeShouldReturnSerializedValue(Object value) {
+		assertAll(
+				() -> assertThat(binaryRedisSerializer.deserialize(binaryRedisSerializer.serialize(value))).isEqualTo(value),
+				() -> assertThat(compressingRedisSerializer.deserialize(compressingRedisSerializer.serialize(value))).isEqualTo(value)
+		);
+	}
+
+	@Test
+	public void checkSerializeShouldCompressLargeValue() {
+		Page<News> news = new PageImpl<>(List.of(createNews(1L, 100), createNews(2L, 100)), PageRequest.of(0, 2), 10L);
+
+		assertThat(compressingRedisSerializer.serialize(news).length)
+				.isLessThan(binaryRedisSerializer.serialize(news).length / 4);
+	}
+
+	@Test
+	public void checkSerializeShouldWriteSliceSmallerThanJdkSerializer() {
+		Slice<News> news = new SliceImpl<>(List.of(createNews(1L, 1), createNews(2L, 1)), PageRequest.of(0, 2), true);
+
+		assertThat(binaryRedisSerializer.serialize(news).length)
+				.isLessThan(new JdkSerializationRedisSerializer().serialize(news).length);
+	}
+
+	@Test
+	public void checkDeserializeShouldReturnValueSerializedByJdkSerializer() {
+		News news = createNews(1L, 1);
+
+		byte[] jdkSerializedNews = new JdkSerializationRedisSerializer().serialize(news);
+
+		assertThat(binaryRedisSerializer.deserialize(jdkSerializedNews)).isEqualTo(news);
+	}
+
+	@Test
+	public void checkSerializeShouldReturnNullOnNull() {
+		assertAll(
+				() -> assertThat(binaryRedisSerializer.serialize(null)).isNull(),
+				() -> assertThat(binaryRedisSerializer.deserialize(null)).isNull()
+		);
+	}
+
+	@Test
+	public void checkDeserializeShouldThrowSerializationExceptionOnTruncatedBytes() {
+		byte[] serializedNews = compressingRedisSerializer.serialize(createNews(1L, 100));
+
+		assertThatExceptionOfType(SerializationException.class)
+				.isThrownBy(() -> compressingRedisSerializer.deserialize(Arrays.copyOf(serializedNews, serializedNews.length - 5)));
+	}
+
+	private static Stream<Arguments> getCachedValues() {
+		Comment comment = Comment.builder()
+				.id(3L)
+				.time(LocalDateTime.of(2023, 5, 10, 12, 30))
+				.text("Комментарий к новости")
+				.userName("Vitya")
+				.news(createNews(1L, 1))
+				.build();
+
+		return Stream.of(
+				Arguments.of(1L),
+				Arguments.of(Integer.MIN_VALUE),
+				Arguments.of(createNews(1L, 100)),
+				Arguments.of(comment),
+				Arguments.of(List.of(createNews(1L, 1), createNews(2L, 1))),
+				Arguments.of(List.of(comment)),
+				Arguments.of(new PageImpl<>(List.of(createNews(1L, 1)),
+						PageRequest.of(3, 1, Sort.by(Sort.Order.desc("time").ignoreCase(), Sort.Order.asc("id"))), 10L)),
+				Arguments.of(new PageImpl<>(List.of(comment))),
+				Arguments.of(new SliceImpl<>(List.of(createNews(1L, 1), createNews(2L, 1)),
+						PageRequest.of(2, 2, Sort.by(Sort.Order.asc("title"))), true)),
+				Arguments.of(new SliceImpl<>(List.of(comment), PageRequest.of(0, 3), false)),
+				Arguments.of("findAll(page=0;size=10;sort=[])"),
+				Arguments.of(List.of("Not binary value"))
+		);
+	}
+
+	private static News createNews(Long id, int textRepeats) {
+		return News.builder()
+				.id(id)
+				.time(LocalDateTime.of(2023, 5, 10, 12, 30).plusMinutes(id))
+				.title("News title " + id)
+				.text("Текст новости о событиях. ".repeat(textRepeats))
+				.authorName("Misha")
+				.build();
+	}
+
+}
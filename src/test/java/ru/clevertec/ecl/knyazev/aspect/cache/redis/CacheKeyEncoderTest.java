@@ -0,0 +1,69 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public class CacheKeyEncoderTest {
+
+	private CacheKeyEncoder cacheKeyEncoder = new CacheKeyEncoder();
+
+	@Test
+	public void checkEncodeShouldReturnDifferentKeysOnArgsWithSameHash() {
+		Object[] args = { "%Aa%", PageRequest.of(0, 10) };
+		Object[] collidingArgs = { "%BB%", PageRequest.of(0, 10) };
+
+		assertAll(
+				() -> assertThat(Objects.hash(args)).isEqualTo(Objects.hash(collidingArgs)),
+				() -> assertThat(cacheKeyEncoder.encode("findAllByPartNewsText", args))
+						.isNotEqualTo(cacheKeyEncoder.encode("findAllByPartNewsText", collidingArgs))
+		);
+	}
+
+	@Test
+	public void checkEncodeShouldReturnDifferentKeysOnDifferentMethods() {
+		Object[] args = { 1L, PageRequest.of(0, 10) };
+
+		assertThat(cacheKeyEncoder.encode("findAllByNewsId", args))
+				.isNotEqualTo(cacheKeyEncoder.encode("findAllByPartCommentText", args));
+	}
+
+	@Test
+	public void checkEncodeShouldReturnDifferentKeysOnDifferentSort() {
+		Pageable sortedByTime = PageRequest.of(0, 10, Sort.by("time"));
+		Pageable sortedByTimeDesc = PageRequest.of(0, 10, Sort.by("time").descending());
+		Pageable sortedByTimeIgnoreCase = PageRequest.of(0, 10, Sort.by(Sort.Order.asc("time").ignoreCase()));
+
+		assertThat(cacheKeyEncoder.encode("findAll", new Object[] { sortedByTime }))
+				.isNotEqualTo(cacheKeyEncoder.encode("findAll", new Object[] { sortedByTimeDesc }))
+				.isNotEqualTo(cacheKeyEncoder.encode("findAll", new Object[] { sortedByTimeIgnoreCase }));
+	}
+
+	@Test
+	public void checkEncodeShouldEscapeStringArgs() {
+		Object[] args = { "a\",\"b" };
+		Object[] splitArgs = { "a", "b" };
+
+		assertThat(cacheKeyEncoder.encode("findAll", args)).isNotEqualTo(cacheKeyEncoder.encode("findAll", splitArgs));
+	}
+
+	@Test
+	public void checkEncodeShouldReturnStableHashKeyOnLongArgs() {
+		Object[] args = { "%" + "long text part ".repeat(20) + "%", PageRequest.of(0, 10) };
+
+		String key = cacheKeyEncoder.encode("findAllByPartNewsText", args);
+
+		assertAll(
+				() -> assertThat(key).isEqualTo(cacheKeyEncoder.encode("findAllByPartNewsText", args.clone())),
+				() -> assertThat(key).startsWith(CacheKeyEncoder.HASH_KEY_PREFIX),
+				() -> assertThat(key).hasSize(CacheKeyEncoder.HASH_KEY_PREFIX.length() + 32)
+		);
+	}
+
+}
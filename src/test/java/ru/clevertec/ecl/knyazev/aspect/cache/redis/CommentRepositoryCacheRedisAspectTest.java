@@ -0,0 +1,94 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ru.clevertec.ecl.knyazev.entity.Comment;
+import ru.clevertec.ecl.knyazev.entity.News;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentRepositoryCacheRedisAspectTest {
+
+	@Mock
+	private RedisTemplate<String, Object> redisTemplateMock;
+
+	@Mock
+	private RedisNearCache redisNearCacheMock;
+
+	@Mock
+	private RedisWriteBehind redisWriteBehindMock;
+
+	@Mock
+	private ProceedingJoinPoint proceedingJoinPointMock;
+
+	@Mock
+	private Session sessionMock;
+
+	@Mock
+	private Query<Long> queryMock;
+
+	private CommentRepositoryCacheRedisAspect commentRepositoryCacheRedisAspect;
+
+	@BeforeEach
+	public void setUp() {
+		commentRepositoryCacheRedisAspect = new CommentRepositoryCacheRedisAspect(redisTemplateMock, Duration.ofSeconds(1L),
+				null, redisNearCacheMock, new RedisCircuitBreaker(null, null), redisWriteBehindMock, null);
+
+		ReflectionTestUtils.setField(commentRepositoryCacheRedisAspect, "session", sessionMock);
+	}
+
+	@Test
+	public void checkCacheAroundSaveMethodShouldPublishCommentInvalidation() throws Throwable {
+
+		Comment savingComment = Comment.builder()
+				                       .id(5L)
+				                       .news(News.builder().id(1L).build())
+				                       .build();
+
+		Mockito.when(proceedingJoinPointMock.getArgs()).thenReturn(new Object[] { savingComment });
+		Mockito.when(proceedingJoinPointMock.proceed()).thenReturn(savingComment);
+		Mockito.doReturn(RedisSerializer.string()).when(redisTemplateMock).getKeySerializer();
+		Mockito.doReturn(new BinaryRedisSerializer()).when(redisTemplateMock).getValueSerializer();
+
+		commentRepositoryCacheRedisAspect.cacheAroundSaveMethod(proceedingJoinPointMock);
+
+		assertAll(
+				() -> Mockito.verify(redisTemplateMock).delete(List.of("COMMENT:5")),
+				() -> Mockito.verify(redisWriteBehindMock).write(Mockito.eq("COMMENT:5"), Mockito.any(), Mockito.anyLong()),
+				() -> Mockito.verify(redisNearCacheMock).evictComments(List.of(5L))
+		);
+	}
+
+	@Test
+	public void checkCacheAroundDeleteMethodShouldPublishCommentAndNewsInvalidation() throws Throwable {
+
+		Mockito.when(proceedingJoinPointMock.getArgs()).thenReturn(new Object[] { Comment.builder().id(5L).build() });
+		Mockito.when(sessionMock.createQuery(Mockito.anyString(), Mockito.eq(Long.class))).thenReturn(queryMock);
+		Mockito.when(queryMock.setParameter("commentId", 5L)).thenReturn(queryMock);
+		Mockito.when(queryMock.getSingleResult()).thenReturn(1L);
+
+		commentRepositoryCacheRedisAspect.cacheAroundDeleteMethod(proceedingJoinPointMock);
+
+		assertAll(
+				() -> Mockito.verify(proceedingJoinPointMock).proceed(),
+				() -> Mockito.verify(redisNearCacheMock).evictComments(List.of(5L)),
+				() -> Mockito.verify(redisNearCacheMock).evictNews(List.of(1L))
+		);
+	}
+
+}
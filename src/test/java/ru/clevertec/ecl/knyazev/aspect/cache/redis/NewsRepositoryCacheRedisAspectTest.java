@@ -0,0 +1,108 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ru.clevertec.ecl.knyazev.entity.News;
+
+@ExtendWith(MockitoExtension.class)
+public class NewsRepositoryCacheRedisAspectTest {
+
+	@Mock
+	private RedisTemplate<String, Object> redisTemplateMock;
+
+	@Mock
+	private RedisNearCache redisNearCacheMock;
+
+	@Mock
+	private RedisWriteBehind redisWriteBehindMock;
+
+	@Mock
+	private ProceedingJoinPoint proceedingJoinPointMock;
+
+	@Mock
+	private Session sessionMock;
+
+	@Mock
+	private Query<Long> queryMock;
+
+	private NewsRepositoryCacheRedisAspect newsRepositoryCacheRedisAspect;
+
+	@BeforeEach
+	public void setUp() {
+		newsRepositoryCacheRedisAspect = new NewsRepositoryCacheRedisAspect(redisTemplateMock, Duration.ofSeconds(1L),
+				null, redisNearCacheMock, new RedisCircuitBreaker(null, null), redisWriteBehindMock, null);
+
+		ReflectionTestUtils.setField(newsRepositoryCacheRedisAspect, "session", sessionMock);
+	}
+
+	@Test
+	public void checkCacheAroundFindByIdMethodShouldReturnNearCachedNews() throws Throwable {
+
+		News expectedNews = News.builder().id(1L).build();
+
+		Mockito.when(proceedingJoinPointMock.getArgs()).thenReturn(new Object[] { 1L });
+		Mockito.when(redisNearCacheMock.getNews(1L)).thenReturn(expectedNews);
+
+		Optional<News> actualNews = newsRepositoryCacheRedisAspect.cacheAroundFindByIdMethod(proceedingJoinPointMock);
+
+		assertAll(
+				() -> assertThat(actualNews).containsSame(expectedNews),
+				() -> Mockito.verify(proceedingJoinPointMock, Mockito.never()).proceed(),
+				() -> Mockito.verifyNoInteractions(redisTemplateMock)
+		);
+	}
+
+	@Test
+	public void checkCacheAroundSaveMethodShouldPublishNewsInvalidation() throws Throwable {
+
+		News savedNews = News.builder().id(1L).build();
+
+		Mockito.when(proceedingJoinPointMock.proceed()).thenReturn(savedNews);
+		Mockito.doReturn(RedisSerializer.string()).when(redisTemplateMock).getKeySerializer();
+		Mockito.doReturn(new BinaryRedisSerializer()).when(redisTemplateMock).getValueSerializer();
+
+		newsRepositoryCacheRedisAspect.cacheAroundSaveMethod(proceedingJoinPointMock);
+
+		assertAll(
+				() -> Mockito.verify(redisTemplateMock).delete(List.of("NEWS:1")),
+				() -> Mockito.verify(redisWriteBehindMock).write(Mockito.eq("NEWS:1"), Mockito.any(), Mockito.anyLong()),
+				() -> Mockito.verify(redisNearCacheMock).evictNews(List.of(1L))
+		);
+	}
+
+	@Test
+	public void checkCacheAroundDeleteMethodShouldPublishNewsAndCommentsInvalidation() throws Throwable {
+
+		Mockito.when(proceedingJoinPointMock.getArgs()).thenReturn(new Object[] { News.builder().id(1L).build() });
+		Mockito.when(sessionMock.createQuery(Mockito.anyString(), Mockito.eq(Long.class))).thenReturn(queryMock);
+		Mockito.when(queryMock.setParameter("newsId", 1L)).thenReturn(queryMock);
+		Mockito.when(queryMock.getResultList()).thenReturn(List.of(3L, 4L));
+
+		newsRepositoryCacheRedisAspect.cacheAroundDeleteMethod(proceedingJoinPointMock);
+
+		assertAll(
+				() -> Mockito.verify(proceedingJoinPointMock).proceed(),
+				() -> Mockito.verify(redisNearCacheMock).evictNews(List.of(1L)),
+				() -> Mockito.verify(redisNearCacheMock).evictComments(List.of(3L, 4L))
+		);
+	}
+
+}
@@ -0,0 +1,236 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import ru.clevertec.ecl.knyazev.entity.News;
+
+public class RedisCacheTest {
+
+	private static final Duration OPEN_DURATION = Duration.ofSeconds(10L);
+
+	private AtomicLong time;
+
+	private RedisCircuitBreaker redisCircuitBreaker;
+
+	private RedisCache redisCache;
+
+	@BeforeEach
+	public void setUp() {
+		time = new AtomicLong();
+		redisCircuitBreaker = new RedisCircuitBreaker(1, OPEN_DURATION, time::get);
+		redisCache = new RedisCache(null, null, null, redisCircuitBreaker, null, null) {};
+	}
+
+	@Test
+	public void checkReadFromRedisCacheShouldReturnNullOnNotDeserializedValue() {
+
+		Object actualValue = redisCache.readFromRedisCache(() -> {
+			throw new SerializationException("Error. Unknown tag");
+		});
+
+		assertAll(
+				() -> assertThat(actualValue).isNull(),
+				() -> assertThat(redisCircuitBreaker.isOpen()).isFalse()
+		);
+	}
+
+	@Test
+	public void checkReadFromRedisCacheShouldCloseCircuitWhenTrialValueIsNotDeserialized() {
+		openCircuitUntilTrial();
+
+		Object actualValue = redisCache.readFromRedisCache(() -> {
+			throw new SerializationException("Error. Unknown tag");
+		});
+
+		assertAll(
+				() -> assertThat(actualValue).isNull(),
+				() -> assertThat(redisCircuitBreaker.isOpen()).isFalse(),
+				() -> assertThat(redisCircuitBreaker.allowsRequest()).isTrue()
+		);
+	}
+
+	@Test
+	public void checkReadFromRedisCacheShouldAllowNextTrialAfterTrialFailedWithRuntimeException() {
+		openCircuitUntilTrial();
+
+		Object actualValue = redisCache.readFromRedisCache(() -> {
+			throw new IllegalStateException("Error. Connection is closed");
+		});
+
+		time.addAndGet(OPEN_DURATION.toNanos());
+
+		assertAll(
+				() -> assertThat(actualValue).isNull(),
+				() -> assertThat(redisCircuitBreaker.isOpen()).isTrue(),
+				() -> assertThat(redisCircuitBreaker.allowsRequest()).isTrue()
+		);
+	}
+
+	@Test
+	public void checkInvalidateRedisCacheShouldAllowNextTrialAfterTrialFailedWithRuntimeException() {
+		openCircuitUntilTrial();
+
+		redisCache.invalidateRedisCache(() -> {
+			throw new SerializationException("Error. Malformed reverse index member");
+		});
+
+		time.addAndGet(OPEN_DURATION.toNanos());
+
+		assertThat(redisCircuitBreaker.allowsRequest()).isTrue();
+	}
+
+	@Test
+	public void checkInvalidateRedisCacheShouldOpenCircuitOnRedisFailure() {
+
+		redisCache.invalidateRedisCache(() -> {
+			throw new RedisConnectionFailureException("Error. Redis is unavailable");
+		});
+
+		assertThat(redisCircuitBreaker.isOpen()).isTrue();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void checkPutToRedisCacheShouldExpireObjectAndIndexesWithoutTimeToLive() {
+
+		RedisTemplate<String, Object> redisTemplateMock = Mockito.mock(RedisTemplate.class);
+		RedisWriteBehind redisWriteBehindMock = Mockito.mock(RedisWriteBehind.class);
+		RedisOperations<String, Object> operationsMock = Mockito.mock(RedisOperations.class);
+		SetOperations<String, Object> setOperationsMock = Mockito.mock(SetOperations.class);
+		RedisConnection connectionMock = Mockito.mock(RedisConnection.class);
+		RedisStringCommands stringCommandsMock = Mockito.mock(RedisStringCommands.class);
+
+		Mockito.doReturn(RedisSerializer.string()).when(redisTemplateMock).getKeySerializer();
+		Mockito.doReturn(RedisSerializer.java()).when(redisTemplateMock).getValueSerializer();
+		Mockito.when(operationsMock.opsForSet()).thenReturn(setOperationsMock);
+		Mockito.when(connectionMock.stringCommands()).thenReturn(stringCommandsMock);
+
+		RedisCache redisCache = new RedisCache(redisTemplateMock, null, null, redisCircuitBreaker,
+				                               redisWriteBehindMock, null) {};
+
+		List<String> page = List.of("news 1", "news 2");
+
+		redisCache.putToRedisCache("PAGE_NEWS", "findAll:0", page, List.of(1L, 2L), 0L);
+
+		ArgumentCaptor<Consumer<RedisOperations<String, Object>>> writeCaptor = ArgumentCaptor.forClass(Consumer.class);
+		ArgumentCaptor<RedisCallback<Object>> settingCaptor = ArgumentCaptor.forClass(RedisCallback.class);
+
+		Mockito.verify(redisWriteBehindMock).write(Mockito.eq("PAGE_NEWS:findAll:0"), writeCaptor.capture(), Mockito.eq(0L));
+
+		writeCaptor.getValue().accept(operationsMock);
+
+		Mockito.verify(operationsMock).execute(settingCaptor.capture());
+
+		settingCaptor.getValue().doInRedis(connectionMock);
+
+		assertAll(
+				() -> Mockito.verify(stringCommandsMock).pSetEx(RedisSerializer.string().serialize("PAGE_NEWS:findAll:0"),
+						RedisCache.DEFAULT_TIME_TO_LIVE.toMillis(), RedisSerializer.java().serialize(page)),
+				() -> Mockito.verify(setOperationsMock).add("PAGE_NEWS:INDEX:1", "findAll:0"),
+				() -> Mockito.verify(operationsMock).expire("PAGE_NEWS:INDEX:1", RedisCache.DEFAULT_TIME_TO_LIVE),
+				() -> Mockito.verify(operationsMock).expire("PAGE_NEWS:INDEX:2", RedisCache.DEFAULT_TIME_TO_LIVE)
+		);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void checkPruneIndexesShouldRemoveCachingKeysOfMissingObjects() {
+
+		RedisTemplate<String, Object> redisTemplateMock = Mockito.mock(RedisTemplate.class);
+		RedisOperations<String, Object> operationsMock = Mockito.mock(RedisOperations.class);
+		SetOperations<String, Object> setOperationsMock = Mockito.mock(SetOperations.class);
+
+		Mockito.when(operationsMock.opsForSet()).thenReturn(setOperationsMock);
+		Mockito.when(redisTemplateMock.executePipelined(Mockito.any(SessionCallback.class)))
+		       .thenReturn(List.of(List.of("findAll:0", "findAll:1"), List.of("findAll:2")))
+		       .thenReturn(List.of(true, false))
+		       .thenReturn(List.of(1L));
+
+		RedisCache redisCache = new RedisCache(redisTemplateMock, null, null, redisCircuitBreaker, null, null) {};
+
+		redisCache.pruneIndexes("PAGE_NEWS", "findAll:2", List.of(1L, 2L));
+
+		ArgumentCaptor<SessionCallback<Object>> commandsCaptor = ArgumentCaptor.forClass(SessionCallback.class);
+
+		Mockito.verify(redisTemplateMock, Mockito.times(3)).executePipelined(commandsCaptor.capture());
+
+		commandsCaptor.getAllValues().forEach(commands -> commands.execute(operationsMock));
+
+		assertAll(
+				() -> Mockito.verify(setOperationsMock).distinctRandomMembers("PAGE_NEWS:INDEX:1", RedisCache.INDEX_PRUNING_SAMPLE),
+				() -> Mockito.verify(setOperationsMock).distinctRandomMembers("PAGE_NEWS:INDEX:2", RedisCache.INDEX_PRUNING_SAMPLE),
+				() -> Mockito.verify(operationsMock).hasKey("PAGE_NEWS:findAll:0"),
+				() -> Mockito.verify(operationsMock).hasKey("PAGE_NEWS:findAll:1"),
+				() -> Mockito.verify(operationsMock, Mockito.never()).hasKey("PAGE_NEWS:findAll:2"),
+				() -> Mockito.verify(setOperationsMock).remove("PAGE_NEWS:INDEX:1", "findAll:1"),
+				() -> Mockito.verify(setOperationsMock, Mockito.times(1)).remove(Mockito.anyString(), Mockito.any()),
+				() -> assertThat(redisCircuitBreaker.isOpen()).isFalse()
+		);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void checkPutEntityToRedisCacheShouldWriteEntitySerializedOnCallingThread() {
+
+		RedisTemplate<String, Object> redisTemplateMock = Mockito.mock(RedisTemplate.class);
+		RedisWriteBehind redisWriteBehindMock = Mockito.mock(RedisWriteBehind.class);
+		RedisOperations<String, Object> operationsMock = Mockito.mock(RedisOperations.class);
+		RedisConnection connectionMock = Mockito.mock(RedisConnection.class);
+		RedisStringCommands stringCommandsMock = Mockito.mock(RedisStringCommands.class);
+
+		Mockito.doReturn(RedisSerializer.string()).when(redisTemplateMock).getKeySerializer();
+		Mockito.doReturn(new BinaryRedisSerializer()).when(redisTemplateMock).getValueSerializer();
+		Mockito.when(connectionMock.stringCommands()).thenReturn(stringCommandsMock);
+
+		RedisCache redisCache = new RedisCache(redisTemplateMock, Duration.ofMinutes(1L), null, redisCircuitBreaker,
+				                               redisWriteBehindMock, null) {};
+
+		News news = News.builder().id(1L).title("Title").build();
+		byte[] expectedRawNews = new BinaryRedisSerializer().serialize(news);
+
+		redisCache.putEntityToRedisCache(RedisCache.NEWS_KEY, 1L, news, 0L);
+
+		news.setTitle("Changed title");
+
+		ArgumentCaptor<Consumer<RedisOperations<String, Object>>> writeCaptor = ArgumentCaptor.forClass(Consumer.class);
+		ArgumentCaptor<RedisCallback<Object>> settingCaptor = ArgumentCaptor.forClass(RedisCallback.class);
+
+		Mockito.verify(redisWriteBehindMock).write(Mockito.eq("NEWS:1"), writeCaptor.capture(), Mockito.eq(0L));
+
+		writeCaptor.getValue().accept(operationsMock);
+
+		Mockito.verify(operationsMock).execute(settingCaptor.capture());
+
+		settingCaptor.getValue().doInRedis(connectionMock);
+
+		Mockito.verify(stringCommandsMock).pSetEx(RedisSerializer.string().serialize("NEWS:1"),
+				                                  Duration.ofMinutes(1L).toMillis(), expectedRawNews);
+	}
+
+	private void openCircuitUntilTrial() {
+		redisCircuitBreaker.recordFailure();
+		time.addAndGet(OPEN_DURATION.toNanos());
+	}
+
+}
@@ -0,0 +1,105 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RedisCircuitBreakerTest {
+
+	private static final Duration OPEN_DURATION = Duration.ofSeconds(10L);
+
+	private AtomicLong time;
+
+	private RedisCircuitBreaker redisCircuitBreaker;
+
+	@BeforeEach
+	public void setUp() {
+		time = new AtomicLong();
+		redisCircuitBreaker = new RedisCircuitBreaker(3, OPEN_DURATION, time::get);
+	}
+
+	@Test
+	public void checkAllowsRequestShouldReturnTrueBeforeFailureThreshold() {
+		redisCircuitBreaker.recordFailure();
+		redisCircuitBreaker.recordFailure();
+
+		assertAll(
+				() -> assertThat(redisCircuitBreaker.isOpen()).isFalse(),
+				() -> assertThat(redisCircuitBreaker.allowsRequest()).isTrue()
+		);
+	}
+
+	@Test
+	public void checkAllowsRequestShouldReturnFalseOnOpenCircuit() {
+		openCircuit();
+
+		time.addAndGet(OPEN_DURATION.toNanos() - 1L);
+
+		assertAll(
+				() -> assertThat(redisCircuitBreaker.isOpen()).isTrue(),
+				() -> assertThat(redisCircuitBreaker.allowsRequest()).isFalse()
+		);
+	}
+
+	@Test
+	public void checkAllowsRequestShouldAllowOneTrialAfterOpenDuration() {
+		openCircuit();
+
+		time.addAndGet(OPEN_DURATION.toNanos());
+
+		assertAll(
+				() -> assertThat(redisCircuitBreaker.allowsRequest()).isTrue(),
+				() -> assertThat(redisCircuitBreaker.allowsRequest()).isFalse()
+		);
+	}
+
+	@Test
+	public void checkRecordSuccessShouldCloseCircuitAfterTrial() {
+		openCircuit();
+
+		time.addAndGet(OPEN_DURATION.toNanos());
+		redisCircuitBreaker.allowsRequest();
+		redisCircuitBreaker.recordSuccess();
+
+		assertAll(
+				() -> assertThat(redisCircuitBreaker.isOpen()).isFalse(),
+				() -> assertThat(redisCircuitBreaker.allowsRequest()).isTrue()
+		);
+	}
+
+	@Test
+	public void checkRecordFailureShouldReopenCircuitAfterFailedTrial() {
+		openCircuit();
+
+		time.addAndGet(OPEN_DURATION.toNanos());
+		redisCircuitBreaker.allowsRequest();
+		redisCircuitBreaker.recordFailure();
+
+		assertAll(
+				() -> assertThat(redisCircuitBreaker.isOpen()).isTrue(),
+				() -> assertThat(redisCircuitBreaker.allowsRequest()).isFalse()
+		);
+	}
+
+	@Test
+	public void checkRecordSuccessShouldResetConsecutiveFailures() {
+		redisCircuitBreaker.recordFailure();
+		redisCircuitBreaker.recordFailure();
+		redisCircuitBreaker.recordSuccess();
+		redisCircuitBreaker.recordFailure();
+
+		assertThat(redisCircuitBreaker.isOpen()).isFalse();
+	}
+
+	private void openCircuit() {
+		redisCircuitBreaker.recordFailure();
+		redisCircuitBreaker.recordFailure();
+		redisCircuitBreaker.recordFailure();
+	}
+
+}
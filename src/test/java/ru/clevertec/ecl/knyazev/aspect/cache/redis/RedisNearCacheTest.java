@@ -0,0 +1,201 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import ru.clevertec.ecl.knyazev.cache.ConcurrentCache;
+import ru.clevertec.ecl.knyazev.cache.LRUCache;
+import ru.clevertec.ecl.knyazev.entity.Comment;
+import ru.clevertec.ecl.knyazev.entity.News;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisNearCacheTest {
+
+	@Mock
+	private RedisTemplate<String, Object> redisTemplateMock;
+
+	private RedisCircuitBreaker redisCircuitBreaker;
+
+	private RedisNearCache redisNearCache;
+
+	@BeforeEach
+	public void setUp() {
+		redisCircuitBreaker = new RedisCircuitBreaker(1, Duration.ofSeconds(10L));
+		redisNearCache = createNearCache();
+	}
+
+	@Test
+	public void checkGetNewsShouldReturnCopyOfNearCachedNews() {
+
+		News news = News.builder().id(1L).title("Title").build();
+
+		redisNearCache.putNews(news, redisNearCache.evictionsStamp());
+
+		news.setTitle("Changed before reading");
+		redisNearCache.getNews(1L).setTitle("Changed after reading");
+
+		News actualNews = redisNearCache.getNews(1L);
+
+		assertAll(
+				() -> assertThat(actualNews).isNotSameAs(news),
+				() -> assertThat(actualNews.getTitle()).isEqualTo("Title")
+		);
+	}
+
+	@Test
+	public void checkOnMessageShouldEvictNewsFromNearCache() {
+
+		Mockito.doReturn(RedisSerializer.string()).when(redisTemplateMock).getValueSerializer();
+
+		redisNearCache.putNews(News.builder().id(1L).build(), redisNearCache.evictionsStamp());
+		redisNearCache.putNews(News.builder().id(2L).build(), redisNearCache.evictionsStamp());
+		redisNearCache.putNews(News.builder().id(3L).build(), redisNearCache.evictionsStamp());
+
+		redisNearCache.onMessage(invalidationMessage("NEWS:1,3"), null);
+
+		assertAll(
+				() -> assertThat(redisNearCache.getNews(1L)).isNull(),
+				() -> assertThat(redisNearCache.getNews(2L)).isNotNull(),
+				() -> assertThat(redisNearCache.getNews(3L)).isNull()
+		);
+	}
+
+	@Test
+	public void checkOnMessageShouldEvictCommentsFromNearCache() {
+
+		Mockito.doReturn(RedisSerializer.string()).when(redisTemplateMock).getValueSerializer();
+
+		redisNearCache.putNews(News.builder().id(1L).build(), redisNearCache.evictionsStamp());
+		redisNearCache.putComment(Comment.builder().id(1L).build(), redisNearCache.evictionsStamp());
+
+		redisNearCache.onMessage(invalidationMessage("COMMENT:1"), null);
+
+		assertAll(
+				() -> assertThat(redisNearCache.getComment(1L)).isNull(),
+				() -> assertThat(redisNearCache.getNews(1L)).isNotNull()
+		);
+	}
+
+	@Test
+	public void checkOnMessageShouldNotEvictOnWrongMessage() {
+
+		Mockito.doReturn(RedisSerializer.string()).when(redisTemplateMock).getValueSerializer();
+
+		redisNearCache.putNews(News.builder().id(1L).build(), redisNearCache.evictionsStamp());
+
+		redisNearCache.onMessage(invalidationMessage("NEWS:one"), null);
+		redisNearCache.onMessage(invalidationMessage("NEWS"), null);
+
+		assertThat(redisNearCache.getNews(1L)).isNotNull();
+	}
+
+	@Test
+	public void checkEvictNewsShouldEvictNewsLocallyAndPublishInvalidation() {
+
+		redisNearCache.putNews(News.builder().id(1L).build(), redisNearCache.evictionsStamp());
+
+		redisNearCache.evictNews(List.of(1L, 2L));
+
+		assertAll(
+				() -> assertThat(redisNearCache.getNews(1L)).isNull(),
+				() -> Mockito.verify(redisTemplateMock).convertAndSend(RedisNearCache.INVALIDATION_CHANNEL, "NEWS:1,2")
+		);
+	}
+
+	@Test
+	public void checkEvictCommentsShouldNotPublishInvalidationWithoutIds() {
+
+		redisNearCache.evictComments(List.of());
+
+		Mockito.verify(redisTemplateMock, Mockito.never()).convertAndSend(Mockito.anyString(), Mockito.any());
+	}
+
+	@Test
+	public void checkEvictNewsShouldEvictNewsLocallyWhenInvalidationIsNotPublished() {
+
+		Mockito.when(redisTemplateMock.convertAndSend(Mockito.anyString(), Mockito.any()))
+		       .thenThrow(new RedisConnectionFailureException("Error. Redis is unavailable"));
+
+		redisNearCache.putNews(News.builder().id(1L).build(), redisNearCache.evictionsStamp());
+
+		redisNearCache.evictNews(List.of(1L));
+
+		assertThat(redisNearCache.getNews(1L)).isNull();
+	}
+
+	@Test
+	public void checkEvictNewsShouldNotPublishInvalidationOnOpenCircuit() {
+
+		redisCircuitBreaker.recordFailure();
+
+		redisNearCache.putNews(News.builder().id(1L).build(), redisNearCache.evictionsStamp());
+
+		redisNearCache.evictNews(List.of(1L));
+
+		assertAll(
+				() -> assertThat(redisNearCache.getNews(1L)).isNull(),
+				() -> Mockito.verify(redisTemplateMock, Mockito.never()).convertAndSend(Mockito.anyString(), Mockito.any())
+		);
+	}
+
+	@Test
+	public void checkPublishedInvalidationShouldEvictNewsFromNearCacheOfOtherInstance() {
+
+		Mockito.doReturn(RedisSerializer.string()).when(redisTemplateMock).getValueSerializer();
+
+		RedisNearCache otherInstanceNearCache = createNearCache();
+
+		otherInstanceNearCache.putNews(News.builder().id(1L).build(), otherInstanceNearCache.evictionsStamp());
+
+		redisNearCache.evictNews(List.of(1L));
+
+		ArgumentCaptor<Object> publishedMessageCaptor = ArgumentCaptor.forClass(Object.class);
+
+		Mockito.verify(redisTemplateMock).convertAndSend(Mockito.eq(RedisNearCache.INVALIDATION_CHANNEL),
+				                                         publishedMessageCaptor.capture());
+
+		otherInstanceNearCache.onMessage(invalidationMessage((String) publishedMessageCaptor.getValue()), null);
+
+		assertThat(otherInstanceNearCache.getNews(1L)).isNull();
+	}
+
+	@Test
+	public void checkPutNewsShouldNotCacheNewsReadBeforeEviction() {
+
+		long evictionsStamp = redisNearCache.evictionsStamp();
+
+		redisNearCache.evictNews(List.of(1L));
+		redisNearCache.putNews(News.builder().id(1L).build(), evictionsStamp);
+
+		assertThat(redisNearCache.getNews(1L)).isNull();
+	}
+
+	private RedisNearCache createNearCache() {
+		return new RedisNearCache(new ConcurrentCache<Long, byte[]>(16, 1, LRUCache::new),
+				                  new ConcurrentCache<Long, byte[]>(16, 1, LRUCache::new),
+				                  redisTemplateMock, redisCircuitBreaker);
+	}
+
+	private Message invalidationMessage(String invalidation) {
+		return new DefaultMessage(RedisNearCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+				                  invalidation.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,70 @@
+package ru.clevertec.ecl.knyazev.aspect.cache.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.SerializationException;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisWriteBehindTest {
+
+	private static final Duration OPEN_DURATION = Duration.ofSeconds(10L);
+
+	@Mock
+	private RedisTemplate<String, Object> redisTemplateMock;
+
+	@Test
+	public void checkWriteShouldAllowNextTrialAfterTrialFailedWithRuntimeException() throws InterruptedException {
+
+		AtomicLong time = new AtomicLong();
+		RedisCircuitBreaker redisCircuitBreaker = new RedisCircuitBreaker(1, OPEN_DURATION, time::get);
+
+		redisCircuitBreaker.recordFailure();
+		time.addAndGet(OPEN_DURATION.toNanos());
+
+		Mockito.when(redisTemplateMock.executePipelined(Mockito.any(SessionCallback.class)))
+		       .thenThrow(new SerializationException("Error. Value is not serialized"));
+
+		RedisWriteBehind redisWriteBehind = new RedisWriteBehind(redisTemplateMock, redisCircuitBreaker, 10, 10);
+
+		redisWriteBehind.write("NEWS:1", operations -> {}, redisWriteBehind.cancellationsStamp());
+		redisWriteBehind.close();
+
+		time.addAndGet(OPEN_DURATION.toNanos());
+
+		assertAll(
+				() -> assertThat(redisWriteBehind.droppedWritesQuantity()).isEqualTo(1L),
+				() -> assertThat(redisCircuitBreaker.allowsRequest()).isTrue()
+		);
+	}
+
+	@Test
+	public void checkWriteShouldDropValueReadBeforeCancellation() throws InterruptedException {
+
+		RedisWriteBehind redisWriteBehind = new RedisWriteBehind(redisTemplateMock, new RedisCircuitBreaker(null, null),
+				                                                 10, 10);
+
+		long cancellationsStamp = redisWriteBehind.cancellationsStamp();
+
+		redisWriteBehind.cancel("NEWS:1");
+		redisWriteBehind.write("NEWS:1", operations -> {}, cancellationsStamp);
+		redisWriteBehind.close();
+
+		assertAll(
+				() -> assertThat(redisWriteBehind.droppedWritesQuantity()).isEqualTo(1L),
+				() -> assertThat(redisWriteBehind.pendingWritesQuantity()).isZero(),
+				() -> Mockito.verifyNoInteractions(redisTemplateMock)
+		);
+	}
+
+}
@@ -0,0 +1,165 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import ru.clevertec.ecl.knyazev.entity.Comment;
+
+public class ConcurrentCacheTest {
+
+	private static final Integer CACHE_SIZE = 64;
+	private static final Integer CONCURRENCY_LEVEL = 8;
+
+	private static final int THREADS_QUANTITY = 16;
+	private static final int OPERATIONS_PER_THREAD = 20_000;
+	private static final long KEYS_RANGE = 256L;
+
+	private CacheFactory cacheFactory = new CacheFactory();
+
+	@Test
+	public void checkPutShouldAddToCache() {
+		Cache<Long, Comment> concurrentCache = cacheFactory.initConcurrentCache("LRU", CACHE_SIZE, CONCURRENCY_LEVEL);
+
+		Long inputId = 1L;
+
+		Comment cachingComment = Comment.builder()
+										.id(inputId)
+										.text("Добавь это в кеш")
+										.build();
+
+		assertAll(
+				() -> assertThatCode(() -> concurrentCache.put(inputId, cachingComment)).doesNotThrowAnyException(),
+				() -> assertThat(concurrentCache.size()).isEqualTo(1),
+				() -> assertThat(concurrentCache.contains(inputId)).isTrue(),
+				() -> assertThat(concurrentCache.get(inputId)).isEqualTo(cachingComment)
+		);
+	}
+
+	@Test
+	public void checkPutShouldNotExceedMaxCacheSize() {
+		Cache<Long, Comment> concurrentCache = cacheFactory.initConcurrentCache("LFU", CACHE_SIZE, CONCURRENCY_LEVEL);
+
+		for (long id = 1L; id <= KEYS_RANGE; id++) {
+			concurrentCache.put(id, Comment.builder().id(id).build());
+		}
+
+		assertThat(concurrentCache.size()).isEqualTo(CACHE_SIZE);
+	}
+
+	@Test
+	public void checkComputeIfPresentShouldNotLoseConcurrentUpdates() throws Exception {
+		Cache<Long, Long> concurrentCache = cacheFactory.initConcurrentCache("LRU", CACHE_SIZE, CONCURRENCY_LEVEL);
+
+		concurrentCache.put(1L, 0L);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(THREADS_QUANTITY);
+		CountDownLatch startLatch = new CountDownLatch(1);
+
+		List<Future<?>> results = new ArrayList<>();
+
+		for (int i = 0; i < THREADS_QUANTITY; i++) {
+			results.add(executorService.submit(() -> {
+				startLatch.await();
+
+				for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+					concurrentCache.computeIfPresent(1L, value -> value + 1L);
+				}
+
+				return null;
+			}));
+		}
+
+		startLatch.countDown();
+
+		for (Future<?> result : results) {
+			assertThatCode(() -> result.get(30, TimeUnit.SECONDS)).doesNotThrowAnyException();
+		}
+
+		executorService.shutdown();
+
+		assertAll(
+				() -> assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS)).isTrue(),
+				() -> assertThat(concurrentCache.get(1L)).isEqualTo((long) THREADS_QUANTITY * OPERATIONS_PER_THREAD)
+		);
+	}
+
+	@Test
+	public void checkComputeIfPresentShouldRemoveOnNullAndSkipAbsentKey() {
+		Cache<Long, Long> concurrentCache = cacheFactory.initConcurrentCache("LRU", CACHE_SIZE, CONCURRENCY_LEVEL);
+
+		concurrentCache.put(1L, 1L);
+
+		concurrentCache.computeIfPresent(1L, value -> null);
+		concurrentCache.computeIfPresent(2L, value -> 2L);
+
+		assertAll(
+				() -> assertThat(concurrentCache.contains(1L)).isFalse(),
+				() -> assertThat(concurrentCache.contains(2L)).isFalse()
+		);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "LRU", "LFU" })
+	public void checkConcurrentAccessShouldKeepCacheConsistent(String cacheType) throws Exception {
+		Cache<Long, Comment> concurrentCache = cacheFactory.initConcurrentCache(cacheType, CACHE_SIZE, CONCURRENCY_LEVEL);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(THREADS_QUANTITY);
+		CountDownLatch startLatch = new CountDownLatch(1);
+
+		List<Future<?>> results = new ArrayList<>();
+
+		for (int i = 0; i < THREADS_QUANTITY; i++) {
+			results.add(executorService.submit(() -> {
+				startLatch.await();
+
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+
+				for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+					Long id = random.nextLong(KEYS_RANGE);
+
+					switch (random.nextInt(4)) {
+					case 0 -> concurrentCache.put(id, Comment.builder().id(id).build());
+					case 1 -> concurrentCache.remove(id);
+					default -> {
+						Comment cachedComment = concurrentCache.get(id);
+
+						if (cachedComment != null && !cachedComment.getId().equals(id)) {
+							throw new IllegalStateException("Value from cache belongs to another key");
+						}
+					}
+					}
+				}
+
+				return null;
+			}));
+		}
+
+		startLatch.countDown();
+
+		for (Future<?> result : results) {
+			assertThatCode(() -> result.get(30, TimeUnit.SECONDS)).doesNotThrowAnyException();
+		}
+
+		executorService.shutdown();
+
+		assertAll(
+				() -> assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS)).isTrue(),
+				() -> assertThat(concurrentCache.size()).isBetween(0, CACHE_SIZE)
+		);
+	}
+
+}
@@ -0,0 +1,208 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ru.clevertec.ecl.knyazev.entity.Comment;
+
+public class ExpiringCacheTest {
+
+	private static final String CACHE_TYPE = "LRU";
+	private static final Integer CACHE_SIZE = 3;
+
+	private static final Duration TIME_TO_LIVE = Duration.ofSeconds(10L);
+	private static final Duration REFRESH_AHEAD = Duration.ofSeconds(2L);
+
+	private CacheFactory cacheFactory = new CacheFactory();
+
+	private AtomicLong ticker;
+
+	private AtomicInteger refreshesQuantity;
+
+	private Cache<Long, Comment> expiringCache;
+
+	@BeforeEach
+	public void setUp() {
+		ticker = new AtomicLong();
+		refreshesQuantity = new AtomicInteger();
+
+		Cache<Long, ExpiringCache.Entry<Comment>> cache = cacheFactory.initCache(CACHE_TYPE, CACHE_SIZE);
+
+		expiringCache = new ExpiringCache<>(cache, TIME_TO_LIVE, REFRESH_AHEAD, id -> {
+			refreshesQuantity.incrementAndGet();
+			return Comment.builder().id(id).text("Refreshed element").build();
+		}, Runnable::run, ticker::get);
+	}
+
+	@Test
+	public void checkGetShouldReturnValueBeforeExpiration() {
+		Comment cachingComment = Comment.builder().id(1L).text("First cashed element").build();
+
+		expiringCache.put(1L, cachingComment);
+		ticker.addAndGet(Duration.ofSeconds(5L).toNanos());
+
+		assertAll(
+				() -> assertThat(expiringCache.get(1L)).isEqualTo(cachingComment),
+				() -> assertThat(refreshesQuantity.get()).isZero()
+		);
+	}
+
+	@Test
+	public void checkGetShouldReturnNullAndRemoveExpiredValue() {
+		expiringCache.put(1L, Comment.builder().id(1L).text("First cashed element").build());
+		ticker.addAndGet(TIME_TO_LIVE.toNanos());
+
+		assertAll(
+				() -> assertThat(expiringCache.get(1L)).isNull(),
+				() -> assertThat(expiringCache.size()).isZero(),
+				() -> assertThat(expiringCache.contains(1L)).isFalse()
+		);
+	}
+
+	@Test
+	public void checkStatsShouldCountExpiredValueAsMissAndEviction() {
+		expiringCache.put(1L, Comment.builder().id(1L).text("First cashed element").build());
+		expiringCache.get(1L);
+		ticker.addAndGet(TIME_TO_LIVE.toNanos());
+		expiringCache.get(1L);
+
+		CacheStats cacheStats = expiringCache.stats();
+
+		assertAll(
+				() -> assertThat(cacheStats.hitCount()).isEqualTo(1L),
+				() -> assertThat(cacheStats.missCount()).isEqualTo(1L),
+				() -> assertThat(cacheStats.evictionCount()).isEqualTo(1L),
+				() -> assertThat(cacheStats.expirationCount()).isEqualTo(1L)
+		);
+	}
+
+	@Test
+	public void checkContainsShouldNotRecordStatsOrRefreshValue() {
+		expiringCache.put(1L, Comment.builder().id(1L).text("First cashed element").build());
+		ticker.addAndGet(Duration.ofSeconds(9L).toNanos());
+
+		boolean isContainedInRefreshAheadWindow = expiringCache.contains(1L);
+
+		ticker.addAndGet(Duration.ofSeconds(1L).toNanos());
+
+		boolean isContainedAfterExpiration = expiringCache.contains(1L);
+
+		CacheStats cacheStats = expiringCache.stats();
+
+		assertAll(
+				() -> assertThat(isContainedInRefreshAheadWindow).isTrue(),
+				() -> assertThat(isContainedAfterExpiration).isFalse(),
+				() -> assertThat(refreshesQuantity.get()).isZero(),
+				() -> assertThat(cacheStats.hitCount()).isZero(),
+				() -> assertThat(cacheStats.missCount()).isZero()
+		);
+	}
+
+	@Test
+	public void checkGetShouldRefreshValueInRefreshAheadWindow() {
+		Comment cachingComment = Comment.builder().id(1L).text("First cashed element").build();
+
+		expiringCache.put(1L, cachingComment);
+		ticker.addAndGet(Duration.ofSeconds(9L).toNanos());
+
+		Comment actualComment = expiringCache.get(1L);
+
+		ticker.addAndGet(Duration.ofSeconds(5L).toNanos());
+
+		assertAll(
+				() -> assertThat(actualComment).isEqualTo(cachingComment),
+				() -> assertThat(refreshesQuantity.get()).isEqualTo(1),
+				() -> assertThat(expiringCache.get(1L).getText()).isEqualTo("Refreshed element")
+		);
+	}
+
+	@Test
+	public void checkGetShouldRefreshValueAgainAfterRefreshWasRejectedBySaturatedExecutor() throws Exception {
+		CountDownLatch workerBlocker = new CountDownLatch(1);
+
+		ThreadPoolExecutor saturatedExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				                                                      new SynchronousQueue<>(),
+				                                                      new ThreadPoolExecutor.AbortPolicy());
+
+		saturatedExecutor.execute(() -> {
+			try {
+				workerBlocker.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		Cache<Long, ExpiringCache.Entry<Comment>> cache = cacheFactory.initConcurrentCache(CACHE_TYPE, CACHE_SIZE, 1);
+
+		Cache<Long, Comment> refreshingCache = new ExpiringCache<>(cache, TIME_TO_LIVE, REFRESH_AHEAD, id -> {
+			refreshesQuantity.incrementAndGet();
+			return Comment.builder().id(id).text("Refreshed element").build();
+		}, saturatedExecutor, ticker::get);
+
+		refreshingCache.put(1L, Comment.builder().id(1L).text("First cashed element").build());
+		ticker.addAndGet(Duration.ofSeconds(9L).toNanos());
+
+		refreshingCache.get(1L);
+
+		int rejectedRefreshesQuantity = refreshesQuantity.get();
+
+		workerBlocker.countDown();
+
+		for (int i = 0; i < 100 && refreshesQuantity.get() == 0; i++) {
+			refreshingCache.get(1L);
+			Thread.sleep(10L);
+		}
+
+		saturatedExecutor.shutdown();
+
+		assertAll(
+				() -> assertThat(saturatedExecutor.awaitTermination(5, TimeUnit.SECONDS)).isTrue(),
+				() -> assertThat(rejectedRefreshesQuantity).isZero(),
+				() -> assertThat(refreshesQuantity.get()).isEqualTo(1),
+				() -> assertThat(refreshingCache.get(1L).getText()).isEqualTo("Refreshed element")
+		);
+	}
+
+	@Test
+	public void checkGetShouldNotOverwriteValuePutDuringRefresh() {
+		Cache<Long, ExpiringCache.Entry<Comment>> cache = cacheFactory.initConcurrentCache(CACHE_TYPE, CACHE_SIZE, 1);
+
+		Comment concurrentlyPutComment = Comment.builder().id(1L).text("Concurrently put element").build();
+
+		AtomicReference<Cache<Long, Comment>> refreshingCache = new AtomicReference<>();
+
+		refreshingCache.set(new ExpiringCache<>(cache, TIME_TO_LIVE, REFRESH_AHEAD, id -> {
+			refreshingCache.get().put(id, concurrentlyPutComment);
+			return Comment.builder().id(id).text("Refreshed element").build();
+		}, Runnable::run, ticker::get));
+
+		refreshingCache.get().put(1L, Comment.builder().id(1L).text("First cashed element").build());
+		ticker.addAndGet(Duration.ofSeconds(9L).toNanos());
+
+		refreshingCache.get().get(1L);
+
+		assertThat(refreshingCache.get().get(1L)).isEqualTo(concurrentlyPutComment);
+	}
+
+	@Test
+	public void checkConstructorShouldThrowIllegalArgumentExceptionOnZeroTimeToLive() {
+		Cache<Long, ExpiringCache.Entry<Comment>> cache = cacheFactory.initCache(CACHE_TYPE, CACHE_SIZE);
+
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> new ExpiringCache<>(cache, Duration.ZERO));
+	}
+
+}
@@ -101,6 +101,9 @@ public class LFUCacheTest {
 		lfuCache.put(2L, cachingComment2);
 		lfuCache.put(3L, cachingComment3);
 		
+		lfuCache.get(1L);
+		lfuCache.get(2L);
+		
 		Long inputId = 4L;
 		Comment cachingComment4 = Comment.builder()
 				.id(inputId)
@@ -199,4 +202,47 @@ public class LFUCacheTest {
 		
 	}
 	
+	@Test
+	public void checkPutShouldEvictUntilCacheWeightUnderMaxCacheWeight() {
+		Cache<Long, Comment> weightedCache = cacheFactory.initCache(CACHE_TYPE, CACHE_SIZE, 20L, 
+				                                                      (id, comment) -> comment.getText().length());
+		
+		weightedCache.put(1L, Comment.builder().id(1L).text("First").build());
+		weightedCache.put(2L, Comment.builder().id(2L).text("Second").build());
+		
+		Long inputId = 3L;
+		Comment cachingComment3 = Comment.builder()
+				.id(inputId)
+				.text("Third cashed element")
+				.build();
+		
+		assertAll(
+				() -> assertThatCode(() -> weightedCache.put(inputId, cachingComment3)).doesNotThrowAnyException(),
+				() -> assertThat(weightedCache.size()).isEqualTo(1),
+				() -> assertThat(weightedCache.weight()).isEqualTo(20L),
+				() -> assertThat(weightedCache.contains(inputId)).isTrue()
+		);
+		
+	}
+	
+	@Test
+	public void checkPutShouldNotAddValueHeavierThanMaxCacheWeight() {
+		Cache<Long, Comment> weightedCache = cacheFactory.initCache(CACHE_TYPE, CACHE_SIZE, 10L, 
+				                                                      (id, comment) -> comment.getText().length());
+		
+		Long inputId = 1L;
+		Comment cachingComment = Comment.builder()
+				.id(inputId)
+				.text("First cashed element")
+				.build();
+		
+		weightedCache.put(inputId, cachingComment);
+		
+		assertAll(
+				() -> assertThat(weightedCache.size()).isZero(),
+				() -> assertThat(weightedCache.weight()).isZero()
+		);
+		
+	}
+	
 }
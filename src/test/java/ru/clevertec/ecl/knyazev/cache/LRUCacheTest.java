@@ -197,4 +197,100 @@ public class LRUCacheTest {
 		
 	}
 	
+	@Test
+	public void checkPutShouldEvictUntilCacheWeightUnderMaxCacheWeight() {
+		Cache<Long, Comment> weightedCache = cacheFactory.initCache(CACHE_TYPE, CACHE_SIZE, 20L, 
+				                                                      (id, comment) -> comment.getText().length());
+		
+		weightedCache.put(1L, Comment.builder().id(1L).text("First").build());
+		weightedCache.put(2L, Comment.builder().id(2L).text("Second").build());
+		
+		Long inputId = 3L;
+		Comment cachingComment3 = Comment.builder()
+				.id(inputId)
+				.text("Third cashed element")
+				.build();
+		
+		assertAll(
+				() -> assertThatCode(() -> weightedCache.put(inputId, cachingComment3)).doesNotThrowAnyException(),
+				() -> assertThat(weightedCache.size()).isEqualTo(1),
+				() -> assertThat(weightedCache.weight()).isEqualTo(20L),
+				() -> assertThat(weightedCache.contains(inputId)).isTrue()
+		);
+		
+	}
+	
+	@Test
+	public void checkPutShouldNotAddValueHeavierThanMaxCacheWeight() {
+		Cache<Long, Comment> weightedCache = cacheFactory.initCache(CACHE_TYPE, CACHE_SIZE, 10L, 
+				                                                      (id, comment) -> comment.getText().length());
+		
+		Long inputId = 1L;
+		Comment cachingComment = Comment.builder()
+				.id(inputId)
+				.text("First cashed element")
+				.build();
+		
+		weightedCache.put(inputId, cachingComment);
+		
+		assertAll(
+				() -> assertThat(weightedCache.size()).isZero(),
+				() -> assertThat(weightedCache.weight()).isZero()
+		);
+		
+	}
+	
+	@Test
+	public void checkStatsShouldCountHitsMissesAndEvictions() {
+		
+		for (long id = 1L; id <= 4L; id++) {
+			lruCache.put(id, Comment.builder()
+					                .id(id)
+					                .text("Cashed element")
+					                .build());
+		}
+		
+		lruCache.get(1L);
+		lruCache.get(2L);
+		lruCache.get(4L);
+		
+		CacheStats cacheStats = lruCache.stats();
+		
+		assertAll(
+				() -> assertThat(cacheStats.hitCount()).isEqualTo(2L),
+				() -> assertThat(cacheStats.missCount()).isEqualTo(1L),
+				() -> assertThat(cacheStats.evictionCount()).isEqualTo(1L),
+				() -> assertThat(cacheStats.hitRate()).isEqualTo(2.0d / 3.0d)
+		);
+		
+	}
+	
+	@Test
+	public void checkPeekShouldNotChangeEvictionOrderAndStats() {
+		
+		for (long id = 1L; id <= 3L; id++) {
+			lruCache.put(id, Comment.builder()
+					                .id(id)
+					                .text("Cashed element")
+					                .build());
+		}
+		
+		Comment peekedComment = lruCache.peek(1L);
+		
+		lruCache.put(4L, Comment.builder()
+				                .id(4L)
+				                .text("Cashed element")
+				                .build());
+		
+		CacheStats cacheStats = lruCache.stats();
+		
+		assertAll(
+				() -> assertThat(peekedComment.getId()).isEqualTo(1L),
+				() -> assertThat(lruCache.contains(1L)).isFalse(),
+				() -> assertThat(cacheStats.hitCount()).isZero(),
+				() -> assertThat(cacheStats.missCount()).isZero()
+		);
+		
+	}
+	
 }
@@ -0,0 +1,96 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import ru.clevertec.ecl.knyazev.entity.Comment;
+
+public class LongKeyMapTest {
+
+	private static final int OPERATIONS_QUANTITY = 100_000;
+	private static final int KEYS_QUANTITY = 1_000;
+
+	private CacheFactory cacheFactory = new CacheFactory();
+
+	@Test
+	public void checkOperationsShouldWorkAsInHashMap() {
+		Random random = new Random(42L);
+
+		LongKeyMap<String> longKeyMap = new LongKeyMap<>();
+		Map<Long, String> hashMap = new HashMap<>();
+
+		for (int i = 0; i < OPERATIONS_QUANTITY; i++) {
+			long key = (random.nextInt(10) == 0) ? random.nextLong() : random.nextInt(KEYS_QUANTITY) - KEYS_QUANTITY / 2;
+
+			switch (random.nextInt(3)) {
+			case 0 -> assertThat(longKeyMap.put(key, "value" + i)).isEqualTo(hashMap.put(key, "value" + i));
+			case 1 -> assertThat(longKeyMap.remove(key)).isEqualTo(hashMap.remove(key));
+			default -> assertThat(longKeyMap.get(key)).isEqualTo(hashMap.get(key));
+			}
+		}
+
+		assertAll(
+				() -> assertThat(longKeyMap).hasSameSizeAs(hashMap),
+				() -> assertThat(longKeyMap).isEqualTo(hashMap)
+		);
+	}
+
+	@Test
+	public void checkGetShouldReturnNullOnNotLongKey() {
+		LongKeyMap<String> longKeyMap = new LongKeyMap<>();
+		longKeyMap.put(1L, "value");
+
+		assertAll(
+				() -> assertThat(longKeyMap.get((Object) 1)).isNull(),
+				() -> assertThat(longKeyMap.containsKey("1")).isFalse(),
+				() -> assertThat(longKeyMap.get((Object) 1L)).isEqualTo("value")
+		);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "LRU", "LFU", "TINYLFU" })
+	public void checkGetShouldNotAllocateOnHit(String cacheAlgorithm) {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+				&& bean.isThreadAllocatedMemorySupported());
+
+		com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+		Cache<Long, Comment> cache = cacheFactory.initLongKeyCache(cacheAlgorithm, KEYS_QUANTITY, null, null, null);
+
+		Long[] keys = new Long[KEYS_QUANTITY];
+
+		for (int i = 0; i < KEYS_QUANTITY; i++) {
+			keys[i] = i * 1_000L;
+			cache.put(keys[i], Comment.builder().id(keys[i]).build());
+		}
+
+		readAll(cache, keys);
+
+		long threadId = Thread.currentThread().getId();
+		long allocatedBytesBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+
+		readAll(cache, keys);
+
+		long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesBefore;
+
+		assertThat(allocatedBytes).isLessThan(1_024L);
+	}
+
+	private void readAll(Cache<Long, Comment> cache, Long[] keys) {
+		for (int i = 0; i < OPERATIONS_QUANTITY; i++) {
+			cache.get(keys[i % keys.length]);
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ru.clevertec.ecl.knyazev.cache.codec.CommentCodec;
+import ru.clevertec.ecl.knyazev.entity.Comment;
+import ru.clevertec.ecl.knyazev.entity.News;
+
+public class OffHeapCacheTest {
+	
+	private static final Integer CACHE_SIZE = 3;
+	private static final Long ARENA_CAPACITY = 1024L;
+	
+	private CommentCodec commentCodec = new CommentCodec();
+	
+	private Cache<Long, Comment> offHeapCache;
+	
+	@BeforeEach
+	public void setUp() {
+		offHeapCache = new OffHeapCache<>(CACHE_SIZE, ARENA_CAPACITY, commentCodec);
+	}
+	
+	@Test
+	public void checkGetShouldReturnEqualCopyOfPutValue() {
+		Comment cachingComment = Comment.builder()
+				.id(1L)
+				.time(LocalDateTime.of(2023, 5, 10, 12, 30, 15, 123_000_000))
+				.text("Добавь это в кеш")
+				.userName("Vitya")
+				.news(News.builder()
+						  .id(5L)
+						  .time(LocalDateTime.of(2023, 5, 9, 10, 0))
+						  .title("News title")
+						  .text("News text")
+						  .authorName("Misha")
+						  .build())
+				.build();
+		
+		offHeapCache.put(1L, cachingComment);
+		
+		Comment actualComment = offHeapCache.get(1L);
+		
+		assertAll(
+				() -> assertThat(actualComment).isEqualTo(cachingComment),
+				() -> assertThat(actualComment).isNotSameAs(cachingComment),
+				() -> assertThat(offHeapCache.size()).isEqualTo(1),
+				() -> assertThat(offHeapCache.weight()).isEqualTo(commentCodec.encode(cachingComment).length)
+		);
+		
+	}
+	
+	@Test
+	public void checkPutShouldReplaceValueOnExistingKey() {
+		offHeapCache.put(1L, Comment.builder().id(1L).text("First cashed element").build());
+		offHeapCache.put(1L, Comment.builder().id(1L).text("Replaced element").build());
+		
+		assertAll(
+				() -> assertThat(offHeapCache.get(1L).getText()).isEqualTo("Replaced element"),
+				() -> assertThat(offHeapCache.size()).isEqualTo(1)
+		);
+		
+	}
+	
+	@Test
+	public void checkPutShouldEvictOldestValueOnMaxCacheSize() {
+		for (long id = 1L; id <= 4L; id++) {
+			offHeapCache.put(id, Comment.builder().id(id).text("Cashed element").build());
+		}
+		
+		assertAll(
+				() -> assertThat(offHeapCache.contains(1L)).isFalse(),
+				() -> assertThat(offHeapCache.contains(4L)).isTrue(),
+				() -> assertThat(offHeapCache.size()).isEqualTo(CACHE_SIZE),
+				() -> assertThat(offHeapCache.stats().evictionCount()).isEqualTo(1L)
+		);
+		
+	}
+	
+	@Test
+	public void checkPutShouldEvictOldestValuesWhenArenaIsFull() {
+		Cache<Long, Comment> smallCache = new OffHeapCache<>(100, 64L, commentCodec);
+		
+		String text = "x".repeat(20);
+		
+		for (long id = 1L; id <= 10L; id++) {
+			smallCache.put(id, Comment.builder().id(id).text(text).build());
+		}
+		
+		assertAll(
+				() -> assertThat(smallCache.get(10L).getText()).isEqualTo(text),
+				() -> assertThat(smallCache.contains(1L)).isFalse(),
+				() -> assertThat(smallCache.weight()).isLessThanOrEqualTo(64L)
+		);
+		
+	}
+	
+	@Test
+	public void checkPutShouldNotAddValueBiggerThanArena() {
+		Cache<Long, Comment> smallCache = new OffHeapCache<>(CACHE_SIZE, 16L, commentCodec);
+		
+		smallCache.put(1L, Comment.builder().id(1L).text("x".repeat(100)).build());
+		
+		assertAll(
+				() -> assertThat(smallCache.size()).isZero(),
+				() -> assertThat(smallCache.get(1L)).isNull()
+		);
+		
+	}
+	
+}
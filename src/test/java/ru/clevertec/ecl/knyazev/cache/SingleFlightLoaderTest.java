@@ -0,0 +1,137 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ru.clevertec.ecl.knyazev.entity.Comment;
+
+public class SingleFlightLoaderTest {
+
+	private static final int THREADS_QUANTITY = 8;
+	private static final long LOADING_TIME = 200L;
+
+	private ExecutorService executorService;
+
+	private AtomicInteger loadingsQuantity;
+
+	@BeforeEach
+	public void setUp() {
+		executorService = Executors.newFixedThreadPool(THREADS_QUANTITY);
+		loadingsQuantity = new AtomicInteger();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void checkLoadShouldLoadValueOnceForConcurrentThreads() throws Exception {
+		SingleFlightLoader<Long, Comment> singleFlightLoader = new SingleFlightLoader<>(Duration.ofSeconds(10L));
+
+		CountDownLatch waitersLatch = new CountDownLatch(THREADS_QUANTITY - 1);
+
+		List<Future<Comment>> loadedComments = new ArrayList<>();
+
+		loadedComments.add(executorService.submit(loading(singleFlightLoader, id -> {
+			loadingsQuantity.incrementAndGet();
+			waitersLatch.await();
+			Thread.sleep(LOADING_TIME);
+			return Comment.builder().id(id).text("Loaded element").build();
+		})));
+
+		while (singleFlightLoader.loadingsQuantity() == 0) {
+			Thread.onSpinWait();
+		}
+
+		for (int i = 1; i < THREADS_QUANTITY; i++) {
+			Callable<Comment> waiting = loading(singleFlightLoader, id -> {
+				loadingsQuantity.incrementAndGet();
+				return Comment.builder().id(id).text("Loaded twice").build();
+			});
+
+			loadedComments.add(executorService.submit(() -> {
+				waitersLatch.countDown();
+				return waiting.call();
+			}));
+		}
+
+		for (Future<Comment> loadedComment : loadedComments) {
+			assertThat(loadedComment.get(10L, TimeUnit.SECONDS).getText()).isEqualTo("Loaded element");
+		}
+
+		assertAll(
+				() -> assertThat(loadingsQuantity.get()).isEqualTo(1),
+				() -> assertThat(singleFlightLoader.loadingsQuantity()).isZero()
+		);
+	}
+
+	@Test
+	public void checkLoadShouldLoadValueItselfWhenWaitTimeoutIsOver() throws Throwable {
+		SingleFlightLoader<Long, Comment> singleFlightLoader = new SingleFlightLoader<>(Duration.ofMillis(10L));
+
+		CountDownLatch loadingLatch = new CountDownLatch(1);
+
+		Future<Comment> slowComment = executorService.submit(loading(singleFlightLoader, id -> {
+			loadingLatch.await();
+			return Comment.builder().id(id).text("Slow element").build();
+		}));
+
+		while (singleFlightLoader.loadingsQuantity() == 0) {
+			Thread.onSpinWait();
+		}
+
+		Comment actualComment = singleFlightLoader.load(1L, id -> Comment.builder().id(id).text("Fast element").build());
+
+		loadingLatch.countDown();
+
+		assertAll(
+				() -> assertThat(actualComment.getText()).isEqualTo("Fast element"),
+				() -> assertThat(slowComment.get(10L, TimeUnit.SECONDS).getText()).isEqualTo("Slow element")
+		);
+	}
+
+	@Test
+	public void checkLoadShouldThrowLoaderException() {
+		SingleFlightLoader<Long, Comment> singleFlightLoader = new SingleFlightLoader<>();
+
+		assertAll(
+				() -> assertThatExceptionOfType(IllegalStateException.class)
+						.isThrownBy(() -> singleFlightLoader.load(1L, id -> {
+							throw new IllegalStateException("Loading failed");
+						})),
+				() -> assertThat(singleFlightLoader.loadingsQuantity()).isZero()
+		);
+	}
+
+	private Callable<Comment> loading(SingleFlightLoader<Long, Comment> singleFlightLoader,
+			SingleFlightLoader.Loader<Long, Comment> loader) {
+		return () -> {
+			try {
+				return singleFlightLoader.load(1L, loader);
+			} catch (Exception | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new ExecutionException(e);
+			}
+		};
+	}
+
+}
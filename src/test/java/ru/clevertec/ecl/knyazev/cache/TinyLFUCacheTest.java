@@ -0,0 +1,176 @@
+package ru.clevertec.ecl.knyazev.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ru.clevertec.ecl.knyazev.entity.Comment;
+
+public class TinyLFUCacheTest {
+
+	private static final String CACHE_TYPE = "TINYLFU";
+	private static final Integer CACHE_SIZE = 3;
+
+	private static final Integer TRACE_CACHE_SIZE = 100;
+	private static final int TRACE_LENGTH = 200_000;
+	private static final int TRACE_PHASE_LENGTH = 50_000;
+	private static final int TRACE_HOT_KEYS = 500;
+	private static final double TRACE_HOT_PROBABILITY = 0.6d;
+
+	private CacheFactory cacheFactory = new CacheFactory();
+
+	private Cache<Long, Comment> tinyLfuCache;
+
+	@BeforeEach
+	public void setUp() {
+		tinyLfuCache = cacheFactory.initCache(CACHE_TYPE, CACHE_SIZE);
+	}
+
+	@Test
+	public void checkPutShouldAddToCache() {
+		Long inputId = 1L;
+
+		Comment cachingComment = Comment.builder()
+										.id(inputId)
+										.text("Добавь это в кеш")
+										.build();
+
+		assertAll(
+				() -> assertThatCode(() -> tinyLfuCache.put(inputId, cachingComment)).doesNotThrowAnyException(),
+				() -> assertThat(tinyLfuCache.size()).isEqualTo(1),
+				() -> assertThat(tinyLfuCache.contains(inputId)).isTrue()
+		);
+
+	}
+
+	@Test
+	public void checkPutShouldReplaceValueOnExistingKey() {
+
+		tinyLfuCache.put(1L, Comment.builder().id(1L).text("First cashed element").build());
+		tinyLfuCache.put(2L, Comment.builder().id(2L).text("Second cashed element").build());
+		tinyLfuCache.put(3L, Comment.builder().id(3L).text("Third cashed element").build());
+
+		Long inputId = 2L;
+		Comment cachingComment4 = Comment.builder()
+				.id(inputId)
+				.text("Fours cashed element")
+				.build();
+
+		assertAll(
+				() -> assertThatCode(() -> tinyLfuCache.put(inputId, cachingComment4)).doesNotThrowAnyException(),
+				() -> assertThat(tinyLfuCache.size()).isEqualTo(3),
+				() -> assertThat(tinyLfuCache.get(inputId)).isEqualTo(cachingComment4)
+		);
+
+	}
+
+	@Test
+	public void checkPutShouldAddValueOnMaxCacheSize() {
+
+		tinyLfuCache.put(1L, Comment.builder().id(1L).text("First cashed element").build());
+		tinyLfuCache.put(2L, Comment.builder().id(2L).text("Second cashed element").build());
+		tinyLfuCache.put(3L, Comment.builder().id(3L).text("Third cashed element").build());
+
+		tinyLfuCache.get(1L);
+		tinyLfuCache.get(2L);
+
+		Long inputId = 4L;
+		Comment cachingComment4 = Comment.builder()
+				.id(inputId)
+				.text("Fours cashed element")
+				.build();
+
+		assertAll(
+				() -> assertThatCode(() -> tinyLfuCache.put(inputId, cachingComment4)).doesNotThrowAnyException(),
+				() -> assertThat(tinyLfuCache.size()).isEqualTo(3),
+				() -> assertThat(tinyLfuCache.contains(inputId)).isTrue(),
+				() -> assertThat(tinyLfuCache.contains(1L)).isTrue(),
+				() -> assertThat(tinyLfuCache.contains(2L)).isTrue()
+		);
+
+	}
+
+	@Test
+	public void checkGetShouldReturnNullOnNonExistingKey() {
+		tinyLfuCache.put(1L, Comment.builder().id(1L).text("First cashed element").build());
+		tinyLfuCache.put(2L, Comment.builder().id(2L).text("Second cashed element").build());
+
+		Comment actualComment = tinyLfuCache.get(5L);
+
+		assertThat(actualComment).isNull();
+	}
+
+	@Test
+	public void checkRemoveShouldRemoveFromeCache() {
+		tinyLfuCache.put(1L, Comment.builder().id(1L).text("First cashed element").build());
+		tinyLfuCache.put(2L, Comment.builder().id(2L).text("Second cashed element").build());
+		tinyLfuCache.put(3L, Comment.builder().id(3L).text("Third cashed element").build());
+
+		assertAll(
+				() -> assertThatCode(() -> tinyLfuCache.remove(3L)).doesNotThrowAnyException(),
+				() -> assertThat(tinyLfuCache.size()).isEqualTo(2),
+				() -> assertThat(tinyLfuCache.contains(3L)).isFalse()
+		);
+
+	}
+
+	/**
+	 * 
+	 * Hit rate comparison on skewed trace: zipf distributed hot keys which
+	 * popularity changes every phase mixed with long scan of never repeated keys
+	 * (like paging through /news). Every miss is followed by put as in cache aspects.
+	 * 
+	 */
+	@Test
+	public void checkHitRateShouldBeHigherThanLRUAndLFUOnSkewedTrace() {
+		long[] trace = skewedTrace();
+
+		double lruHitRate = hitRate(cacheFactory.initCache("LRU", TRACE_CACHE_SIZE), trace);
+		double lfuHitRate = hitRate(cacheFactory.initCache("LFU", TRACE_CACHE_SIZE), trace);
+		double tinyLfuHitRate = hitRate(cacheFactory.initCache(CACHE_TYPE, TRACE_CACHE_SIZE), trace);
+
+		assertAll(
+				() -> assertThat(tinyLfuHitRate).isGreaterThan(lruHitRate),
+				() -> assertThat(tinyLfuHitRate).isGreaterThan(lfuHitRate)
+		);
+	}
+
+	private long[] skewedTrace() {
+		Random random = new Random(42L);
+
+		long[] trace = new long[TRACE_LENGTH];
+		long scanKey = 1_000_000L;
+
+		for (int i = 0; i < TRACE_LENGTH; i++) {
+			long phase = i / TRACE_PHASE_LENGTH;
+
+			if (random.nextDouble() < TRACE_HOT_PROBABILITY) {
+				trace[i] = phase * 10_000L + (long) Math.pow(TRACE_HOT_KEYS, random.nextDouble());
+			} else {
+				trace[i] = scanKey++;
+			}
+		}
+
+		return trace;
+	}
+
+	private double hitRate(Cache<Long, Long> cache, long[] trace) {
+		int hits = 0;
+
+		for (long key : trace) {
+			if (cache.get(key) != null) {
+				hits++;
+			} else {
+				cache.put(key, key);
+			}
+		}
+
+		return (double) hits / trace.length;
+	}
+
+}
@@ -0,0 +1,74 @@
+package ru.clevertec.ecl.knyazev.cache.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import ru.clevertec.ecl.knyazev.entity.Comment;
+import ru.clevertec.ecl.knyazev.entity.News;
+
+public class CommentCodecTest {
+	
+	private CommentCodec commentCodec = new CommentCodec();
+	
+	@Test
+	public void checkDecodeShouldReturnEncodedComment() {
+		Comment comment = Comment.builder()
+				.id(300L)
+				.time(LocalDateTime.of(2023, 5, 10, 12, 30, 15, 123_000_000))
+				.text("Комментарий к новости")
+				.userName("Vitya")
+				.news(News.builder()
+						  .id(1L)
+						  .time(LocalDateTime.of(1970, 1, 1, 0, 0).minusDays(1L))
+						  .title("News title")
+						  .text("News text")
+						  .authorName("Misha")
+						  .build())
+				.build();
+		
+		assertThat(commentCodec.decode(ByteBuffer.wrap(commentCodec.encode(comment)))).isEqualTo(comment);
+	}
+	
+	@Test
+	public void checkDecodeShouldKeepNullFields() {
+		Comment comment = Comment.builder()
+				.id(1L)
+				.text("Comment without news")
+				.build();
+		
+		Comment actualComment = commentCodec.decode(ByteBuffer.wrap(commentCodec.encode(comment)));
+		
+		assertAll(
+				() -> assertThat(actualComment).isEqualTo(comment),
+				() -> assertThat(actualComment.getNews()).isNull(),
+				() -> assertThat(actualComment.getUserName()).isNull()
+		);
+	}
+	
+	@Test
+	public void checkEncodeShouldBeCompact() {
+		Comment comment = Comment.builder()
+				.id(1L)
+				.time(LocalDateTime.of(2023, 5, 10, 12, 30))
+				.text("Text")
+				.userName("User")
+				.build();
+		
+		assertThat(commentCodec.encode(comment).length).isLessThan(24);
+	}
+	
+	@Test
+	public void checkDecodeShouldThrowIllegalArgumentExceptionOnTruncatedBytes() {
+		byte[] encodedComment = commentCodec.encode(Comment.builder().id(1L).text("Truncated").build());
+		
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> commentCodec.decode(ByteBuffer.wrap(encodedComment, 0, encodedComment.length - 3)));
+	}
+	
+}
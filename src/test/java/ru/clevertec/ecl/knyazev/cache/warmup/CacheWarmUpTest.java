@@ -0,0 +1,172 @@
+package ru.clevertec.ecl.knyazev.cache.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ru.clevertec.ecl.knyazev.entity.News;
+import ru.clevertec.ecl.knyazev.repository.CommentRepository;
+import ru.clevertec.ecl.knyazev.repository.NewsRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheWarmUpTest {
+
+	private static final Sort NEWS_SORT = Sort.by("title");
+	private static final Sort COMMENTS_SORT = Sort.by("time");
+
+	@Mock
+	private NewsRepository newsRepositoryMock;
+
+	@Mock
+	private CommentRepository commentRepositoryMock;
+
+	@Mock
+	private PlatformTransactionManager transactionManagerMock;
+
+	private CacheWarmUp.CacheWarmUpBuilder cacheWarmUpBuilder;
+
+	@BeforeEach
+	public void setUp() {
+		cacheWarmUpBuilder = CacheWarmUp.builder()
+				                        .newsRepository(newsRepositoryMock)
+				                        .commentRepository(commentRepositoryMock)
+				                        .transactionTemplate(new TransactionTemplate(transactionManagerMock))
+				                        .pagesCached(true)
+				                        .newsPages(2)
+				                        .newsPageSize(3)
+				                        .newsSort(NEWS_SORT)
+				                        .mostCommentedNews(2)
+				                        .commentsPageSize(3)
+				                        .commentsSort(COMMENTS_SORT)
+				                        .parallelism(2)
+				                        .rateLimiter(new RateLimiter(null))
+				                        .timeout(Duration.ofSeconds(10L));
+	}
+
+	@Test
+	public void checkRunShouldLoadNewsPagesAndMostCommentedNews() throws InterruptedException {
+
+		Mockito.when(newsRepositoryMock.findMostCommentedNewsIds(PageRequest.of(0, 2)))
+			   .thenReturn(List.of(5L, 7L));
+
+		cacheWarmUpBuilder.build().run(null);
+
+		Pageable commentsPageable = PageRequest.of(0, 3, COMMENTS_SORT);
+
+		assertAll(
+				() -> Mockito.verify(newsRepositoryMock).findAllBy(PageRequest.of(0, 3, NEWS_SORT)),
+				() -> Mockito.verify(newsRepositoryMock).findAllBy(PageRequest.of(1, 3, NEWS_SORT)),
+				() -> Mockito.verify(newsRepositoryMock).findById(5L),
+				() -> Mockito.verify(newsRepositoryMock).findById(7L),
+				() -> Mockito.verify(commentRepositoryMock).findAllByNewsId(5L, commentsPageable),
+				() -> Mockito.verify(commentRepositoryMock).findAllByNewsId(7L, commentsPageable)
+		);
+	}
+
+	@Test
+	public void checkRunShouldNotLoadPagesWhenPagesAreNotCached() throws InterruptedException {
+
+		Mockito.when(newsRepositoryMock.findMostCommentedNewsIds(PageRequest.of(0, 2)))
+			   .thenReturn(List.of(5L));
+
+		cacheWarmUpBuilder.pagesCached(false)
+						  .build()
+						  .run(null);
+
+		assertAll(
+				() -> Mockito.verify(newsRepositoryMock).findById(5L),
+				() -> Mockito.verify(newsRepositoryMock, Mockito.never()).findAllBy(Mockito.any(Pageable.class)),
+				() -> Mockito.verify(commentRepositoryMock, Mockito.never())
+						     .findAllByNewsId(Mockito.anyLong(), Mockito.any(Pageable.class))
+		);
+	}
+
+	@Test
+	public void checkRunShouldSkipFailedLoadings() {
+
+		Mockito.when(newsRepositoryMock.findMostCommentedNewsIds(PageRequest.of(0, 2)))
+			   .thenReturn(List.of(5L));
+		Mockito.when(newsRepositoryMock.findAllBy(Mockito.any(Pageable.class)))
+			   .thenAnswer(invocation -> {
+
+				   if (invocation.<Pageable>getArgument(0).getPageNumber() == 0) {
+					   throw new IllegalStateException("Database is not available");
+				   }
+
+				   return null;
+			   });
+
+		CacheWarmUp cacheWarmUp = cacheWarmUpBuilder.build();
+
+		assertAll(
+				() -> assertThatCode(() -> cacheWarmUp.run(null)).doesNotThrowAnyException(),
+				() -> Mockito.verify(newsRepositoryMock).findAllBy(PageRequest.of(1, 3, NEWS_SORT)),
+				() -> Mockito.verify(newsRepositoryMock).findById(5L)
+		);
+	}
+
+	@Test
+	public void checkRunShouldSkipLoadingOfMostCommentedNewsWhenTheyAreNotFound() throws InterruptedException {
+
+		Mockito.when(newsRepositoryMock.findMostCommentedNewsIds(PageRequest.of(0, 2)))
+			   .thenThrow(new IllegalStateException("Database is not available"));
+
+		cacheWarmUpBuilder.build().run(null);
+
+		assertAll(
+				() -> Mockito.verify(newsRepositoryMock, Mockito.times(2)).findAllBy(Mockito.any(Pageable.class)),
+				() -> Mockito.verify(newsRepositoryMock, Mockito.never()).findById(Mockito.anyLong())
+		);
+	}
+
+	@Test
+	public void checkRunShouldCompleteAfterTimeoutWhenLoadingHangs() throws InterruptedException {
+
+		CountDownLatch hangingLoading = new CountDownLatch(1);
+
+		Mockito.when(newsRepositoryMock.findMostCommentedNewsIds(PageRequest.of(0, 2)))
+			   .thenReturn(List.of(5L));
+		Mockito.when(newsRepositoryMock.findById(5L))
+			   .thenAnswer(invocation -> {
+				   hangingLoading.await();
+				   return Optional.<News>empty();
+			   });
+
+		long startTime = System.nanoTime();
+
+		try {
+			cacheWarmUpBuilder.timeout(Duration.ofMillis(200L))
+							  .build()
+							  .run(null);
+		} finally {
+			hangingLoading.countDown();
+		}
+
+		long runTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+		assertAll(
+				() -> assertThat(runTime).isLessThan(5_000L),
+				() -> Mockito.verify(newsRepositoryMock).findAllBy(PageRequest.of(0, 3, NEWS_SORT)),
+				() -> Mockito.verify(commentRepositoryMock).findAllByNewsId(5L, PageRequest.of(0, 3, COMMENTS_SORT))
+		);
+	}
+
+}
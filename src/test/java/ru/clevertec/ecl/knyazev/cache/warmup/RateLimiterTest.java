@@ -0,0 +1,56 @@
+package ru.clevertec.ecl.knyazev.cache.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RateLimiterTest {
+
+	private static final long PERMIT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+
+	private AtomicLong ticker;
+
+	@BeforeEach
+	public void setUp() {
+		ticker = new AtomicLong();
+	}
+
+	@Test
+	public void checkReserveShouldSpreadPermitsEvenly() {
+		RateLimiter rateLimiter = new RateLimiter(10, ticker::get);
+
+		assertAll(
+				() -> assertThat(rateLimiter.reserve()).isZero(),
+				() -> assertThat(rateLimiter.reserve()).isEqualTo(PERMIT_INTERVAL_NANOS),
+				() -> assertThat(rateLimiter.reserve()).isEqualTo(2 * PERMIT_INTERVAL_NANOS)
+		);
+	}
+
+	@Test
+	public void checkReserveShouldNotWaitAfterIdleTime() {
+		RateLimiter rateLimiter = new RateLimiter(10, ticker::get);
+
+		rateLimiter.reserve();
+		ticker.addAndGet(5 * PERMIT_INTERVAL_NANOS);
+
+		assertAll(
+				() -> assertThat(rateLimiter.reserve()).isZero(),
+				() -> assertThat(rateLimiter.reserve()).isEqualTo(PERMIT_INTERVAL_NANOS)
+		);
+	}
+
+	@Test
+	public void checkReserveShouldNotWaitWithoutLimit() {
+		RateLimiter rateLimiter = new RateLimiter(null, ticker::get);
+
+		rateLimiter.reserve();
+
+		assertThat(rateLimiter.reserve()).isZero();
+	}
+
+}
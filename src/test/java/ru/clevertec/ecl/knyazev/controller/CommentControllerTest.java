@@ -23,10 +23,12 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.CollectionType;
 
 import ru.clevertec.ecl.knyazev.dto.CommentDTO;
+import ru.clevertec.ecl.knyazev.dto.KeysetPageDTO;
 import ru.clevertec.ecl.knyazev.service.CommentService;
 import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
 
@@ -154,6 +156,76 @@ public class CommentControllerTest {
 		
 	}
 	
+	@Test
+	public void checkGetAllCommentsShouldReturnApproximateTotalHeader() throws Exception {
+		
+		Mockito.when(commentServiceImplMock.showAllOrByTextPart(Mockito.any(), Mockito.any(Pageable.class)))
+		       .thenReturn(List.of(CommentDTO.builder().id(1L).build()));
+		Mockito.when(commentServiceImplMock.showApproximateTotal())
+		       .thenReturn(125L);
+		
+		MvcResult mvcResult =  mockMVC.perform(MockMvcRequestBuilders.get(REQUEST)
+				                                                     .param("with_total", "true"))
+				                      .andReturn();
+		
+		Integer actualStatus = mvcResult.getResponse().getStatus();
+		String actualTotal = mvcResult.getResponse().getHeader("X-Approximate-Total-Count");
+		
+		assertAll(
+					() -> assertThat(actualStatus).isEqualTo(200),
+					() -> assertThat(actualTotal).isEqualTo("125")
+				);
+		
+	}
+	
+	@Test
+	public void checkGetCommentsFeedShouldReturnOk() throws Exception {
+		
+		KeysetPageDTO<CommentDTO> expectedCommentsPage = KeysetPageDTO.<CommentDTO>builder()
+				.content(List.of(CommentDTO.builder()
+				                              .id(2L)
+				                              .text("Отличный комментарий")
+				                              .userName("Sanya")
+				                              .build()))
+				.nextPageToken("nextToken")
+				.build();
+		
+		Mockito.when(commentServiceImplMock.showAllByPageToken(Mockito.anyString(), Mockito.anyInt()))
+		       .thenReturn(expectedCommentsPage);
+		
+		MvcResult mvcResult =  mockMVC.perform(MockMvcRequestBuilders.get(REQUEST + "/feed")
+				                                                     .param("page_token", "token")
+				                                                     .param("size", "1"))
+				                      .andReturn();
+		
+		JavaType commentsPageType = objectMapper.getTypeFactory().constructParametricType(KeysetPageDTO.class, CommentDTO.class);
+		
+		Integer actualStatus = mvcResult.getResponse().getStatus();
+		KeysetPageDTO<CommentDTO> actualCommentsPage = objectMapper.readValue(mvcResult.getResponse().getContentAsByteArray(), commentsPageType);
+		
+		assertAll(
+					() -> assertThat(actualStatus).isEqualTo(200),
+					() -> assertThat(actualCommentsPage).isEqualTo(expectedCommentsPage),
+					() -> Mockito.verify(commentServiceImplMock).showAllByPageToken("token", 1)
+				);
+		
+	}
+	
+	@Test
+	public void checkGetCommentsFeedShouldReturnBadRequest() throws Exception {
+		
+		Mockito.when(commentServiceImplMock.showAllByPageToken(Mockito.any(), Mockito.anyInt()))
+	           .thenThrow(ServiceException.class);
+		
+		MvcResult mvcResult =  mockMVC.perform(MockMvcRequestBuilders.get(REQUEST + "/feed"))
+				                      .andReturn();
+
+		Integer actualStatus = mvcResult.getResponse().getStatus();
+		
+		assertThat(actualStatus).isEqualTo(400);
+		
+	}
+	
 	@Test
 	public void checkAddCommentShouldReturnCreated() throws Exception {
 		
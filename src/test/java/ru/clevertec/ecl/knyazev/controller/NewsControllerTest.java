@@ -23,10 +23,12 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.CollectionType;
 
 import ru.clevertec.ecl.knyazev.dto.CommentDTO;
+import ru.clevertec.ecl.knyazev.dto.KeysetPageDTO;
 import ru.clevertec.ecl.knyazev.dto.NewsDTO;
 import ru.clevertec.ecl.knyazev.service.NewsService;
 import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
@@ -160,6 +162,76 @@ public class NewsControllerTest {
 		
 	}
 	
+	@Test
+	public void checkGetAllNewsShouldReturnApproximateTotalHeader() throws Exception {
+		
+		Mockito.when(newsServiceImplMock.showAllOrByTextPart(Mockito.any(), Mockito.any(Pageable.class)))
+		       .thenReturn(List.of(NewsDTO.builder().id(1L).build()));
+		Mockito.when(newsServiceImplMock.showApproximateTotal())
+		       .thenReturn(125L);
+		
+		MvcResult mvcResult =  mockMVC.perform(MockMvcRequestBuilders.get(REQUEST)
+				                                                     .param("with_total", "true"))
+				                      .andReturn();
+		
+		Integer actualStatus = mvcResult.getResponse().getStatus();
+		String actualTotal = mvcResult.getResponse().getHeader("X-Approximate-Total-Count");
+		
+		assertAll(
+					() -> assertThat(actualStatus).isEqualTo(200),
+					() -> assertThat(actualTotal).isEqualTo("125")
+				);
+		
+	}
+	
+	@Test
+	public void checkGetNewsFeedShouldReturnOk() throws Exception {
+		
+		KeysetPageDTO<NewsDTO> expectedNewsPage = KeysetPageDTO.<NewsDTO>builder()
+				.content(List.of(NewsDTO.builder()
+				                           .id(2L)
+				                           .title("Отличная новость")
+				                           .text("Скидки на все виды новостей")
+				                           .build()))
+				.nextPageToken("nextToken")
+				.build();
+		
+		Mockito.when(newsServiceImplMock.showAllByPageToken(Mockito.anyString(), Mockito.anyInt()))
+		       .thenReturn(expectedNewsPage);
+		
+		MvcResult mvcResult =  mockMVC.perform(MockMvcRequestBuilders.get(REQUEST + "/feed")
+				                                                     .param("page_token", "token")
+				                                                     .param("size", "1"))
+				                      .andReturn();
+		
+		JavaType newsPageType = objectMapper.getTypeFactory().constructParametricType(KeysetPageDTO.class, NewsDTO.class);
+		
+		Integer actualStatus = mvcResult.getResponse().getStatus();
+		KeysetPageDTO<NewsDTO> actualNewsPage = objectMapper.readValue(mvcResult.getResponse().getContentAsByteArray(), newsPageType);
+		
+		assertAll(
+					() -> assertThat(actualStatus).isEqualTo(200),
+					() -> assertThat(actualNewsPage).isEqualTo(expectedNewsPage),
+					() -> Mockito.verify(newsServiceImplMock).showAllByPageToken("token", 1)
+				);
+		
+	}
+	
+	@Test
+	public void checkGetNewsFeedShouldReturnBadRequest() throws Exception {
+		
+		Mockito.when(newsServiceImplMock.showAllByPageToken(Mockito.any(), Mockito.anyInt()))
+	           .thenThrow(ServiceException.class);
+		
+		MvcResult mvcResult =  mockMVC.perform(MockMvcRequestBuilders.get(REQUEST + "/feed"))
+				                      .andReturn();
+
+		Integer actualStatus = mvcResult.getResponse().getStatus();
+		
+		assertThat(actualStatus).isEqualTo(400);
+		
+	}
+	
 	@Test
 	public void checkAddNewsShouldReturnCreated() throws Exception {
 		
@@ -0,0 +1,61 @@
+package ru.clevertec.ecl.knyazev.integration.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.ContextHierarchy;
+import org.springframework.test.context.TestPropertySource;
+
+import lombok.AllArgsConstructor;
+import ru.clevertec.ecl.knyazev.integration.testconfig.TestConfig;
+import ru.clevertec.ecl.knyazev.integration.testconfig.testcontainers.PostgreSQLContainersConfig;
+import ru.clevertec.ecl.knyazev.integration.testconfig.wiremock.WireMockServerConfig;
+import ru.clevertec.ecl.knyazev.repository.CommentRepository;
+import ru.clevertec.ecl.knyazev.repository.NewsRepository;
+
+/**
+ * 
+ * Checks approximate counting of repositories on filled test tables. Tables that were
+ * not analyzed yet have no statistics and are counted.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@ActiveProfiles(profiles = { "test" })
+@SpringBootTest
+@TestPropertySource(properties = { "spring.config.location=classpath:application-test.yaml" })
+@EnableConfigurationProperties
+@ContextHierarchy({
+		@ContextConfiguration(classes = WireMockServerConfig.class),
+		@ContextConfiguration(classes = PostgreSQLContainersConfig.class),
+		@ContextConfiguration(classes = TestConfig.class)
+})
+@AllArgsConstructor(onConstructor_ = { @Autowired } )
+public class ApproximateCountTest {
+
+	private NewsRepository newsRepository;
+
+	private CommentRepository commentRepository;
+
+	@Test
+	public void checkCountApproximatelyShouldReturnNewsQuantity() {
+
+		Long actualCount = newsRepository.countApproximately();
+
+		assertThat(actualCount).isPositive();
+	}
+
+	@Test
+	public void checkCountApproximatelyShouldReturnCommentsQuantity() {
+
+		Long actualCount = commentRepository.countApproximately();
+
+		assertThat(actualCount).isPositive();
+	}
+
+}
@@ -0,0 +1,139 @@
+package ru.clevertec.ecl.knyazev.integration.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.ContextHierarchy;
+import org.springframework.test.context.TestPropertySource;
+
+import lombok.AllArgsConstructor;
+import ru.clevertec.ecl.knyazev.integration.testconfig.TestConfig;
+import ru.clevertec.ecl.knyazev.integration.testconfig.hibernate.SqlStatementRecorder;
+import ru.clevertec.ecl.knyazev.integration.testconfig.testcontainers.PostgreSQLContainersConfig;
+import ru.clevertec.ecl.knyazev.integration.testconfig.wiremock.WireMockServerConfig;
+import ru.clevertec.ecl.knyazev.repository.CommentRepository;
+import ru.clevertec.ecl.knyazev.repository.NewsRepository;
+
+/**
+ * 
+ * Checks that substring searching queries of repositories can use trigram indexes.
+ * Repository query is executed first and the parameterised SQL generated by hibernate
+ * is recorded, then the same SQL is explained with the same bound pattern. Test
+ * tables are small, so sequential scans are disabled in plan transaction, otherwise
+ * planner chooses them regardless of indexes.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@ActiveProfiles(profiles = { "test" })
+@SpringBootTest
+@TestPropertySource(properties = { "spring.config.location=classpath:application-test.yaml",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "ru.clevertec.ecl.knyazev.integration.testconfig.hibernate.SqlStatementRecorder" })
+@EnableConfigurationProperties
+@ContextHierarchy({
+		@ContextConfiguration(classes = WireMockServerConfig.class),
+		@ContextConfiguration(classes = PostgreSQLContainersConfig.class),
+		@ContextConfiguration(classes = TestConfig.class)
+})
+@AllArgsConstructor(onConstructor_ = { @Autowired } )
+public class TrigramIndexTest {
+
+	private static final int PAGE_SIZE = 10;
+
+	private DataSource dataSource;
+
+	private NewsRepository newsRepository;
+
+	private CommentRepository commentRepository;
+
+	@Test
+	public void checkFindAllByPartNewsTextShouldUseTrigramIndex() throws SQLException {
+
+		String pattern = "%рот%";
+
+		SqlStatementRecorder.clear();
+		newsRepository.findAllByPartNewsText(pattern, PageRequest.of(0, PAGE_SIZE));
+
+		String query = SqlStatementRecorder.findLast(" like ?");
+
+		assertThat(query).isNotNull();
+
+		String actualPlan = explain(query, pattern);
+
+		assertThat(actualPlan).contains("news_text_data_trgm_idx");
+	}
+
+	@Test
+	public void checkFindAllByPartCommentTextShouldUseTrigramIndex() throws SQLException {
+
+		String pattern = "%все%";
+
+		SqlStatementRecorder.clear();
+		commentRepository.findAllByPartCommentText(pattern, PageRequest.of(0, PAGE_SIZE));
+
+		String query = SqlStatementRecorder.findLast(" like ?");
+
+		assertThat(query).isNotNull();
+
+		String actualPlan = explain(query, pattern);
+
+		assertThat(actualPlan).contains("comment_text_data_trgm_idx");
+	}
+
+	/**
+	 * 
+	 * Explain parameterised query: the first parameter is text pattern, the others
+	 * are paging parameters.
+	 */
+	private String explain(String query, String pattern) throws SQLException {
+
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+
+			try (Statement statement = connection.createStatement();
+				 PreparedStatement explainStatement = connection.prepareStatement("EXPLAIN " + query)) {
+				statement.execute("SET LOCAL enable_seqscan = off");
+
+				explainStatement.setString(1, pattern);
+
+				int parametersQuantity = explainStatement.getParameterMetaData().getParameterCount();
+
+				for (int i = 2; i <= parametersQuantity; i++) {
+					explainStatement.setInt(i, PAGE_SIZE);
+				}
+
+				StringBuilder plan = new StringBuilder();
+
+				try (ResultSet resultSet = explainStatement.executeQuery()) {
+
+					while (resultSet.next()) {
+						plan.append(resultSet.getString(1)).append(System.lineSeparator());
+					}
+
+				}
+
+				return plan.toString();
+			} finally {
+				connection.rollback();
+			}
+
+		}
+
+	}
+
+}
@@ -16,15 +16,18 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import ru.clevertec.ecl.knyazev.config.PaginationConfig;
 import ru.clevertec.ecl.knyazev.config.SecurityWebConfig;
+import ru.clevertec.ecl.knyazev.config.TextSearchConfig;
 import ru.clevertec.ecl.knyazev.config.WebConfig;
 
 @ImportAutoConfiguration({ FeignAutoConfiguration.class })
-@Import(value = { WebConfig.class, SecurityWebConfig.class })
+@Import(value = { WebConfig.class, SecurityWebConfig.class, TextSearchConfig.class, PaginationConfig.class })
 @EnableWebMvc
 @EnableJpaRepositories("ru.clevertec.ecl.knyazev.repository")
 @ComponentScan(basePackages = { "ru.clevertec.ecl.knyazev.service", "ru.clevertec.ecl.knyazev.mapper",
-		"ru.clevertec.ecl.knyazev.controller", "ru.clevertec.ecl.knyazev.config.connection", "ru.clevertec.ecl.knyazev.token" })
+		"ru.clevertec.ecl.knyazev.controller", "ru.clevertec.ecl.knyazev.config.connection", "ru.clevertec.ecl.knyazev.token",
+		"ru.clevertec.ecl.knyazev.search" })
 public class TestConfig implements WebMvcConfigurer {
 	
 	@Bean
@@ -0,0 +1,53 @@
+package ru.clevertec.ecl.knyazev.integration.testconfig.hibernate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 
+ * Records SQL statements that hibernate prepares, so tests can check the SQL that
+ * repository queries are really translated to. Set by property
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+	@Override
+	public String inspect(String sql) {
+		STATEMENTS.add(sql);
+		return sql;
+	}
+
+	public static void clear() {
+		STATEMENTS.clear();
+	}
+
+	/**
+	 * 
+	 * Get the last recorded statement that contains given part.
+	 * 
+	 * @param part part of statement
+	 * @return statement or null when there is no such recorded statement
+	 */
+	public static String findLast(String part) {
+
+		for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+			String statement = STATEMENTS.get(i);
+
+			if (statement.contains(part)) {
+				return statement;
+			}
+		}
+
+		return null;
+	}
+
+}
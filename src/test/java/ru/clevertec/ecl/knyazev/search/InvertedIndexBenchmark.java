@@ -0,0 +1,169 @@
+package ru.clevertec.ecl.knyazev.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 
+ * Compares time of searching by inverted index with time of LIKE-style searching
+ * (scan of all texts with substring matching of every word) on generated documents.
+ * Documents quantity is set by system property benchmark.documents (1 000 000 by
+ * default, 10 000 000 needs about 4 GB of heap). Also measures incremental changes
+ * of built index: re-indexing of documents with changed text and removing of
+ * documents spread over the whole id range. Run by gradle benchmark task.
+ * 
+ * @author Vitya Knyazev
+ * 
+ */
+@Slf4j
+@Tag("benchmark")
+public class InvertedIndexBenchmark {
+
+	private static final int DOCUMENTS = Integer.getInteger("benchmark.documents", 1_000_000);
+
+	private static final int VOCABULARY_SIZE = 50_000;
+	private static final int WORDS_IN_DOCUMENT = 12;
+
+	private static final int PAGE_SIZE = 20;
+
+	private static final int WARM_UP_ITERATIONS = 3;
+	private static final int MEASURED_ITERATIONS = 10;
+
+	private static final int CHANGED_DOCUMENTS = 10_000;
+
+	private static final List<String> QUERIES = List.of("w10", "w100 w200", "w2000", "w30000 w45000");
+
+	@Test
+	public void compareIndexWithLike() {
+		Random random = new Random(42L);
+
+		String[] texts = new String[DOCUMENTS];
+		InvertedIndex invertedIndex = new InvertedIndex();
+
+		long buildStart = System.nanoTime();
+
+		for (int i = 0; i < DOCUMENTS; i++) {
+			texts[i] = createText(random);
+			invertedIndex.index((long) i, texts[i]);
+		}
+
+		log.info("Index of {} documents was built in {} ms", DOCUMENTS,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - buildStart));
+
+		for (String query : QUERIES) {
+			List<Long> indexIds = invertedIndex.search(query, 0L, PAGE_SIZE);
+			List<Long> likeIds = searchLike(texts, query);
+
+			assertThat(indexIds).isEqualTo(likeIds);
+
+			long indexTime = measure(() -> invertedIndex.search(query, 0L, PAGE_SIZE));
+			long likeTime = measure(() -> searchLike(texts, query));
+
+			log.info("Query \"{}\" on {} documents: index {} us, like {} us", query, DOCUMENTS,
+					TimeUnit.NANOSECONDS.toMicros(indexTime), TimeUnit.NANOSECONDS.toMicros(likeTime));
+		}
+
+		int step = Math.max(1, DOCUMENTS / CHANGED_DOCUMENTS);
+		int changed = 0;
+
+		long updateStart = System.nanoTime();
+
+		for (int i = 0; i < DOCUMENTS && changed < CHANGED_DOCUMENTS; i += step, changed++) {
+			texts[i] = createText(random);
+			invertedIndex.index((long) i, texts[i]);
+		}
+
+		long updateTime = (System.nanoTime() - updateStart) / Math.max(1, changed);
+
+		log.info("Update of {} documents in index of {} documents: {} ns per document", changed, DOCUMENTS,
+				updateTime);
+
+		int removed = 0;
+
+		long removeStart = System.nanoTime();
+
+		for (int i = step / 2; i < DOCUMENTS && removed < CHANGED_DOCUMENTS; i += step, removed++) {
+			texts[i] = "";
+			invertedIndex.remove((long) i);
+		}
+
+		long removeTime = (System.nanoTime() - removeStart) / Math.max(1, removed);
+
+		log.info("Removing of {} documents from index of {} documents: {} ns per document", removed, DOCUMENTS,
+				removeTime);
+
+		for (String query : QUERIES) {
+			assertThat(invertedIndex.search(query, 0L, PAGE_SIZE)).isEqualTo(searchLike(texts, query));
+		}
+	}
+
+	/**
+	 * 
+	 * Linear search like sequential scan of LIKE query: newest documents containing
+	 * all query words (words of generated texts are never substrings of other words).
+	 */
+	private List<Long> searchLike(String[] texts, String query) {
+		String[] words = query.split(" ");
+
+		List<Long> ids = new ArrayList<>(PAGE_SIZE);
+
+		for (int i = texts.length - 1; i >= 0 && ids.size() < PAGE_SIZE; i--) {
+			boolean found = true;
+
+			for (String word : words) {
+
+				if (!texts[i].contains(" " + word + " ")) {
+					found = false;
+					break;
+				}
+
+			}
+
+			if (found) {
+				ids.add((long) i);
+			}
+		}
+
+		return ids;
+	}
+
+	private long measure(Runnable search) {
+
+		for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+			search.run();
+		}
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			search.run();
+		}
+
+		return (System.nanoTime() - start) / MEASURED_ITERATIONS;
+	}
+
+	/**
+	 * 
+	 * Text of words with skewed frequencies, so queries have frequent and rare words.
+	 */
+	private String createText(Random random) {
+		StringBuilder text = new StringBuilder(" ");
+
+		for (int i = 0; i < WORDS_IN_DOCUMENT; i++) {
+			double skew = random.nextDouble();
+			text.append('w').append((int) (skew * skew * skew * VOCABULARY_SIZE)).append(' ');
+		}
+
+		return text.toString();
+	}
+
+}
@@ -0,0 +1,94 @@
+package ru.clevertec.ecl.knyazev.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class InvertedIndexTest {
+
+	private InvertedIndex invertedIndex;
+
+	@BeforeEach
+	public void setUp() {
+		invertedIndex = new InvertedIndex();
+
+		invertedIndex.index(1L, "Антон Павлович - космонавт");
+		invertedIndex.index(2L, "Наш Павлович летит в космос...");
+		invertedIndex.index(3L, "Павлович вернулся. Летит домой!");
+	}
+
+	@Test
+	public void checkTokenizeShouldSplitTextIntoLowercaseWords() {
+		assertThat(InvertedIndex.tokenize("Наш Павлович, наш герой: Apollo-11"))
+				.containsExactly("наш", "павлович", "герой", "apollo", "11");
+	}
+
+	@Test
+	public void checkSearchShouldFindDocumentsWithAllWordsNewestFirst() {
+		assertAll(
+				() -> assertThat(invertedIndex.search("павлович", 0L, 10)).containsExactly(3L, 2L, 1L),
+				() -> assertThat(invertedIndex.search("ЛЕТИТ Павлович", 0L, 10)).containsExactly(3L, 2L),
+				() -> assertThat(invertedIndex.search("летит космонавт", 0L, 10)).isEmpty(),
+				() -> assertThat(invertedIndex.search("марс", 0L, 10)).isEmpty(),
+				() -> assertThat(invertedIndex.search(" - ", 0L, 10)).isEmpty()
+		);
+	}
+
+	@Test
+	public void checkSearchShouldReturnPage() {
+		assertAll(
+				() -> assertThat(invertedIndex.search("павлович", 1L, 1)).containsExactly(2L),
+				() -> assertThat(invertedIndex.search("павлович", 2L, 5)).containsExactly(1L),
+				() -> assertThat(invertedIndex.search("павлович", 3L, 5)).isEmpty()
+		);
+	}
+
+	@Test
+	public void checkIndexShouldReplaceDocumentText() {
+		invertedIndex.index(2L, "Наш Павлович сидит дома");
+
+		assertAll(
+				() -> assertThat(invertedIndex.search("летит", 0L, 10)).containsExactly(3L),
+				() -> assertThat(invertedIndex.search("дома", 0L, 10)).containsExactly(2L),
+				() -> assertThat(invertedIndex.size()).isEqualTo(3)
+		);
+	}
+
+	@Test
+	public void checkIndexShouldKeepDocumentInRetainedWordsOnReplacing() {
+		invertedIndex.index(2L, "Наш Павлович сидит дома");
+		invertedIndex.index(2L, "Наш Павлович летит домой");
+
+		assertAll(
+				() -> assertThat(invertedIndex.search("наш павлович", 0L, 10)).containsExactly(2L),
+				() -> assertThat(invertedIndex.search("летит домой", 0L, 10)).containsExactly(3L, 2L),
+				() -> assertThat(invertedIndex.search("дома", 0L, 10)).isEmpty()
+		);
+	}
+
+	@Test
+	public void checkIndexIfAbsentShouldNotReplaceDocumentText() {
+		invertedIndex.indexIfAbsent(2L, "Наш Павлович сидит дома");
+		invertedIndex.indexIfAbsent(4L, "Павлович дома");
+
+		assertAll(
+				() -> assertThat(invertedIndex.search("летит", 0L, 10)).containsExactly(3L, 2L),
+				() -> assertThat(invertedIndex.search("дома", 0L, 10)).containsExactly(4L)
+		);
+	}
+
+	@Test
+	public void checkRemoveShouldRemoveDocument() {
+		invertedIndex.remove(3L);
+		invertedIndex.remove(5L);
+
+		assertAll(
+				() -> assertThat(invertedIndex.search("летит", 0L, 10)).containsExactly(2L),
+				() -> assertThat(invertedIndex.search("вернулся", 0L, 10)).isEmpty(),
+				() -> assertThat(invertedIndex.size()).isEqualTo(2)
+		);
+	}
+
+}
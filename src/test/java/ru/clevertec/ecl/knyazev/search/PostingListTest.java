@@ -0,0 +1,125 @@
+package ru.clevertec.ecl.knyazev.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PostingListTest {
+
+	private PostingList postingList;
+
+	@BeforeEach
+	public void setUp() {
+		postingList = new PostingList();
+	}
+
+	@Test
+	public void checkAddShouldKeepIdsSorted() {
+		postingList.add(5L);
+		postingList.add(300L);
+		postingList.add(1L);
+		postingList.add(70_000_000_000L);
+		postingList.add(150L);
+
+		assertAll(
+				() -> assertThat(postingList.toArray()).containsExactly(1L, 5L, 150L, 300L, 70_000_000_000L),
+				() -> assertThat(postingList.size()).isEqualTo(5)
+		);
+	}
+
+	@Test
+	public void checkAddShouldNotAddContainedId() {
+		postingList.add(1L);
+		postingList.add(2L);
+
+		assertAll(
+				() -> assertThat(postingList.add(1L)).isFalse(),
+				() -> assertThat(postingList.toArray()).containsExactly(1L, 2L)
+		);
+	}
+
+	@Test
+	public void checkAddShouldCompressDenseIds() {
+
+		for (long id = 1_000_000L; id < 1_001_000L; id++) {
+			postingList.add(id);
+		}
+
+		assertThat(postingList.sizeInBytes()).isLessThan(1_010);
+	}
+
+	@Test
+	public void checkRemoveShouldRemoveId() {
+		postingList.add(1L);
+		postingList.add(2L);
+		postingList.add(3L);
+
+		assertAll(
+				() -> assertThat(postingList.remove(2L)).isTrue(),
+				() -> assertThat(postingList.remove(4L)).isFalse(),
+				() -> assertThat(postingList.toArray()).containsExactly(1L, 3L),
+				() -> assertThat(postingList.add(5L)).isTrue(),
+				() -> assertThat(postingList.toArray()).containsExactly(1L, 3L, 5L)
+		);
+	}
+
+	@Test
+	public void checkRemoveShouldEmptyList() {
+		postingList.add(7L);
+		postingList.remove(7L);
+
+		assertAll(
+				() -> assertThat(postingList.isEmpty()).isTrue(),
+				() -> assertThat(postingList.iterator().hasNext()).isFalse()
+		);
+	}
+
+
+	@Test
+	public void checkAddShouldKeepIdsSortedWhenIdsAreAddedIntoMiddleOfBlocks() {
+		int idsQuantity = PostingList.BLOCK_SIZE * 8;
+
+		for (long id = 0L; id < idsQuantity; id += 2L) {
+			postingList.add(id);
+		}
+
+		for (long id = idsQuantity - 1L; id > 0L; id -= 2L) {
+			postingList.add(id);
+		}
+
+		assertAll(
+				() -> assertThat(postingList.toArray()).containsExactly(LongStream.range(0L, idsQuantity).toArray()),
+				() -> assertThat(postingList.size()).isEqualTo(idsQuantity)
+		);
+	}
+
+	@Test
+	public void checkRemoveShouldKeepIdsOfOtherBlocks() {
+		int idsQuantity = PostingList.BLOCK_SIZE * 4;
+
+		for (long id = 0L; id < idsQuantity; id++) {
+			postingList.add(id);
+		}
+
+		for (long id = 0L; id < idsQuantity; id++) {
+
+			if (id % 3L != 0L) {
+				postingList.remove(id);
+			}
+
+		}
+
+		assertAll(
+				() -> assertThat(postingList.toArray()).containsExactly(LongStream.range(0L, idsQuantity)
+						                                                          .filter(id -> id % 3L == 0L)
+						                                                          .toArray()),
+				() -> assertThat(postingList.remove(1L)).isFalse(),
+				() -> assertThat(postingList.add(1L)).isTrue()
+		);
+	}
+
+}
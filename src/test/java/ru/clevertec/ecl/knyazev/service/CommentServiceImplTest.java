@@ -28,21 +28,26 @@ import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.testcontainers.shaded.com.google.common.collect.Lists;
 
+import ru.clevertec.ecl.knyazev.config.TextSearchConfig;
 import ru.clevertec.ecl.knyazev.dto.CommentDTO;
+import ru.clevertec.ecl.knyazev.dto.KeysetPageDTO;
 import ru.clevertec.ecl.knyazev.dto.NewsDTO;
 import ru.clevertec.ecl.knyazev.entity.Comment;
 import ru.clevertec.ecl.knyazev.entity.News;
 import ru.clevertec.ecl.knyazev.mapper.CommentMapper;
 import ru.clevertec.ecl.knyazev.mapper.CommentMapperImpl;
 import ru.clevertec.ecl.knyazev.repository.CommentRepository;
+import ru.clevertec.ecl.knyazev.search.TextSearchIndex;
 import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
+import ru.clevertec.ecl.knyazev.service.pagination.ApproximateTotalCache;
+import ru.clevertec.ecl.knyazev.service.pagination.PageToken;
 
 @ExtendWith(MockitoExtension.class)
 public class CommentServiceImplTest {
@@ -55,6 +60,15 @@ public class CommentServiceImplTest {
 	@Mock
 	private CommentRepository commentRepositoryMock;
 	
+	@Mock
+	private TextSearchConfig textSearchConfigMock;
+	
+	@Mock
+	private TextSearchIndex textSearchIndexMock;
+	
+	@Mock
+	private ApproximateTotalCache approximateTotalCacheMock;
+	
 	@InjectMocks
 	private CommentServiceImpl commentServiceImpl;
 	
@@ -158,10 +172,10 @@ public class CommentServiceImplTest {
 		}};
 			
 		
-		Page<Comment> pageComments = new PageImpl<>(expectedComments);
+		Slice<Comment> sliceComments = new SliceImpl<>(expectedComments);
 		
-		Mockito.when(commentRepositoryMock.findAll(Mockito.any(Pageable.class)))
-		       .thenReturn(pageComments);
+		Mockito.when(commentRepositoryMock.findAllBy(Mockito.any(Pageable.class)))
+		       .thenReturn(sliceComments);
 		
 		
 		int inputPage = 1;
@@ -181,8 +195,8 @@ public class CommentServiceImplTest {
 	@Test
 	public void checkShowAllShouldThrowServiceExceptionWhenNotFound() {
 		
-		Mockito.when(commentRepositoryMock.findAll(Mockito.any(Pageable.class)))
-	       .thenReturn(new PageImpl<>(new ArrayList<>()));
+		Mockito.when(commentRepositoryMock.findAllBy(Mockito.any(Pageable.class)))
+	       .thenReturn(new SliceImpl<>(new ArrayList<>()));
 		
 		int inputPage = 25;
 		int inputPageSize = 3;
@@ -193,6 +207,17 @@ public class CommentServiceImplTest {
 		assertThatExceptionOfType(ServiceException.class).isThrownBy(() -> commentServiceImpl.showAll(inputPageable));
 	}
 	
+	@Test
+	public void checkShowApproximateTotalShouldReturnCachedTotal() {
+		
+		Mockito.when(approximateTotalCacheMock.get(Mockito.eq("comment"), Mockito.any()))
+		       .thenReturn(42L);
+		
+		Long actualTotal = commentServiceImpl.showApproximateTotal();
+		
+		assertThat(actualTotal).isEqualTo(42L);
+	}
+	
 	@Test
 	public void checkShowAllOrByTextPartShouldReturnCommentsDTO() throws ServiceException {
 		
@@ -244,6 +269,85 @@ public class CommentServiceImplTest {
 			);
 	}
 	
+	@Test
+	public void checkShowAllOrByTextPartShouldSearchByFullTextInFullTextMode() throws ServiceException {
+		
+		List<Comment> expectedComments = List.of(Comment.builder()
+				                                        .id(8L)
+				                                        .text("Еще раз сделали")
+				                                        .userName("Sanya")
+				                                        .time(LocalDateTime.now())
+				                                        .build());
+		
+		Mockito.when(textSearchConfigMock.getMode()).thenReturn(TextSearchConfig.Mode.FULL_TEXT);
+		Mockito.when(commentRepositoryMock.findAllByFullText(Mockito.anyString(), Mockito.any(Pageable.class)))
+		       .thenReturn(expectedComments);
+		
+		String inputTextPart = "сделали";
+		
+		Pageable inputPageable = PageRequest.of(1, 3, Sort.by("time"));
+		
+		List<CommentDTO> actualCommentsDTO = commentServiceImpl.showAllOrByTextPart(inputTextPart, inputPageable);
+		
+		assertAll(
+				() -> assertThat(actualCommentsDTO).hasSize(1),
+				() -> Mockito.verify(commentRepositoryMock).findAllByFullText(inputTextPart, PageRequest.of(1, 3)),
+				() -> Mockito.verify(commentRepositoryMock, Mockito.never()).findAllByPartCommentText(Mockito.anyString(), Mockito.any(Pageable.class))
+			);
+	}
+	
+	@Test
+	public void checkShowAllOrByTextPartShouldSearchByIndexInIndexMode() throws ServiceException {
+		
+		Comment foundComment = Comment.builder()
+				.id(2L)
+				.text("Еще раз сделали")
+				.userName("Sanya")
+				.time(LocalDateTime.now())
+				.build();
+		
+		Mockito.when(textSearchIndexMock.isEnabled()).thenReturn(true);
+		Mockito.when(textSearchIndexMock.searchComments(Mockito.anyString(), Mockito.any(Pageable.class)))
+		       .thenReturn(List.of(3L, 2L));
+		Mockito.when(commentRepositoryMock.findAllById(Mockito.anyIterable()))
+		       .thenReturn(List.of(foundComment));
+		
+		String inputTextPart = "сделали";
+		
+		Pageable inputPageable = PageRequest.of(1, 3);
+		
+		List<CommentDTO> actualCommentsDTO = commentServiceImpl.showAllOrByTextPart(inputTextPart, inputPageable);
+		
+		assertAll(
+				() -> assertThat(actualCommentsDTO).hasSize(1),
+				() -> assertThat(actualCommentsDTO.get(0).getId()).isEqualTo(2L),
+				() -> Mockito.verify(textSearchIndexMock).removeComment(3L),
+				() -> Mockito.verify(commentRepositoryMock, Mockito.never()).findAllByPartCommentText(Mockito.anyString(), Mockito.any(Pageable.class))
+			);
+	}
+	
+	@Test
+	public void checkShowAllOrByTextPartShouldEscapeLikeWildcards() throws ServiceException {
+		
+		Comment foundComment = Comment.builder()
+				.id(2L)
+				.text("Скидка 50%_на всё")
+				.userName("Sanya")
+				.time(LocalDateTime.now())
+				.build();
+		
+		Mockito.when(commentRepositoryMock.findAllByPartCommentText(Mockito.anyString(), Mockito.any(Pageable.class)))
+		       .thenReturn(List.of(foundComment));
+		
+		String inputTextPart = "50%_на";
+		
+		Pageable inputPageable = PageRequest.of(0, 3);
+		
+		commentServiceImpl.showAllOrByTextPart(inputTextPart, inputPageable);
+		
+		Mockito.verify(commentRepositoryMock).findAllByPartCommentText("%50\\%\\_на%", inputPageable);
+	}
+	
 	@ParameterizedTest
 	@NullSource
 	@EmptySource
@@ -279,10 +383,10 @@ public class CommentServiceImplTest {
 					   .build());
 		}};
 		
-		Page<Comment> pageComments = new PageImpl<>(expectedComments);
+		Slice<Comment> sliceComments = new SliceImpl<>(expectedComments);
 		
-		Mockito.when(commentRepositoryMock.findAll(Mockito.any(Pageable.class)))
-		       .thenReturn(pageComments);
+		Mockito.when(commentRepositoryMock.findAllBy(Mockito.any(Pageable.class)))
+		       .thenReturn(sliceComments);
 		
 		int inputPage = 1;
 		int inputPageSize = 3;
@@ -292,10 +396,65 @@ public class CommentServiceImplTest {
 		
 		List<CommentDTO> actualCommentsDTO = commentServiceImpl.showAllOrByTextPart(invalidTextPart, inputPageable);		
 		
-		Mockito.verify(commentRepositoryMock).findAll(inputPageable);		
+		Mockito.verify(commentRepositoryMock).findAllBy(inputPageable);		
 		assertThat(actualCommentsDTO).isNotEmpty();		
 	}
 	
+	@Test
+	public void checkShowAllByPageTokenShouldReturnFirstPageWithNextPageToken() throws ServiceException {
+		
+		LocalDateTime time = LocalDateTime.of(2023, 5, 10, 12, 30);
+		
+		List<Comment> expectedComments = List.of(createComment(3L, time.plusMinutes(2L)),
+				                         createComment(2L, time.plusMinutes(1L)),
+				                         createComment(1L, time));
+		
+		Mockito.when(commentRepositoryMock.findLatest(Mockito.any(Pageable.class)))
+		       .thenReturn(expectedComments);
+		
+		int inputPageSize = 2;
+		
+		KeysetPageDTO<CommentDTO> actualCommentsPage = commentServiceImpl.showAllByPageToken(null, inputPageSize);
+		
+		assertAll(
+				() -> assertThat(actualCommentsPage.getContent()).hasSize(inputPageSize),
+				() -> assertThat(actualCommentsPage.getNextPageToken()).isEqualTo(new PageToken(time.plusMinutes(1L), 2L).encode()),
+				() -> Mockito.verify(commentRepositoryMock).findLatest(PageRequest.of(0, inputPageSize + 1))
+			);
+	}
+	
+	@Test
+	public void checkShowAllByPageTokenShouldReturnLastPageAfterPageToken() throws ServiceException {
+		
+		LocalDateTime time = LocalDateTime.of(2023, 5, 10, 12, 30);
+		
+		Mockito.when(commentRepositoryMock.findLatestBefore(Mockito.any(LocalDateTime.class), Mockito.anyLong(), Mockito.any(Pageable.class)))
+		       .thenReturn(List.of(createComment(1L, time)));
+		
+		String inputPageToken = new PageToken(time.plusMinutes(1L), 2L).encode();
+		int inputPageSize = 2;
+		
+		KeysetPageDTO<CommentDTO> actualCommentsPage = commentServiceImpl.showAllByPageToken(inputPageToken, inputPageSize);
+		
+		assertAll(
+				() -> assertThat(actualCommentsPage.getContent()).hasSize(1),
+				() -> assertThat(actualCommentsPage.getNextPageToken()).isNull(),
+				() -> Mockito.verify(commentRepositoryMock).findLatestBefore(time.plusMinutes(1L), 2L, PageRequest.of(0, inputPageSize + 1))
+			);
+	}
+	
+	@Test
+	public void checkShowAllByPageTokenShouldThrowServiceExceptionOnInvalidPageToken() {
+		
+		String invalidPageToken = "invalid token";
+		
+		assertAll(
+				() -> assertThatExceptionOfType(ServiceException.class)
+				      .isThrownBy(() -> commentServiceImpl.showAllByPageToken(invalidPageToken, 2)),
+				() -> Mockito.verifyNoInteractions(commentRepositoryMock)
+			);
+	}
+	
 	@Test
 	public void checkShowAllOrByTextPartShouldThrowServiceExceptionWhenNotFoundOnCommentTextPart() throws ServiceException {
 		
@@ -879,4 +1038,13 @@ public class CommentServiceImplTest {
 		
 	}
 	
+	private Comment createComment(Long id, LocalDateTime time) {
+		return Comment.builder()
+				      .id(id)
+				      .text("Комментарий " + id)
+				      .userName("Sanya")
+				      .time(time)
+				      .build();
+	}
+
 }
@@ -28,21 +28,26 @@ import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.testcontainers.shaded.com.google.common.collect.Lists;
 
+import ru.clevertec.ecl.knyazev.config.TextSearchConfig;
 import ru.clevertec.ecl.knyazev.dto.CommentDTO;
+import ru.clevertec.ecl.knyazev.dto.KeysetPageDTO;
 import ru.clevertec.ecl.knyazev.dto.NewsDTO;
 import ru.clevertec.ecl.knyazev.entity.Comment;
 import ru.clevertec.ecl.knyazev.entity.News;
 import ru.clevertec.ecl.knyazev.mapper.NewsMapper;
 import ru.clevertec.ecl.knyazev.mapper.NewsMapperImpl;
 import ru.clevertec.ecl.knyazev.repository.NewsRepository;
+import ru.clevertec.ecl.knyazev.search.TextSearchIndex;
 import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
+import ru.clevertec.ecl.knyazev.service.pagination.ApproximateTotalCache;
+import ru.clevertec.ecl.knyazev.service.pagination.PageToken;
 
 @ExtendWith(MockitoExtension.class)
 public class NewsServiceImplTest {
@@ -52,6 +57,15 @@ public class NewsServiceImplTest {
 	@Mock
 	private NewsRepository newsRepositoryMock;
 	
+	@Mock
+	private TextSearchConfig textSearchConfigMock;
+	
+	@Mock
+	private TextSearchIndex textSearchIndexMock;
+	
+	@Mock
+	private ApproximateTotalCache approximateTotalCacheMock;
+	
 	@Spy
 	private NewsMapper newsMapperImpl = new NewsMapperImpl();
 	
@@ -220,10 +234,10 @@ public class NewsServiceImplTest {
 					.build());			
 		}};
 		
-		Page<News> pageNews = new PageImpl<>(expectedNewsList);
+		Slice<News> sliceNews = new SliceImpl<>(expectedNewsList);
 		
-		Mockito.when(newsRepositoryMock.findAll(Mockito.any(Pageable.class)))
-		       .thenReturn(pageNews);
+		Mockito.when(newsRepositoryMock.findAllBy(Mockito.any(Pageable.class)))
+		       .thenReturn(sliceNews);
 		
 		
 		int inputPage = 1;
@@ -243,8 +257,8 @@ public class NewsServiceImplTest {
 	@Test
 	public void checkShowAllShouldThrowServiceExceptionWhenNotFound() {
 		
-		Mockito.when(newsRepositoryMock.findAll(Mockito.any(Pageable.class)))
-	       .thenReturn(new PageImpl<>(new ArrayList<>()));
+		Mockito.when(newsRepositoryMock.findAllBy(Mockito.any(Pageable.class)))
+	       .thenReturn(new SliceImpl<>(new ArrayList<>()));
 		
 		int inputPage = 25;
 		int inputPageSize = 3;
@@ -255,6 +269,17 @@ public class NewsServiceImplTest {
 		assertThatExceptionOfType(ServiceException.class).isThrownBy(() -> newsServiceImpl.showAll(inputPageable));
 	}
 	
+	@Test
+	public void checkShowApproximateTotalShouldReturnCachedTotal() {
+		
+		Mockito.when(approximateTotalCacheMock.get(Mockito.eq("news"), Mockito.any()))
+		       .thenReturn(42L);
+		
+		Long actualTotal = newsServiceImpl.showApproximateTotal();
+		
+		assertThat(actualTotal).isEqualTo(42L);
+	}
+	
 	@Test
 	public void checkShowAllOrByTextPartShouldReturnNewsDTOs() throws ServiceException {
 		
@@ -302,6 +327,85 @@ public class NewsServiceImplTest {
 			);
 	}
 	
+	@Test
+	public void checkShowAllOrByTextPartShouldSearchByFullTextInFullTextMode() throws ServiceException {
+		
+		List<News> expectedNewsList = List.of(News.builder()
+				                                  .id(2L)
+				                                  .title("Антон Павлович - космонавт")
+				                                  .text("Наш Павлович летит в космос...")
+				                                  .time(LocalDateTime.now())
+				                                  .build());
+		
+		Mockito.when(textSearchConfigMock.getMode()).thenReturn(TextSearchConfig.Mode.FULL_TEXT);
+		Mockito.when(newsRepositoryMock.findAllByFullText(Mockito.anyString(), Mockito.any(Pageable.class)))
+		       .thenReturn(expectedNewsList);
+		
+		String inputTextPart = "Павлович летит";
+		
+		Pageable inputPageable = PageRequest.of(1, 3, Sort.by("title"));
+		
+		List<NewsDTO> actualNewsDTOs = newsServiceImpl.showAllOrByTextPart(inputTextPart, inputPageable);
+		
+		assertAll(
+				() -> assertThat(actualNewsDTOs).hasSize(1),
+				() -> Mockito.verify(newsRepositoryMock).findAllByFullText(inputTextPart, PageRequest.of(1, 3)),
+				() -> Mockito.verify(newsRepositoryMock, Mockito.never()).findAllByPartNewsText(Mockito.anyString(), Mockito.any(Pageable.class))
+			);
+	}
+	
+	@Test
+	public void checkShowAllOrByTextPartShouldSearchByIndexInIndexMode() throws ServiceException {
+		
+		News foundNews = News.builder()
+				.id(2L)
+				.title("Антон Павлович - космонавт")
+				.text("Наш Павлович летит в космос...")
+				.time(LocalDateTime.now())
+				.build();
+		
+		Mockito.when(textSearchIndexMock.isEnabled()).thenReturn(true);
+		Mockito.when(textSearchIndexMock.searchNews(Mockito.anyString(), Mockito.any(Pageable.class)))
+		       .thenReturn(List.of(3L, 2L));
+		Mockito.when(newsRepositoryMock.findAllById(Mockito.anyIterable()))
+		       .thenReturn(List.of(foundNews));
+		
+		String inputTextPart = "Павлович летит";
+		
+		Pageable inputPageable = PageRequest.of(1, 3);
+		
+		List<NewsDTO> actualNewsDTO = newsServiceImpl.showAllOrByTextPart(inputTextPart, inputPageable);
+		
+		assertAll(
+				() -> assertThat(actualNewsDTO).hasSize(1),
+				() -> assertThat(actualNewsDTO.get(0).getId()).isEqualTo(2L),
+				() -> Mockito.verify(textSearchIndexMock).removeNews(3L),
+				() -> Mockito.verify(newsRepositoryMock, Mockito.never()).findAllByPartNewsText(Mockito.anyString(), Mockito.any(Pageable.class))
+			);
+	}
+	
+	@Test
+	public void checkShowAllOrByTextPartShouldEscapeLikeWildcards() throws ServiceException {
+		
+		News foundNews = News.builder()
+				.id(2L)
+				.title("Скидки")
+				.text("Скидка 50%_на всё")
+				.time(LocalDateTime.now())
+				.build();
+		
+		Mockito.when(newsRepositoryMock.findAllByPartNewsText(Mockito.anyString(), Mockito.any(Pageable.class)))
+		       .thenReturn(List.of(foundNews));
+		
+		String inputTextPart = "50%_на";
+		
+		Pageable inputPageable = PageRequest.of(0, 3);
+		
+		newsServiceImpl.showAllOrByTextPart(inputTextPart, inputPageable);
+		
+		Mockito.verify(newsRepositoryMock).findAllByPartNewsText("%50\\%\\_на%", inputPageable);
+	}
+	
 	@ParameterizedTest
 	@NullSource
 	@EmptySource
@@ -333,10 +437,10 @@ public class NewsServiceImplTest {
 			.build());		
 		}};		
 		
-		Page<News> pageNews = new PageImpl<>(expectedNewsList);
+		Slice<News> sliceNews = new SliceImpl<>(expectedNewsList);
 		
-		Mockito.when(newsRepositoryMock.findAll(Mockito.any(Pageable.class)))
-		       .thenReturn(pageNews);
+		Mockito.when(newsRepositoryMock.findAllBy(Mockito.any(Pageable.class)))
+		       .thenReturn(sliceNews);
 		
 		int inputPage = 1;
 		int inputPageSize = 3;
@@ -346,10 +450,65 @@ public class NewsServiceImplTest {
 		
 		List<NewsDTO> actualNewsDTOs = newsServiceImpl.showAllOrByTextPart(invalidTextPart, inputPageable);		
 		
-		Mockito.verify(newsRepositoryMock).findAll(inputPageable);		
+		Mockito.verify(newsRepositoryMock).findAllBy(inputPageable);		
 		assertThat(actualNewsDTOs).isNotEmpty();		
 	}
 	
+	@Test
+	public void checkShowAllByPageTokenShouldReturnFirstPageWithNextPageToken() throws ServiceException {
+		
+		LocalDateTime time = LocalDateTime.of(2023, 5, 10, 12, 30);
+		
+		List<News> expectedNews = List.of(createNews(3L, time.plusMinutes(2L)),
+				                         createNews(2L, time.plusMinutes(1L)),
+				                         createNews(1L, time));
+		
+		Mockito.when(newsRepositoryMock.findLatest(Mockito.any(Pageable.class)))
+		       .thenReturn(expectedNews);
+		
+		int inputPageSize = 2;
+		
+		KeysetPageDTO<NewsDTO> actualNewsPage = newsServiceImpl.showAllByPageToken(null, inputPageSize);
+		
+		assertAll(
+				() -> assertThat(actualNewsPage.getContent()).hasSize(inputPageSize),
+				() -> assertThat(actualNewsPage.getNextPageToken()).isEqualTo(new PageToken(time.plusMinutes(1L), 2L).encode()),
+				() -> Mockito.verify(newsRepositoryMock).findLatest(PageRequest.of(0, inputPageSize + 1))
+			);
+	}
+	
+	@Test
+	public void checkShowAllByPageTokenShouldReturnLastPageAfterPageToken() throws ServiceException {
+		
+		LocalDateTime time = LocalDateTime.of(2023, 5, 10, 12, 30);
+		
+		Mockito.when(newsRepositoryMock.findLatestBefore(Mockito.any(LocalDateTime.class), Mockito.anyLong(), Mockito.any(Pageable.class)))
+		       .thenReturn(List.of(createNews(1L, time)));
+		
+		String inputPageToken = new PageToken(time.plusMinutes(1L), 2L).encode();
+		int inputPageSize = 2;
+		
+		KeysetPageDTO<NewsDTO> actualNewsPage = newsServiceImpl.showAllByPageToken(inputPageToken, inputPageSize);
+		
+		assertAll(
+				() -> assertThat(actualNewsPage.getContent()).hasSize(1),
+				() -> assertThat(actualNewsPage.getNextPageToken()).isNull(),
+				() -> Mockito.verify(newsRepositoryMock).findLatestBefore(time.plusMinutes(1L), 2L, PageRequest.of(0, inputPageSize + 1))
+			);
+	}
+	
+	@Test
+	public void checkShowAllByPageTokenShouldThrowServiceExceptionOnInvalidPageToken() {
+		
+		String invalidPageToken = "invalid token";
+		
+		assertAll(
+				() -> assertThatExceptionOfType(ServiceException.class)
+				      .isThrownBy(() -> newsServiceImpl.showAllByPageToken(invalidPageToken, 2)),
+				() -> Mockito.verifyNoInteractions(newsRepositoryMock)
+			);
+	}
+	
 	@Test
 	public void checkShowAllOrByTextPartShouldThrowServiceExceptionWhenNotFoundOnNewsTextPart() throws ServiceException {
 		
@@ -769,4 +928,13 @@ public class NewsServiceImplTest {
 				);
 	}
 	
+	private News createNews(Long id, LocalDateTime time) {
+		return News.builder()
+				   .id(id)
+				   .title("Новость " + id)
+				   .text("Текст новости " + id)
+				   .time(time)
+				   .build();
+	}
+
 }
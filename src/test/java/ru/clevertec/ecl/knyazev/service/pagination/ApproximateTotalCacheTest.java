@@ -0,0 +1,42 @@
+package ru.clevertec.ecl.knyazev.service.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import ru.clevertec.ecl.knyazev.config.PaginationConfig;
+
+public class ApproximateTotalCacheTest {
+
+	@Test
+	public void checkGetShouldLoadTotalOnce() {
+
+		ApproximateTotalCache approximateTotalCache = new ApproximateTotalCache(new PaginationConfig(Duration.ofMinutes(1L)));
+
+		AtomicInteger loadings = new AtomicInteger();
+
+		Long firstTotal = approximateTotalCache.get("news", () -> 10L + loadings.getAndIncrement());
+		Long secondTotal = approximateTotalCache.get("news", () -> 10L + loadings.getAndIncrement());
+
+		assertAll(
+				() -> assertThat(firstTotal).isEqualTo(10L),
+				() -> assertThat(secondTotal).isEqualTo(10L),
+				() -> assertThat(loadings.get()).isEqualTo(1)
+			);
+	}
+
+	@Test
+	public void checkGetShouldKeepTotalsOfTablesApart() {
+
+		ApproximateTotalCache approximateTotalCache = new ApproximateTotalCache(new PaginationConfig(Duration.ofMinutes(1L)));
+
+		approximateTotalCache.get("news", () -> 10L);
+
+		assertThat(approximateTotalCache.get("comment", () -> 20L)).isEqualTo(20L);
+	}
+
+}
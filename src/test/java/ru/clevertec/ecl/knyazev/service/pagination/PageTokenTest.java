@@ -0,0 +1,35 @@
+package ru.clevertec.ecl.knyazev.service.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import ru.clevertec.ecl.knyazev.service.exception.ServiceException;
+
+public class PageTokenTest {
+	
+	@Test
+	public void checkDecodeShouldReturnEncodedToken() throws ServiceException {
+		
+		PageToken expectedPageToken = new PageToken(LocalDateTime.of(2023, 5, 10, 12, 30, 15, 123_456_000), 18L);
+		
+		String encodedPageToken = expectedPageToken.encode();
+		
+		PageToken actualPageToken = PageToken.decode(encodedPageToken);
+		
+		assertThat(actualPageToken).isEqualTo(expectedPageToken);
+	}
+	
+	@ParameterizedTest
+	@ValueSource(strings = { "not base64!", "MjAyMy0wNS0xMFQxMjozMA", "MjAyMy0wNS0xMFQxMjozMF94", "eF8xOA" })
+	public void checkDecodeShouldThrowServiceExceptionOnInvalidToken(String invalidPageToken) {
+		
+		assertThatExceptionOfType(ServiceException.class).isThrownBy(() -> PageToken.decode(invalidPageToken));
+	}
+
+}